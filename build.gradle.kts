@@ -101,6 +101,17 @@ sourceSets {
             srcDir("src/launcher/java")
         }
     }
+
+    // Annotation processor that writes the @PreInit/@PostInit index, also used by addons
+    val processor by creating {
+        java {
+            srcDir("src/processor/java")
+        }
+    }
+}
+
+dependencies {
+    annotationProcessor(sourceSets["processor"].output)
 }
 
 java {
@@ -183,6 +194,9 @@ tasks {
         // Include launcher classes
         from(sourceSets["launcher"].output)
 
+        // Include the init index processor
+        from(sourceSets["processor"].output)
+
         manifest {
             attributes["Main-Class"] = "meteordevelopment.meteorclient.Main"
         }
@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.addons;
 
 import meteordevelopment.meteorclient.MeteorClient;
 import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
 import net.fabricmc.loader.api.entrypoint.EntrypointContainer;
 import net.fabricmc.loader.api.metadata.ModMetadata;
 import net.fabricmc.loader.api.metadata.Person;
@@ -46,9 +47,11 @@ public class AddonManager {
                 }
             };
 
-            ModMetadata metadata = FabricLoader.getInstance().getModContainer(MeteorClient.MOD_ID).get().getMetadata();
+            ModContainer container = FabricLoader.getInstance().getModContainer(MeteorClient.MOD_ID).get();
+            ModMetadata metadata = container.getMetadata();
 
             MeteorClient.ADDON.name = metadata.getName();
+            MeteorClient.ADDON.modContainer = container;
             MeteorClient.ADDON.authors = new String[metadata.getAuthors().size()];
             if (metadata.containsCustomValue(MeteorClient.MOD_ID + ":color")) {
                 MeteorClient.ADDON.color.parse(metadata.getCustomValue(MeteorClient.MOD_ID + ":color").getAsString());
@@ -73,6 +76,7 @@ public class AddonManager {
             }
 
             addon.name = metadata.getName();
+            addon.modContainer = entrypoint.getProvider();
 
             if (metadata.getAuthors().isEmpty()) throw new RuntimeException("Addon \"%s\" requires at least 1 author to be defined in it's fabric.mod.json. See https://fabricmc.net/wiki/documentation:fabric_mod_json_spec".formatted(addon.name));
             addon.authors = new String[metadata.getAuthors().size()];
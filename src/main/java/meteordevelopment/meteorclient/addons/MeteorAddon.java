@@ -6,6 +6,7 @@
 package meteordevelopment.meteorclient.addons;
 
 import meteordevelopment.meteorclient.utils.render.color.Color;
+import net.fabricmc.loader.api.ModContainer;
 
 public abstract class MeteorAddon {
     /** This field is automatically assigned from fabric.mod.json file. */
@@ -17,6 +18,9 @@ public abstract class MeteorAddon {
     /** This field is automatically assigned from the meteor-client:color property in fabric.mod.json file. */
     public final Color color = new Color(255, 255, 255);
 
+    /** This field is automatically assigned to the mod that registered this addon. */
+    public ModContainer modContainer;
+
     public abstract void onInitialize();
 
     public void onRegisterCategories() {}
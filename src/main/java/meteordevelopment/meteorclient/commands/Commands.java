@@ -11,6 +11,7 @@ import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.commands.commands.*;
 import meteordevelopment.meteorclient.events.game.GameJoinedEvent;
 import meteordevelopment.meteorclient.pathing.PathManagers;
+import meteordevelopment.meteorclient.systems.Systems;
 import meteordevelopment.meteorclient.utils.PostInit;
 import meteordevelopment.orbit.EventHandler;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
@@ -55,6 +56,7 @@ public class Commands {
         add(new SpectateCommand());
         add(new GamemodeCommand());
         add(new SaveMapCommand());
+        add(new PacketCaptureCommand());
         add(new MacroCommand());
         add(new ModulesCommand());
         add(new BindsCommand());
@@ -81,6 +83,7 @@ public class Commands {
 
     public static void dispatch(String message) throws CommandSyntaxException {
         DISPATCHER.execute(message, mc.getNetworkHandler().getCommandSource());
+        Systems.markDirty();
     }
 
     public static Command get(String name) {
@@ -0,0 +1,132 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.commands.commands;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.commands.Command;
+import meteordevelopment.meteorclient.systems.modules.misc.PacketLogger;
+import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
+import meteordevelopment.meteorclient.utils.network.PacketCapture;
+import meteordevelopment.meteorclient.utils.network.PacketCaptureReader;
+import net.minecraft.command.CommandSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class PacketCaptureCommand extends Command {
+    private static final int MAX_STATS_LINES = 20;
+
+    public PacketCaptureCommand() {
+        super("packet-capture", "Reads binary packet captures made by the packet logger.", "pcap");
+    }
+
+    @Override
+    public void build(LiteralArgumentBuilder<CommandSource> builder) {
+        builder.then(literal("list").executes(context -> {
+            try {
+                List<Path> files = PacketCaptureReader.list(PacketLogger.PACKET_LOGS_DIR);
+
+                if (files.isEmpty()) info("No packet captures found.");
+                else {
+                    info("Packet captures:");
+                    for (Path file : files) info(" - (highlight)%s(default) (%d KB)", file.getFileName(), Files.size(file) / 1024);
+                }
+            } catch (IOException e) {
+                error("Failed to list packet captures: %s", e.getMessage());
+            }
+
+            return SINGLE_SUCCESS;
+        }));
+
+        builder.then(literal("stats").then(file().executes(context -> {
+            Path path = getFile(context);
+            if (path == null) return SINGLE_SUCCESS;
+
+            MeteorExecutor.execute(() -> {
+                try {
+                    List<PacketCaptureReader.Stats> stats = PacketCaptureReader.stats(path);
+
+                    mc.execute(() -> {
+                        long count = 0, bytes = 0;
+                        for (PacketCaptureReader.Stats s : stats) {
+                            count += s.count;
+                            bytes += s.bytes;
+                        }
+
+                        info("(highlight)%d(default) packets, (highlight)%d(default) KB in (highlight)%s(default):", count, bytes / 1024, path.getFileName());
+
+                        for (int i = 0; i < Math.min(stats.size(), MAX_STATS_LINES); i++) {
+                            PacketCaptureReader.Stats s = stats.get(i);
+                            info(" %s (highlight)%s(default) (id 0x%s): %d packets, %d bytes, avg %d, max %d",
+                                s.direction == PacketCapture.S2C ? "S2C" : "C2S", s.name, Integer.toHexString(s.id), s.count, s.bytes, s.bytes / s.count, s.maxBytes
+                            );
+                        }
+
+                        if (stats.size() > MAX_STATS_LINES) info(" ... and %d more packet types.", stats.size() - MAX_STATS_LINES);
+                    });
+                } catch (IOException e) {
+                    MeteorClient.LOG.error("Failed to read packet capture", e);
+                    mc.execute(() -> error("Failed to read packet capture: %s", e.getMessage()));
+                }
+            });
+
+            return SINGLE_SUCCESS;
+        })));
+
+        builder.then(literal("convert").then(file().executes(context -> {
+            convert(context, false);
+            return SINGLE_SUCCESS;
+        }).then(literal("with-data").executes(context -> {
+            convert(context, true);
+            return SINGLE_SUCCESS;
+        }))));
+    }
+
+    private void convert(CommandContext<CommandSource> context, boolean payload) {
+        Path path = getFile(context);
+        if (path == null) return;
+
+        MeteorExecutor.execute(() -> {
+            try {
+                Path out = PacketCaptureReader.convert(path, payload);
+                mc.execute(() -> info("Converted packet capture to (highlight)%s(default).", out.getFileName()));
+            } catch (IOException e) {
+                MeteorClient.LOG.error("Failed to convert packet capture", e);
+                mc.execute(() -> error("Failed to convert packet capture: %s", e.getMessage()));
+            }
+        });
+    }
+
+    private RequiredArgumentBuilder<CommandSource, String> file() {
+        return argument("file", StringArgumentType.string()).suggests((context, suggestionsBuilder) -> {
+            try {
+                return CommandSource.suggestMatching(PacketCaptureReader.list(PacketLogger.PACKET_LOGS_DIR).stream().map(path -> path.getFileName().toString()), suggestionsBuilder);
+            } catch (IOException e) {
+                return suggestionsBuilder.buildFuture();
+            }
+        });
+    }
+
+    private Path getFile(CommandContext<CommandSource> context) {
+        String name = StringArgumentType.getString(context, "file");
+        if (!name.endsWith(PacketCapture.EXTENSION)) name += PacketCapture.EXTENSION;
+
+        Path path = PacketLogger.PACKET_LOGS_DIR.resolve(name).normalize();
+
+        if (!path.startsWith(PacketLogger.PACKET_LOGS_DIR) || !Files.isRegularFile(path)) {
+            error("Packet capture (highlight)%s(default) not found.", name);
+            return null;
+        }
+
+        return path;
+    }
+}
@@ -111,10 +111,11 @@ public class SwarmCommand extends Command {
             if (swarm.isActive()) {
                 if (swarm.isHost()) {
                     if (swarm.host.getConnectionCount() > 0) {
-                        ChatUtils.info("--- Swarm Connections (highlight)(%s/%s)(default) ---", swarm.host.getConnectionCount(), swarm.host.getConnections().length);
+                        SwarmConnection[] connections = swarm.host.getConnections();
+                        ChatUtils.info("--- Swarm Connections (highlight)(%s/%s)(default) ---", swarm.host.getConnectionCount(), connections.length);
 
-                        for (int i = 0; i < swarm.host.getConnections().length; i++) {
-                            SwarmConnection connection = swarm.host.getConnections()[i];
+                        for (int i = 0; i < connections.length; i++) {
+                            SwarmConnection connection = connections[i];
                             if (connection != null) ChatUtils.info("(highlight)Worker %s(default): %s.", i, connection.getConnection());
                         }
                     }
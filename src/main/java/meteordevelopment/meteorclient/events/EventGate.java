@@ -0,0 +1,55 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.events;
+
+import meteordevelopment.meteorclient.MeteorClient;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Whether an event class has any listeners, updated by {@link MeteorEventBus} every time something is subscribed or
+ * unsubscribed. Mixins that post an event for every block, collision test or rendered block entity check it first, so
+ * nothing is created or posted when no module listens.
+ * <p>
+ * Checks are called from chunk builder and worker threads millions of times a second, so they only read a volatile flag.
+ */
+public class EventGate {
+    private static final List<EventGate> GATES = new CopyOnWriteArrayList<>();
+
+    public final Class<?> event;
+
+    private volatile boolean listening;
+
+    private EventGate(Class<?> event) {
+        this.event = event;
+    }
+
+    public static EventGate of(Class<?> event) {
+        EventGate gate = new EventGate(event);
+
+        // Added before updating so a subscription happening in between is not missed
+        GATES.add(gate);
+        gate.update();
+
+        return gate;
+    }
+
+    /**
+     * @return if the event has listeners
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    static void updateAll() {
+        for (EventGate gate : GATES) gate.update();
+    }
+
+    private void update() {
+        listening = MeteorClient.EVENT_BUS.isListening(event);
+    }
+}
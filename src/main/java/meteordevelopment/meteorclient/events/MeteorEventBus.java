@@ -0,0 +1,57 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.events;
+
+import meteordevelopment.meteorclient.events.packets.PacketEvents;
+import meteordevelopment.meteorclient.events.packets.PacketHandler;
+import meteordevelopment.orbit.EventBus;
+import meteordevelopment.orbit.listeners.IListener;
+
+/**
+ * Event bus that also subscribes the {@link PacketHandler} methods of objects and classes and keeps the
+ * {@link EventGate}s up to date.
+ */
+public class MeteorEventBus extends EventBus {
+    @Override
+    public void subscribe(Object object) {
+        super.subscribe(object);
+        PacketEvents.subscribe(object);
+        EventGate.updateAll();
+    }
+
+    @Override
+    public void subscribe(Class<?> klass) {
+        super.subscribe(klass);
+        PacketEvents.subscribe(klass);
+        EventGate.updateAll();
+    }
+
+    @Override
+    public void unsubscribe(Object object) {
+        super.unsubscribe(object);
+        PacketEvents.unsubscribe(object);
+        EventGate.updateAll();
+    }
+
+    @Override
+    public void unsubscribe(Class<?> klass) {
+        super.unsubscribe(klass);
+        PacketEvents.unsubscribe(klass);
+        EventGate.updateAll();
+    }
+
+    @Override
+    public void subscribe(IListener listener) {
+        super.subscribe(listener);
+        EventGate.updateAll();
+    }
+
+    @Override
+    public void unsubscribe(IListener listener) {
+        super.unsubscribe(listener);
+        EventGate.updateAll();
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.events.packets;
+
+import meteordevelopment.meteorclient.MeteorClient;
+import net.minecraft.network.ClientConnection;
+import net.minecraft.network.packet.Packet;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Posts packet events. Every packet class has its own list of {@link PacketListener}s that is built the first time
+ * the class is seen after the listeners changed, so a packet only reaches the listeners that want it. The event is
+ * only posted to the event bus when there are {@link meteordevelopment.orbit.EventHandler} listeners for it, packets
+ * nobody listens to are not turned into events at all.
+ * <p>
+ * Packet listeners are called in order of their priority, but all of them before the event bus listeners, since the
+ * event bus only posts to its own listeners. Events are reused, they must not be kept after the listener returns.
+ */
+public class PacketEvents {
+    private static final Table RECEIVE = new Table();
+    private static final Table SEND = new Table();
+    private static final Table SENT = new Table();
+
+    private static final ThreadLocal<PacketEvent.Receive> RECEIVE_EVENT = ThreadLocal.withInitial(() -> new PacketEvent.Receive(null, null));
+    private static final ThreadLocal<PacketEvent.Send> SEND_EVENT = ThreadLocal.withInitial(() -> new PacketEvent.Send(null, null));
+    private static final ThreadLocal<PacketEvent.Sent> SENT_EVENT = ThreadLocal.withInitial(() -> new PacketEvent.Sent(null, null));
+
+    private static final Map<Class<?>, List<Method>> HANDLERS = new ConcurrentHashMap<>();
+    private static final Map<Object, List<PacketListener<?>>> SUBSCRIPTIONS = new IdentityHashMap<>();
+
+    private PacketEvents() {
+    }
+
+    // Posting
+
+    /**
+     * @return if the packet was cancelled
+     */
+    public static boolean receive(Packet<?> packet, ClientConnection connection) {
+        PacketListener<?>[] listeners = RECEIVE.get(packet.getClass());
+        boolean post = MeteorClient.EVENT_BUS.isListening(PacketEvent.Receive.class);
+        if (listeners.length == 0 && !post) return false;
+
+        PacketEvent.Receive event = RECEIVE_EVENT.get();
+        if (event.packet != null) event = new PacketEvent.Receive(null, null); // Posted from a listener
+
+        event.packet = packet;
+        event.connection = connection;
+        event.setCancelled(false);
+
+        try {
+            for (PacketListener<?> listener : listeners) {
+                listener.call(event);
+                if (event.isCancelled()) return true;
+            }
+
+            return post && MeteorClient.EVENT_BUS.post(event).isCancelled();
+        } finally {
+            event.packet = null;
+            event.connection = null;
+        }
+    }
+
+    /**
+     * @return if the packet was cancelled
+     */
+    public static boolean send(Packet<?> packet, ClientConnection connection) {
+        PacketListener<?>[] listeners = SEND.get(packet.getClass());
+        boolean post = MeteorClient.EVENT_BUS.isListening(PacketEvent.Send.class);
+        if (listeners.length == 0 && !post) return false;
+
+        PacketEvent.Send event = SEND_EVENT.get();
+        if (event.packet != null) event = new PacketEvent.Send(null, null); // Sent from a listener
+
+        event.packet = packet;
+        event.connection = connection;
+        event.setCancelled(false);
+
+        try {
+            for (PacketListener<?> listener : listeners) {
+                listener.call(event);
+                if (event.isCancelled()) return true;
+            }
+
+            return post && MeteorClient.EVENT_BUS.post(event).isCancelled();
+        } finally {
+            event.packet = null;
+            event.connection = null;
+        }
+    }
+
+    public static void sent(Packet<?> packet, ClientConnection connection) {
+        PacketListener<?>[] listeners = SENT.get(packet.getClass());
+        boolean post = MeteorClient.EVENT_BUS.isListening(PacketEvent.Sent.class);
+        if (listeners.length == 0 && !post) return;
+
+        PacketEvent.Sent event = SENT_EVENT.get();
+        if (event.packet != null) event = new PacketEvent.Sent(null, null); // Sent from a listener
+
+        event.packet = packet;
+        event.connection = connection;
+
+        try {
+            for (PacketListener<?> listener : listeners) listener.call(event);
+            if (post) MeteorClient.EVENT_BUS.post(event);
+        } finally {
+            event.packet = null;
+            event.connection = null;
+        }
+    }
+
+    // Subscribing
+
+    public static void subscribe(PacketListener<?> listener) {
+        synchronized (SUBSCRIPTIONS) {
+            getTable(listener.event).add(listener);
+        }
+    }
+
+    public static void unsubscribe(PacketListener<?> listener) {
+        synchronized (SUBSCRIPTIONS) {
+            getTable(listener.event).remove(listener);
+        }
+    }
+
+    /**
+     * Subscribes the {@link PacketHandler} methods of the object, called by the event bus.
+     */
+    public static void subscribe(Object object) {
+        subscribe(object, object.getClass(), false);
+    }
+
+    /**
+     * Subscribes the static {@link PacketHandler} methods of the class, called by the event bus.
+     */
+    public static void subscribe(Class<?> klass) {
+        subscribe(klass, klass, true);
+    }
+
+    public static void unsubscribe(Object object) {
+        synchronized (SUBSCRIPTIONS) {
+            List<PacketListener<?>> listeners = SUBSCRIPTIONS.remove(object);
+            if (listeners == null) return;
+
+            for (PacketListener<?> listener : listeners) getTable(listener.event).remove(listener);
+        }
+    }
+
+    public static void unsubscribe(Class<?> klass) {
+        unsubscribe((Object) klass);
+    }
+
+    private static void subscribe(Object key, Class<?> klass, boolean isStatic) {
+        List<Method> methods = HANDLERS.computeIfAbsent(klass, PacketEvents::findHandlers);
+        if (methods.isEmpty()) return;
+
+        synchronized (SUBSCRIPTIONS) {
+            if (SUBSCRIPTIONS.containsKey(key)) return;
+
+            List<PacketListener<?>> listeners = new ArrayList<>(methods.size());
+
+            for (Method method : methods) {
+                if (Modifier.isStatic(method.getModifiers()) != isStatic) continue;
+
+                PacketListener<?> listener = createListener(method, isStatic ? null : key);
+                getTable(listener.event).add(listener);
+                listeners.add(listener);
+            }
+
+            SUBSCRIPTIONS.put(key, listeners);
+        }
+    }
+
+    static void invalidate() {
+        synchronized (SUBSCRIPTIONS) {
+            RECEIVE.invalidate();
+            SEND.invalidate();
+            SENT.invalidate();
+        }
+    }
+
+    private static Table getTable(Class<?> event) {
+        if (event == PacketEvent.Receive.class) return RECEIVE;
+        if (event == PacketEvent.Send.class) return SEND;
+        if (event == PacketEvent.Sent.class) return SENT;
+
+        throw new IllegalArgumentException("Not a packet event: " + event.getName());
+    }
+
+    private static List<Method> findHandlers(Class<?> klass) {
+        List<Method> methods = new ArrayList<>();
+
+        for (Class<?> c = klass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(PacketHandler.class)) continue;
+
+                if (method.getParameterCount() != 1) {
+                    throw new IllegalStateException("Packet handler '%s.%s' must have exactly one parameter".formatted(c.getSimpleName(), method.getName()));
+                }
+
+                getTable(method.getParameterTypes()[0]);
+                methods.add(method);
+            }
+        }
+
+        return methods.isEmpty() ? List.of() : methods;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PacketListener<?> createListener(Method method, @Nullable Object target) {
+        PacketHandler annotation = method.getAnnotation(PacketHandler.class);
+        Class<Object> event = (Class<Object>) method.getParameterTypes()[0];
+
+        MethodHandle handle;
+
+        try {
+            handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access packet handler '%s.%s'".formatted(method.getDeclaringClass().getSimpleName(), method.getName()), e);
+        }
+
+        if (target != null) handle = handle.bindTo(target);
+        MethodHandle invoker = handle.asType(MethodType.methodType(void.class, Object.class));
+
+        Set<Class<? extends Packet<?>>> packets = annotation.value().length == 0 ? null : new HashSet<>(Arrays.asList(annotation.value()));
+
+        return new PacketListener<>(event, annotation.priority(), packets, true, e -> {
+            try {
+                invoker.invokeExact(e);
+            } catch (RuntimeException | Error t) {
+                throw t;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        });
+    }
+
+    /**
+     * Listeners of one event type, sorted by priority, and the listeners of every packet class seen since they last
+     * changed. Both are replaced together so the network thread never sees a list that does not match the listeners.
+     */
+    private static class Table {
+        private volatile State state = new State(new PacketListener<?>[0]);
+
+        public PacketListener<?>[] get(Class<?> packet) {
+            State state = this.state;
+
+            PacketListener<?>[] listeners = state.byPacket.get(packet);
+            if (listeners == null) {
+                listeners = state.filter(packet);
+                state.byPacket.put(packet, listeners);
+            }
+
+            return listeners;
+        }
+
+        public void add(PacketListener<?> listener) {
+            PacketListener<?>[] listeners = state.listeners;
+
+            // After listeners with the same priority, like the event bus
+            int i = 0;
+            while (i < listeners.length && listeners[i].priority >= listener.priority) i++;
+
+            PacketListener<?>[] newListeners = new PacketListener<?>[listeners.length + 1];
+            System.arraycopy(listeners, 0, newListeners, 0, i);
+            newListeners[i] = listener;
+            System.arraycopy(listeners, i, newListeners, i + 1, listeners.length - i);
+
+            state = new State(newListeners);
+        }
+
+        public void remove(PacketListener<?> listener) {
+            PacketListener<?>[] listeners = state.listeners;
+
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i] != listener) continue;
+
+                PacketListener<?>[] newListeners = new PacketListener<?>[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+
+                state = new State(newListeners);
+                return;
+            }
+        }
+
+        public void invalidate() {
+            state = new State(state.listeners);
+        }
+    }
+
+    private record State(PacketListener<?>[] listeners, Map<Class<?>, PacketListener<?>[]> byPacket) {
+        public State(PacketListener<?>[] listeners) {
+            this(listeners, new ConcurrentHashMap<>());
+        }
+
+        public PacketListener<?>[] filter(Class<?> packet) {
+            int count = 0;
+            for (PacketListener<?> listener : listeners) {
+                if (listener.accepts(packet)) count++;
+            }
+
+            PacketListener<?>[] filtered = new PacketListener<?>[count];
+            int i = 0;
+
+            for (PacketListener<?> listener : listeners) {
+                if (listener.accepts(packet)) filtered[i++] = listener;
+            }
+
+            return filtered;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.events.packets;
+
+import meteordevelopment.orbit.EventPriority;
+import net.minecraft.network.packet.Packet;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used instead of {@link meteordevelopment.orbit.EventHandler} on listeners of {@link PacketEvent.Receive},
+ * {@link PacketEvent.Send} or {@link PacketEvent.Sent} that are only interested in some packets. The method is
+ * subscribed with its object like any other event handler, see {@link PacketEvents}.
+ * <p>
+ * The priority only orders packet handlers among themselves, they are all called before the
+ * {@link meteordevelopment.orbit.EventHandler} listeners of the same event.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PacketHandler {
+    /**
+     * Packets the handler is called for, subclasses included. Empty means every packet.
+     */
+    Class<? extends Packet<?>>[] value() default { };
+
+    int priority() default EventPriority.MEDIUM;
+}
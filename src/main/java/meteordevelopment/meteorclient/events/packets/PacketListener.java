@@ -0,0 +1,80 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.events.packets;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import meteordevelopment.orbit.EventPriority;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Listener of a packet event that is only called for some packet classes, subscribed with
+ * {@link PacketEvents#subscribe(PacketListener)}. Unlike {@link PacketHandler} the packets can be changed while it
+ * is subscribed, e.g. when they come from a setting, and only packets of exactly these classes are accepted.
+ * <p>
+ * Packet listeners are ordered by priority among themselves but are all called before any
+ * {@link meteordevelopment.orbit.EventHandler} listener of the same event, whatever their priority.
+ *
+ * @param <E> {@link PacketEvent.Receive}, {@link PacketEvent.Send} or {@link PacketEvent.Sent}
+ */
+public class PacketListener<E> {
+    public final Class<E> event;
+    public final int priority;
+
+    private final Consumer<E> handler;
+    private final boolean subclasses;
+    private volatile @Nullable Set<Class<?>> packets;
+
+    PacketListener(Class<E> event, int priority, @Nullable Set<? extends Class<?>> packets, boolean subclasses, Consumer<E> handler) {
+        this.event = event;
+        this.priority = priority;
+        this.handler = handler;
+        this.subclasses = subclasses;
+        this.packets = copy(packets);
+    }
+
+    /**
+     * @param packets packets the listener is called for, or {@code null} for every packet
+     */
+    public PacketListener(Class<E> event, int priority, @Nullable Set<? extends Class<?>> packets, Consumer<E> handler) {
+        this(event, priority, packets, false, handler);
+    }
+
+    public PacketListener(Class<E> event, @Nullable Set<? extends Class<?>> packets, Consumer<E> handler) {
+        this(event, EventPriority.MEDIUM, packets, handler);
+    }
+
+    /**
+     * The set is copied, call this again when it changes.
+     */
+    public void setPackets(@Nullable Set<? extends Class<?>> packets) {
+        this.packets = copy(packets);
+        PacketEvents.invalidate();
+    }
+
+    boolean accepts(Class<?> packet) {
+        Set<Class<?>> packets = this.packets;
+        if (packets == null || packets.contains(packet)) return true;
+        if (!subclasses) return false;
+
+        for (Class<?> klass : packets) {
+            if (klass.isAssignableFrom(packet)) return true;
+        }
+
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    void call(Object event) {
+        handler.accept((E) event);
+    }
+
+    private static @Nullable Set<Class<?>> copy(@Nullable Set<? extends Class<?>> packets) {
+        return packets == null ? null : new ReferenceOpenHashSet<>(packets);
+    }
+}
@@ -6,9 +6,12 @@
 package meteordevelopment.meteorclient.events.render;
 
 import meteordevelopment.meteorclient.events.Cancellable;
+import meteordevelopment.meteorclient.events.EventGate;
 import net.minecraft.client.render.block.entity.state.BlockEntityRenderState;
 
 public class RenderBlockEntityEvent extends Cancellable {
+    public static final EventGate GATE = EventGate.of(RenderBlockEntityEvent.class);
+
     private static final RenderBlockEntityEvent INSTANCE = new RenderBlockEntityEvent();
 
     public BlockEntityRenderState blockEntityState;
@@ -5,7 +5,11 @@
 
 package meteordevelopment.meteorclient.events.world;
 
+import meteordevelopment.meteorclient.events.EventGate;
+
 public class AmbientOcclusionEvent {
+    public static final EventGate GATE = EventGate.of(AmbientOcclusionEvent.class);
+
     private static final AmbientOcclusionEvent INSTANCE = new AmbientOcclusionEvent();
 
     public float lightLevel = -1;
@@ -6,8 +6,11 @@
 package meteordevelopment.meteorclient.events.world;
 
 import meteordevelopment.meteorclient.events.Cancellable;
+import meteordevelopment.meteorclient.events.EventGate;
 
 public class ChunkOcclusionEvent extends Cancellable {
+    public static final EventGate GATE = EventGate.of(ChunkOcclusionEvent.class);
+
     private static final ChunkOcclusionEvent INSTANCE = new ChunkOcclusionEvent();
 
     public static ChunkOcclusionEvent get() {
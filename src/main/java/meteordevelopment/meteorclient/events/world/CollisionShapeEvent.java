@@ -7,11 +7,14 @@ package meteordevelopment.meteorclient.events.world;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import meteordevelopment.meteorclient.events.Cancellable;
+import meteordevelopment.meteorclient.events.EventGate;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.shape.VoxelShape;
 
 public class CollisionShapeEvent extends Cancellable {
+    public static final EventGate GATE = EventGate.of(CollisionShapeEvent.class);
+
     private static final CollisionShapeEvent INSTANCE = new CollisionShapeEvent();
 
     public BlockState state;
@@ -14,6 +14,7 @@ import meteordevelopment.meteorclient.gui.widgets.WRoot;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.gui.widgets.containers.WContainer;
 import meteordevelopment.meteorclient.gui.widgets.input.WTextBox;
+import meteordevelopment.meteorclient.systems.Systems;
 import meteordevelopment.meteorclient.utils.Utils;
 import meteordevelopment.meteorclient.utils.misc.CursorStyle;
 import meteordevelopment.meteorclient.utils.misc.input.Input;
@@ -321,6 +322,9 @@ public abstract class WidgetScreen extends Screen {
             closed = true;
             onClosed();
 
+            // Anything could have been edited in the screen
+            Systems.markDirty();
+
             Input.setCursorStyle(CursorStyle.Default);
 
             loopWidgets(root, widget -> {
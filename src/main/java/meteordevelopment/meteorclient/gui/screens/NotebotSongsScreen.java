@@ -5,22 +5,21 @@
 
 package meteordevelopment.meteorclient.gui.screens;
 
-import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.WindowScreen;
+import meteordevelopment.meteorclient.gui.widgets.WLabel;
 import meteordevelopment.meteorclient.gui.widgets.containers.WTable;
+import meteordevelopment.meteorclient.gui.widgets.containers.WVirtualList;
 import meteordevelopment.meteorclient.gui.widgets.input.WTextBox;
 import meteordevelopment.meteorclient.gui.widgets.pressable.WButton;
 import meteordevelopment.meteorclient.systems.modules.Modules;
 import meteordevelopment.meteorclient.systems.modules.misc.Notebot;
-import meteordevelopment.meteorclient.utils.Utils;
-import meteordevelopment.meteorclient.utils.notebot.decoder.SongDecoders;
-import org.apache.commons.io.FilenameUtils;
+import meteordevelopment.meteorclient.utils.notebot.SongLibrary;
 
-import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.List;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
 
 public class NotebotSongsScreen extends WindowScreen {
     private static final Notebot notebot = Modules.get().get(Notebot.class);
@@ -28,7 +27,8 @@ public class NotebotSongsScreen extends WindowScreen {
     private WTextBox filter;
     private String filterText = "";
 
-    private WTable table;
+    private WLabel message;
+    private WVirtualList<SongLibrary.Entry, WSongRow> songs;
 
     public NotebotSongsScreen(GuiTheme theme) {
         super(theme, "Notebot Songs");
@@ -45,49 +45,59 @@ public class NotebotSongsScreen extends WindowScreen {
         filter.setFocused(true);
         filter.action = () -> {
             filterText = filter.get().trim();
-
-            table.clear();
-            initSongsTable();
+            updateSongs();
         };
 
-        table = add(theme.table()).widget();
+        message = add(theme.label("")).expandCellX().center().widget();
+        songs = add(theme.virtualList(WSongRow::new, WSongRow::set)).minWidth(400).expandX().widget();
 
-        initSongsTable();
+        // Songs from the last scan are listed right away, ones that were added or changed since show up once it is done
+        SongLibrary.refresh().thenRun(() -> mc.execute(() -> {
+            if (mc.currentScreen == this) updateSongs();
+        }));
+
+        updateSongs();
     }
 
-    private void initSongsTable() {
-        AtomicBoolean noSongsFound = new AtomicBoolean(true);
-        try {
-            Files.list(MeteorClient.FOLDER.toPath().resolve("notebot")).forEach(path -> {
-                if (SongDecoders.hasDecoder(path)) {
-                    String name = path.getFileName().toString();
-
-                    if (Utils.searchTextDefault(name, filterText, false)){
-                        addPath(path);
-                        noSongsFound.set(false);
-                    }
-                }
-            });
-        } catch (IOException e) {
-            table.add(theme.label("Missing meteor-client/notebot folder.")).expandCellX();
-            table.row();
-        }
+    private void updateSongs() {
+        List<SongLibrary.Entry> results = SongLibrary.search(filterText);
 
-        if (noSongsFound.get()) {
-            table.add(theme.label("No songs found.")).expandCellX().center();
-        }
+        if (!Files.isDirectory(SongLibrary.FOLDER)) message.set("Missing meteor-client/notebot folder.");
+        else if (SongLibrary.isRefreshing()) message.set("Scanning...");
+        else message.set(results.isEmpty() ? "No songs found." : "");
+
+        songs.setItems(results);
     }
 
-    private void addPath(Path path) {
-        table.add(theme.horizontalSeparator()).expandX().minWidth(400);
-        table.row();
+    private class WSongRow extends WTable {
+        private SongLibrary.Entry song;
+
+        private WLabel name, info;
 
-        table.add(theme.label(FilenameUtils.getBaseName(path.getFileName().toString()))).expandCellX();
-        WButton load = table.add(theme.button("Load")).right().widget();
-        load.action = () -> notebot.loadSong(path.toFile());
-        WButton preview = table.add(theme.button("Preview")).right().widget();
-        preview.action = () -> notebot.previewSong(path.toFile());
+        @Override
+        public void init() {
+            add(theme.horizontalSeparator()).expandX();
+            row();
 
-        table.row();
+            name = add(theme.label("")).expandCellX().widget();
+            info = add(theme.label("")).right().widget();
+
+            WButton load = add(theme.button("Load")).right().widget();
+            load.action = () -> notebot.loadSong(song.path.toFile());
+            WButton preview = add(theme.button("Preview")).right().widget();
+            preview.action = () -> notebot.previewSong(song.path.toFile());
+        }
+
+        public void set(SongLibrary.Entry song) {
+            this.song = song;
+
+            name.set(song.getBaseName());
+
+            if (song.isValid()) {
+                int seconds = song.length / 20;
+                info.set(String.format("%d:%02d, %d noteblocks", seconds / 60, seconds % 60, song.requirements));
+            }
+            else info.set("");
+        }
     }
 }
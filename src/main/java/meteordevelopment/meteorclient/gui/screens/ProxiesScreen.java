@@ -19,6 +19,7 @@ import meteordevelopment.meteorclient.gui.widgets.pressable.WMinus;
 import meteordevelopment.meteorclient.settings.Settings;
 import meteordevelopment.meteorclient.systems.proxies.Proxies;
 import meteordevelopment.meteorclient.systems.proxies.Proxy;
+import meteordevelopment.meteorclient.systems.proxies.ProxyChecker;
 import meteordevelopment.meteorclient.utils.misc.NbtUtils;
 import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import org.lwjgl.BufferUtils;
@@ -40,7 +41,7 @@ public class ProxiesScreen extends WindowScreen {
     private final WButton refreshButton = theme.button("Refresh");
     private final WConfirmedButton cleanButton = theme.confirmedButton("Cleanup", "Confirm");
     private Map<Proxy, WLabel> statuses = new HashMap<>();
-    private int timer = 0;
+    private WLabel progress;
 
     public ProxiesScreen(GuiTheme theme) {
         super(theme, "Proxies");
@@ -53,6 +54,9 @@ public class ProxiesScreen extends WindowScreen {
 
         add(theme.horizontalSeparator()).expandX();
 
+        progress = add(theme.label("")).expandX().widget();
+        progress.color = theme.textSecondaryColor();
+
         WHorizontalList l = add(theme.horizontalList()).expandX().widget();
 
         // New
@@ -144,15 +148,15 @@ public class ProxiesScreen extends WindowScreen {
 
     @Override
     public void tick() {
+        ProxyChecker checker = Proxies.get().getChecker();
+
         if (Proxies.get().refreshing) {
             if (cleanButton.getText().equals("Cleanup")) {
                 cleanButton.set("---", "---");
             }
-            if (timer > 2) {
-                refreshButton.set(getNext(refreshButton));
-                timer = 0;
-            }
-            else timer++;
+
+            String text = checker.getChecked() + "/" + checker.size();
+            if (!refreshButton.getText().equals(text)) refreshButton.set(text);
         }
         else {
             if (!refreshButton.getText().equals("Refresh")) {
@@ -163,6 +167,12 @@ public class ProxiesScreen extends WindowScreen {
             }
         }
 
+        if (checker != null) {
+            String latencies = checker.latencies.toString();
+            String text = "%d alive, %d dead".formatted(checker.getAlive(), checker.getDead()) + (latencies.isEmpty() ? "" : ", " + latencies);
+            if (!progress.get().equals(text)) progress.set(text);
+        }
+
         for (Map.Entry<Proxy, WLabel> entry : statuses.entrySet()) {
             Proxy proxy = entry.getKey();
             WLabel label = entry.getValue();
@@ -175,16 +185,6 @@ public class ProxiesScreen extends WindowScreen {
         }
     }
 
-    private String getNext(WButton b) {
-        return switch (b.getText()) {
-            case "Refresh", "oo0" -> "ooo";
-            case "ooo" -> "0oo";
-            case "0oo" -> "o0o";
-            case "o0o" -> "oo0";
-            default -> "Refresh";
-        };
-    }
-
     @Override
     public boolean toClipboard() {
         return NbtUtils.toClipboard(Proxies.get());
@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WItemWithLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.BlockListSetting;
 import meteordevelopment.meteorclient.utils.misc.Names;
@@ -39,6 +40,13 @@ public class BlockListSettingScreen extends CollectionListSettingScreen<Block> {
         return theme.itemWithLabel(value.asItem().getDefaultStack(), Names.get(value));
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, Block value) {
+        if (!(widget instanceof WItemWithLabel item)) return false;
+        item.set(value.asItem().getDefaultStack(), Names.get(value));
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(Block value) {
         return new String[]{
@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.DynamicRegistryListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.Setting;
 import meteordevelopment.meteorclient.utils.misc.Names;
@@ -26,6 +27,13 @@ public class EnchantmentListSettingScreen extends DynamicRegistryListSettingScre
         return theme.label(Names.get(value));
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, RegistryKey<Enchantment> value) {
+        if (!(widget instanceof WLabel label)) return false;
+        label.set(Names.get(value));
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(RegistryKey<Enchantment> value) {
         return new String[]{
@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WItemWithLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.ItemListSetting;
 import meteordevelopment.meteorclient.utils.misc.Names;
@@ -31,7 +32,14 @@ public class ItemListSettingScreen extends CollectionListSettingScreen<Item> {
 
     @Override
     protected WWidget getValueWidget(Item value) {
-        return theme.itemWithLabel(value.getDefaultStack());
+        return theme.itemWithLabel(value.getDefaultStack(), Names.get(value));
+    }
+
+    @Override
+    protected boolean updateValueWidget(WWidget widget, Item value) {
+        if (!(widget instanceof WItemWithLabel item)) return false;
+        item.set(value.getDefaultStack(), Names.get(value));
+        return true;
     }
 
     @Override
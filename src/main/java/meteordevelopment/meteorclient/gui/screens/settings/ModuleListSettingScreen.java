@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.Setting;
 import meteordevelopment.meteorclient.systems.modules.Module;
@@ -24,6 +25,13 @@ public class ModuleListSettingScreen extends CollectionListSettingScreen<Module>
         return theme.label(value.title);
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, Module value) {
+        if (!(widget instanceof WLabel label)) return false;
+        label.set(value.title);
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(Module value) {
         String[] names = new String[value.aliases.length + 1];
@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.PacketListSetting;
 import meteordevelopment.meteorclient.settings.Setting;
@@ -34,6 +35,13 @@ public class PacketBoolSettingScreen extends CollectionListSettingScreen<Class<?
         return theme.label(PacketUtils.getName(value));
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, Class<? extends Packet<?>> value) {
+        if (!(widget instanceof WLabel label)) return false;
+        label.set(PacketUtils.getName(value));
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(Class<? extends Packet<?>> value) {
         return new String[]{
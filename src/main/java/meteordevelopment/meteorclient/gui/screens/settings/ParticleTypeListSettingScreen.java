@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.Setting;
 import meteordevelopment.meteorclient.utils.misc.Names;
@@ -31,6 +32,13 @@ public class ParticleTypeListSettingScreen extends CollectionListSettingScreen<P
         return theme.label(Names.get(value));
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, ParticleType<?> value) {
+        if (!(widget instanceof WLabel label)) return false;
+        label.set(Names.get(value));
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(ParticleType<?> value) {
         return new String[]{
@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.Setting;
 import net.minecraft.registry.Registries;
@@ -24,6 +25,13 @@ public class ScreenHandlerSettingScreen extends CollectionListSettingScreen<Scre
         return theme.label(getName(value));
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, ScreenHandlerType<?> value) {
+        if (!(widget instanceof WLabel label)) return false;
+        label.set(getName(value));
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(ScreenHandlerType<?> type) {
         return new String[]{
@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.Setting;
 import net.minecraft.client.resource.language.I18n;
@@ -25,6 +26,13 @@ public class SoundEventListSettingScreen extends CollectionListSettingScreen<Sou
         return theme.label(value.id().getPath());
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, SoundEvent value) {
+        if (!(widget instanceof WLabel label)) return false;
+        label.set(value.id().getPath());
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(SoundEvent value) {
         return new String[]{
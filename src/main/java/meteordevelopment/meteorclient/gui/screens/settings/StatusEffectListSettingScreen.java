@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WItemWithLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.Setting;
 import meteordevelopment.meteorclient.utils.misc.Names;
@@ -30,6 +31,13 @@ public class StatusEffectListSettingScreen extends CollectionListSettingScreen<S
         return theme.itemWithLabel(getPotionStack(value), Names.get(value));
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, StatusEffect value) {
+        if (!(widget instanceof WItemWithLabel item)) return false;
+        item.set(getPotionStack(value), Names.get(value));
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(StatusEffect value) {
         return new String[]{
@@ -8,6 +8,7 @@ package meteordevelopment.meteorclient.gui.screens.settings;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.screens.settings.base.CollectionListSettingScreen;
+import meteordevelopment.meteorclient.gui.widgets.WItemWithLabel;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
 import meteordevelopment.meteorclient.settings.Setting;
 import meteordevelopment.meteorclient.settings.StorageBlockListSetting;
@@ -53,6 +54,14 @@ public class StorageBlockListSettingScreen extends CollectionListSettingScreen<B
         return theme.itemWithLabel(info.item().getDefaultStack(), info.name());
     }
 
+    @Override
+    protected boolean updateValueWidget(WWidget widget, BlockEntityType<?> value) {
+        BlockEntityTypeInfo info = BLOCK_ENTITY_TYPE_INFO_MAP.getOrDefault(value, UNKNOWN);
+        if (!(widget instanceof WItemWithLabel item)) return false;
+        item.set(info.item().getDefaultStack(), info.name());
+        return true;
+    }
+
     @Override
     protected String[] getValueNames(BlockEntityType<?> value) {
         return new String[]{
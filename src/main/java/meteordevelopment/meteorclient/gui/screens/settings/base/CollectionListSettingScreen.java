@@ -9,13 +9,17 @@ import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.WindowScreen;
 import meteordevelopment.meteorclient.gui.utils.Cell;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
+import meteordevelopment.meteorclient.gui.widgets.containers.WHorizontalList;
 import meteordevelopment.meteorclient.gui.widgets.containers.WTable;
+import meteordevelopment.meteorclient.gui.widgets.containers.WVirtualList;
 import meteordevelopment.meteorclient.gui.widgets.input.WTextBox;
 import meteordevelopment.meteorclient.gui.widgets.pressable.WPressable;
 import meteordevelopment.meteorclient.settings.Setting;
 import meteordevelopment.meteorclient.systems.config.Config;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -87,18 +91,18 @@ public abstract class CollectionListSettingScreen<T> extends WindowScreen {
             ? value -> this.includeValue(value) && !collection.contains(value)
             : this::includeValue;
 
-        Iterable<T> sorted = SortingHelper.sort(iterable, predicate, this::getValueNames, filterText);
+        List<T> sorted = new ArrayList<>();
+        SortingHelper.sort(iterable, predicate, this::getValueNames, filterText).forEach(sorted::add);
 
-        sorted.forEach(t -> {
-            table.add(getValueWidget(t));
-
-            WPressable button = table.add(isLeft ? theme.plus() : theme.minus()).expandCellX().right().widget();
-            button.action = () -> buttonAction.accept(t);
+        // Only the rows that are scrolled into view get widgets
+        if (!sorted.isEmpty()) {
+            WVirtualList<T, Row> list = table.add(theme.virtualList(() -> new Row(isLeft, buttonAction), Row::bind)).expandX().widget();
 
+            list.setItems(sorted);
             table.row();
-        });
 
-        if (!table.cells.isEmpty()) cell.expandX();
+            cell.expandX();
+        }
 
         return table;
     }
@@ -131,9 +135,49 @@ public abstract class CollectionListSettingScreen<T> extends WindowScreen {
 
     protected abstract WWidget getValueWidget(T value);
 
+    /**
+     * Changes a widget created by {@link #getValueWidget(Object)} to show another value, so rows of the lists can be
+     * reused while scrolling.
+     *
+     * @return false if the widget cannot be changed and a new one needs to be created
+     */
+    protected boolean updateValueWidget(WWidget widget, T value) {
+        return false;
+    }
+
     protected abstract String[] getValueNames(T value);
 
     protected T getAdditionalValue(T value) {
         return null;
     }
+
+    private class Row extends WTable {
+        private final boolean isLeft;
+        private final Consumer<T> buttonAction;
+
+        private WHorizontalList valueList;
+        private T value;
+
+        public Row(boolean isLeft, Consumer<T> buttonAction) {
+            this.isLeft = isLeft;
+            this.buttonAction = buttonAction;
+        }
+
+        @Override
+        public void init() {
+            valueList = add(theme.horizontalList()).widget();
+
+            WPressable button = add(isLeft ? theme.plus() : theme.minus()).expandCellX().right().widget();
+            button.action = () -> buttonAction.accept(value);
+        }
+
+        private void bind(T value) {
+            this.value = value;
+
+            if (valueList.cells.isEmpty() || !updateValueWidget(valueList.cells.getFirst().widget(), value)) {
+                valueList.clear();
+                valueList.add(getValueWidget(value));
+            }
+        }
+    }
 }
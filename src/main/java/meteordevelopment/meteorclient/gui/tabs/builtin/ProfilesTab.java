@@ -20,6 +20,7 @@ import meteordevelopment.meteorclient.gui.widgets.pressable.WCheckbox;
 import meteordevelopment.meteorclient.gui.widgets.pressable.WConfirmedButton;
 import meteordevelopment.meteorclient.gui.widgets.pressable.WConfirmedMinus;
 import meteordevelopment.meteorclient.settings.Setting;
+import meteordevelopment.meteorclient.systems.SystemSaver;
 import meteordevelopment.meteorclient.systems.profiles.Profile;
 import meteordevelopment.meteorclient.systems.profiles.Profiles;
 import meteordevelopment.meteorclient.utils.Utils;
@@ -295,6 +296,9 @@ public class ProfilesTab extends Tab {
             NbtCompound nbt = new NbtCompound();
             nbt.putString("name", profile.name.get());
 
+            // Profile files might still be waiting to be written
+            SystemSaver.flush();
+
             try {
                 for (File f : profile.getFile().listFiles()) {
                     if (f.getName().equals("hud.nbt") && hud ||
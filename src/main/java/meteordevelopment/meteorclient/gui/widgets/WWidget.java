@@ -136,10 +136,24 @@ public abstract class WWidget implements BaseWidget {
     // Other
 
     public void invalidate() {
+        // Parents that can lay out the change on their own keep the whole tree from being laid out again
+        for (WWidget widget = parent; widget != null; widget = widget.parent) {
+            if (widget.onChildInvalidated()) return;
+        }
+
         WWidget root = getRoot();
         if (root != null) root.invalidate();
     }
 
+    /**
+     * Called on all parents of a widget that changed its size.
+     *
+     * @return true if this widget lays out its children again by itself
+     */
+    protected boolean onChildInvalidated() {
+        return false;
+    }
+
     protected WWidget getRoot() {
         return parent != null ? parent.getRoot() : (this instanceof WRoot ? this : null);
     }
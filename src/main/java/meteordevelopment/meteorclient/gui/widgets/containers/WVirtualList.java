@@ -0,0 +1,227 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.gui.widgets.containers;
+
+import meteordevelopment.meteorclient.gui.renderer.GuiRenderer;
+import meteordevelopment.meteorclient.gui.utils.Cell;
+import meteordevelopment.meteorclient.gui.widgets.WWidget;
+import net.minecraft.client.Mouse;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+import static meteordevelopment.meteorclient.utils.Utils.getWindowHeight;
+
+/**
+ * A vertical list that only has widgets for the rows that are visible in its {@link WView}. Rows that scroll out of
+ * the view are bound to the items that scroll in instead of creating new widgets, so the list can have thousands of
+ * items without laying all of them out.
+ * <p>
+ * All rows are expected to have the same height. The width and row height are the largest ones of all rows bound so
+ * far, changes inside a row are laid out by the list itself unless the row got bigger than that.
+ *
+ * @param <T> item type
+ * @param <R> row widget type
+ */
+public class WVirtualList<T, R extends WWidget> extends WContainer {
+    public double spacing = 3;
+
+    private final Supplier<R> rowFactory;
+    private final BiConsumer<R, T> rowBinder;
+
+    private List<T> items = List.of();
+
+    private final ArrayDeque<Cell<R>> pool = new ArrayDeque<>();
+    private int firstIndex;
+
+    private double rowWidth, rowHeight;
+    private boolean rowsValid = true;
+
+    public WVirtualList(Supplier<R> rowFactory, BiConsumer<R, T> rowBinder) {
+        this.rowFactory = rowFactory;
+        this.rowBinder = rowBinder;
+    }
+
+    public void setItems(List<T> items) {
+        double preHeight = height;
+
+        this.items = items;
+        rebindRows();
+
+        // Only the size of the list matters to the widgets around it
+        if (rowHeight == 0 || totalHeight() != preHeight) invalidate();
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    protected double spacing() {
+        return theme.scale(spacing);
+    }
+
+    private double totalHeight() {
+        if (items.isEmpty()) return 0;
+        return Math.round(items.size() * (rowHeight + spacing()) - spacing());
+    }
+
+    // Layout
+
+    @Override
+    protected void onCalculateSize() {
+        if (rowHeight == 0 && !items.isEmpty()) {
+            // Measure a row so the height of the whole list is known before any row is visible
+            Cell<R> cell = bind(0);
+            measure(cell.widget());
+            pool.push(cell);
+        }
+
+        for (Cell<?> cell : cells) measure(cell.widget());
+
+        width = rowWidth;
+        height = totalHeight();
+    }
+
+    @Override
+    protected void onCalculateWidgetPositions() {
+        updateRows(true);
+    }
+
+    @Override
+    public void move(double deltaX, double deltaY) {
+        super.move(deltaX, deltaY);
+        updateRows(false);
+    }
+
+    @Override
+    protected boolean onChildInvalidated() {
+        rowsValid = false;
+        return true;
+    }
+
+    private void rebindRows() {
+        while (!cells.isEmpty()) release(cells.size() - 1);
+        rowsValid = false;
+    }
+
+    /**
+     * Binds rows to the items that became visible and recycles the ones that are not visible anymore.
+     *
+     * @param force lay out the visible rows even if they did not change
+     */
+    private void updateRows(boolean force) {
+        int count = items.size();
+        double stride = rowHeight + spacing();
+
+        if (count == 0 || rowHeight == 0) {
+            while (!cells.isEmpty()) release(cells.size() - 1);
+            return;
+        }
+
+        double top = 0, bottom = getWindowHeight();
+
+        WView view = getView();
+        if (view != null) {
+            top = view.y;
+            bottom = view.y + view.height;
+        }
+
+        int first = Math.clamp((long) Math.floor((top - y) / stride), 0, count);
+        int last = Math.clamp((long) Math.ceil((bottom - y) / stride), first, count);
+
+        if (!force && rowsValid && first == firstIndex && last - first == cells.size()) return;
+
+        // Rows that are still visible keep their item
+        int keepFrom = Math.max(first, firstIndex);
+        int keepTo = Math.min(last, firstIndex + cells.size());
+        if (keepTo <= keepFrom) keepFrom = keepTo = first;
+
+        for (int i = cells.size() - 1; i >= 0; i--) {
+            int index = firstIndex + i;
+            if (index < keepFrom || index >= keepTo) release(i);
+        }
+
+        for (int index = keepFrom - 1; index >= first; index--) cells.addFirst(bind(index));
+        for (int index = keepTo; index < last; index++) cells.add(bind(index));
+
+        firstIndex = first;
+        layoutRows();
+    }
+
+    private void layoutRows() {
+        double stride = rowHeight + spacing();
+        boolean grew = false;
+
+        for (int i = 0; i < cells.size(); i++) {
+            Cell<?> cell = cells.get(i);
+            WWidget row = cell.widget();
+
+            row.calculateSize();
+            if (row.width > rowWidth || row.height > rowHeight) grew = true;
+
+            cell.x = x;
+            cell.y = y + Math.round((firstIndex + i) * stride);
+            cell.width = width;
+            cell.height = rowHeight;
+
+            cell.alignWidget();
+            row.calculateWidgetPositions();
+
+            Mouse mouse = mc.mouse;
+            row.mouseMoved(mouse.getX(), mouse.getY(), mouse.getX(), mouse.getY());
+        }
+
+        rowsValid = true;
+
+        // A bigger row changes the size of the list, which needs a full layout
+        if (grew) invalidate();
+    }
+
+    private Cell<R> bind(int index) {
+        Cell<R> cell = pool.poll();
+
+        if (cell == null) {
+            R row = rowFactory.get();
+            row.parent = this;
+            row.theme = theme;
+
+            cell = new Cell<>(row).expandWidgetX();
+            row.init();
+        }
+
+        rowBinder.accept(cell.widget(), items.get(index));
+        return cell;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void release(int i) {
+        pool.push((Cell<R>) cells.remove(i));
+    }
+
+    private void measure(WWidget row) {
+        row.calculateSize();
+
+        rowWidth = Math.max(rowWidth, row.width);
+        rowHeight = Math.max(rowHeight, row.height);
+    }
+
+    @Override
+    public void clear() {
+        setItems(List.of());
+    }
+
+    // Rendering
+
+    @Override
+    public boolean render(GuiRenderer renderer, double mouseX, double mouseY, double delta) {
+        if (!rowsValid) updateRows(false);
+
+        return super.render(renderer, mouseX, mouseY, delta);
+    }
+}
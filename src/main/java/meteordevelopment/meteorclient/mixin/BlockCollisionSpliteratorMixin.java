@@ -31,7 +31,7 @@ public abstract class BlockCollisionSpliteratorMixin {
     private VoxelShape onComputeNextCollisionBox(ShapeContext instance, BlockState blockState, CollisionView collisionView, BlockPos blockPos, Operation<VoxelShape> original) {
         VoxelShape shape = original.call(instance, blockState, collisionView, blockPos);
 
-        if (collisionView != MinecraftClient.getInstance().world) {
+        if (collisionView != MinecraftClient.getInstance().world || !CollisionShapeEvent.GATE.isListening()) {
             return shape;
         }
 
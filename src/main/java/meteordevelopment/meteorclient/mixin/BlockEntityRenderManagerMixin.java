@@ -21,6 +21,8 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class BlockEntityRenderManagerMixin {
     @Inject(method = "render", at = @At("HEAD"), cancellable = true)
     private <S extends BlockEntityRenderState> void onRenderEntity(S renderState, MatrixStack matrices, OrderedRenderCommandQueue queue, CameraRenderState arg, CallbackInfo ci) {
+        if (!RenderBlockEntityEvent.GATE.isListening()) return;
+
         RenderBlockEntityEvent event = MeteorClient.EVENT_BUS.post(RenderBlockEntityEvent.get(renderState));
         if (event.isCancelled()) ci.cancel();
     }
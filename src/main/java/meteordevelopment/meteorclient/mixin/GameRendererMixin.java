@@ -140,6 +140,7 @@ public abstract class GameRendererMixin implements IGameRenderer {
 
         Matrix4f correctedPosition = MixinPlugin.isIrisPresent && RenderUtils.isShaderPackInUse() ? new Matrix4f(position).mul(inverseBob) : position;
         RenderUtils.updateScreenCenter(projection, correctedPosition);
+        RenderUtils.updateFrustum(projection, position);
         NametagUtils.onRender(position);
 
         // Render
@@ -243,6 +243,7 @@ public abstract class MinecraftClientMixin implements IMinecraftClient {
         }
 
         Utils.frameTime = (time - lastTime) / 1000.0;
+        Utils.frameCount++;
         lastTime = time;
     }
 
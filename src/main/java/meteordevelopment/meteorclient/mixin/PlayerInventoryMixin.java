@@ -0,0 +1,41 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.mixin;
+
+import meteordevelopment.meteorclient.utils.player.InventoryIndex;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+
+@Mixin(PlayerInventory.class)
+public abstract class PlayerInventoryMixin {
+    @Shadow
+    @Final
+    public PlayerEntity player;
+
+    @Inject(method = "setStack", at = @At("HEAD"))
+    private void onSetStack(CallbackInfo info) {
+        if (player == mc.player) InventoryIndex.markDirty();
+    }
+
+    @Inject(method = {"removeStack(I)Lnet/minecraft/item/ItemStack;", "removeStack(II)Lnet/minecraft/item/ItemStack;"}, at = @At("HEAD"))
+    private void onRemoveStack(CallbackInfoReturnable<?> info) {
+        if (player == mc.player) InventoryIndex.markDirty();
+    }
+
+    @Inject(method = "clear", at = @At("HEAD"))
+    private void onClear(CallbackInfo info) {
+        if (player == mc.player) InventoryIndex.markDirty();
+    }
+}
@@ -7,7 +7,9 @@ package meteordevelopment.meteorclient.mixin;
 
 import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.events.world.BlockUpdateEvent;
+import meteordevelopment.meteorclient.utils.world.BlockEntityIndex;
 import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.WorldChunk;
@@ -16,6 +18,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(WorldChunk.class)
@@ -26,4 +29,16 @@ public abstract class WorldChunkMixin {
     private void onSetBlockState(BlockPos pos, BlockState state, int flags, CallbackInfoReturnable<BlockState> info) {
         if (world.isClient()) MeteorClient.EVENT_BUS.post(BlockUpdateEvent.get(pos, info.getReturnValue(), state));
     }
+
+    @Inject(method = "setBlockEntity", at = @At("TAIL"))
+    private void onSetBlockEntity(BlockEntity blockEntity, CallbackInfo info) {
+        WorldChunk chunk = (WorldChunk) (Object) this;
+        if (world.isClient() && chunk.getBlockEntities().get(blockEntity.getPos()) == blockEntity) BlockEntityIndex.add(chunk, blockEntity);
+    }
+
+    @Inject(method = "removeBlockEntity", at = @At("TAIL"))
+    private void onRemoveBlockEntity(BlockPos pos, CallbackInfo info) {
+        WorldChunk chunk = (WorldChunk) (Object) this;
+        if (world.isClient() && !chunk.getBlockEntities().containsKey(pos)) BlockEntityIndex.remove(chunk, pos);
+    }
 }
@@ -30,7 +30,7 @@ public abstract class ChunkAwareBlockCollisionSweeperMixin extends ChunkAwareBlo
 
     @ModifyExpressionValue(method = "computeNext()Lnet/minecraft/util/shape/VoxelShape;", at = @At(value = "INVOKE", target = "Lnet/minecraft/block/ShapeContext;getCollisionShape(Lnet/minecraft/block/BlockState;Lnet/minecraft/world/CollisionView;Lnet/minecraft/util/math/BlockPos;)Lnet/minecraft/util/shape/VoxelShape;"))
     private VoxelShape modifyCollisionShape(VoxelShape original, @Local(name = "state") BlockState state) {
-        if (world != MinecraftClient.getInstance().world) return original;
+        if (world != MinecraftClient.getInstance().world || !CollisionShapeEvent.GATE.isListening()) return original;
 
         CollisionShapeEvent event = MeteorClient.EVENT_BUS.post(CollisionShapeEvent.get(state, pos, original));
         return event.isCancelled() ? VoxelShapes.empty() : event.shape;
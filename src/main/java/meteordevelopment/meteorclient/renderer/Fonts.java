@@ -9,6 +9,7 @@ import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.events.meteor.CustomFontChangedEvent;
 import meteordevelopment.meteorclient.gui.WidgetScreen;
 import meteordevelopment.meteorclient.renderer.text.CustomTextRenderer;
+import meteordevelopment.meteorclient.renderer.text.FontCache;
 import meteordevelopment.meteorclient.renderer.text.FontFace;
 import meteordevelopment.meteorclient.renderer.text.FontFamily;
 import meteordevelopment.meteorclient.renderer.text.FontInfo;
@@ -16,7 +17,6 @@ import meteordevelopment.meteorclient.systems.config.Config;
 import meteordevelopment.meteorclient.utils.PreInit;
 import meteordevelopment.meteorclient.utils.render.FontUtils;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -43,9 +43,7 @@ public class Fonts {
             FontUtils.loadBuiltin(FONT_FAMILIES, builtinFont);
         }
 
-        for (String fontPath : FontUtils.getSearchPaths()) {
-            FontUtils.loadSystem(FONT_FAMILIES, new File(fontPath));
-        }
+        FontUtils.loadSystem(FONT_FAMILIES, FontUtils.getSearchPaths());
 
         FONT_FAMILIES.sort(Comparator.comparing(FontFamily::getName));
 
@@ -59,13 +57,13 @@ public class Fonts {
     }
 
     public static void load(FontFace fontFace) {
-        if (RENDERER != null) {
-            if (RENDERER.fontFace.equals(fontFace)) return;
-            else RENDERER.destroy();
-        }
+        if (RENDERER != null && RENDERER.fontFace.equals(fontFace)) return;
 
         try {
+            CustomTextRenderer previous = RENDERER;
             RENDERER = new CustomTextRenderer(fontFace);
+            if (previous != null) FontCache.remove(previous.fontFace);
+
             MeteorClient.EVENT_BUS.post(CustomFontChangedEvent.get());
         }
         catch (Exception e) {
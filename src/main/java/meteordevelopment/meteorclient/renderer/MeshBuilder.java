@@ -37,6 +37,7 @@ public class MeshBuilder {
     private int vertexI, indicesCount;
 
     private boolean building;
+    private boolean retained;
     private double cameraX, cameraZ;
 
     public MeshBuilder(RenderPipeline pipeline) {
@@ -62,6 +63,7 @@ public class MeshBuilder {
         indicesCount = 0;
 
         building = true;
+        retained = false;
 
         if (Utils.rendering3D) {
             Vec3d camera = mc.gameRenderer.getCamera().getCameraPos();
@@ -75,6 +77,25 @@ public class MeshBuilder {
         }
     }
 
+    /**
+     * Begins building a mesh whose positions are relative to the given origin instead of the camera. Such a mesh can
+     * be kept between frames and copied into a per frame mesh with {@link #append(MeshBuilder)}. Its buffers start
+     * small and are trimmed to the content by {@link #end()}, since there is one such mesh for every chunk.
+     */
+    public void begin(double originX, double originZ) {
+        if (building) throw new IllegalStateException("Mesh.begin() called while already building.");
+
+        verticesPointer = verticesPointerStart;
+        vertexI = 0;
+        indicesCount = 0;
+
+        building = true;
+        retained = true;
+
+        cameraX = originX;
+        cameraZ = originZ;
+    }
+
     public MeshBuilder vec3(double x, double y, double z) {
         debugVertexBufferCapacity();
 
@@ -157,6 +178,47 @@ public class MeshBuilder {
         indicesCount += 3;
     }
 
+    /**
+     * Copies all vertices and indices of a finished mesh into this one, moving them from the other mesh's origin to
+     * this mesh's origin. Both meshes need to use the same vertex format with the position as the first element.
+     */
+    public void append(MeshBuilder mesh) {
+        if (mesh.format != format) throw new IllegalArgumentException("Cannot append a mesh with a different vertex format.");
+        if (mesh.building) throw new IllegalStateException("Cannot append a mesh that is still building.");
+        if (mesh.vertexI == 0) return;
+
+        ensureCapacity(mesh.vertexI, mesh.indicesCount);
+
+        // Vertices
+        int firstVertex = vertexI;
+        int size = mesh.getVerticesOffset();
+
+        memCopy(mesh.verticesPointerStart, verticesPointer, size);
+
+        float offsetX = (float) (mesh.cameraX - cameraX);
+        float offsetZ = (float) (mesh.cameraZ - cameraZ);
+
+        if (offsetX != 0 || offsetZ != 0) {
+            for (long p = verticesPointer; p < verticesPointer + size; p += primitiveVerticesSize) {
+                memPutFloat(p, memGetFloat(p) + offsetX);
+                memPutFloat(p + 8, memGetFloat(p + 8) + offsetZ);
+            }
+        }
+
+        verticesPointer += size;
+        vertexI += mesh.vertexI;
+
+        // Indices
+        long src = mesh.indicesPointer;
+        long dst = indicesPointer + indicesCount * 4L;
+
+        for (int i = 0; i < mesh.indicesCount; i++) {
+            memPutInt(dst + i * 4L, memGetInt(src + i * 4L) + firstVertex);
+        }
+
+        indicesCount += mesh.indicesCount;
+    }
+
     public void ensureQuadCapacity() {
         ensureCapacity(4, 6);
     }
@@ -175,8 +237,8 @@ public class MeshBuilder {
         }
 
         if (vertices == null || indices == null) {
-            allocateBuffers(256 * 4, 512 * 4);
-            return;
+            if (retained) allocateBuffers(vertexCount, indexCount);
+            else allocateBuffers(Math.max(256 * 4, vertexCount), Math.max(512 * 4, indexCount));
         }
 
         if ((vertexI + vertexCount) * primitiveVerticesSize >= vertices.capacity()) {
@@ -213,6 +275,42 @@ public class MeshBuilder {
         if (!building) throw new IllegalStateException("Mesh.end() called while not building.");
 
         building = false;
+        if (retained) trim();
+    }
+
+    /**
+     * Frees the buffers of an empty mesh and shrinks them to the content if more than a quarter is unused.
+     */
+    private void trim() {
+        if (vertices == null) return;
+
+        if (vertexI == 0) {
+            vertices = null;
+            indices = null;
+            verticesPointerStart = verticesPointer = indicesPointer = 0;
+            return;
+        }
+
+        int verticesSize = getVerticesOffset();
+
+        if (vertices.capacity() - verticesSize > verticesSize / 4) {
+            ByteBuffer newVertices = BufferUtils.createByteBuffer(verticesSize);
+            memCopy(verticesPointerStart, memAddress0(newVertices), verticesSize);
+
+            vertices = newVertices;
+            verticesPointerStart = memAddress0(vertices);
+            verticesPointer = verticesPointerStart + verticesSize;
+        }
+
+        int indicesSize = indicesCount * Integer.BYTES;
+
+        if (indices.capacity() - indicesSize > indicesSize / 4) {
+            ByteBuffer newIndices = BufferUtils.createByteBuffer(indicesSize);
+            memCopy(indicesPointer, memAddress0(newIndices), indicesSize);
+
+            indices = newIndices;
+            indicesPointer = memAddress0(indices);
+        }
     }
 
     public boolean isBuilding() {
@@ -31,6 +31,27 @@ public class Renderer3D {
         triangles.begin();
     }
 
+    /**
+     * Begins building a retained mesh, see {@link MeshBuilder#begin(double, double)}.
+     */
+    public void begin(double originX, double originZ) {
+        lines.begin(originX, originZ);
+        triangles.begin(originX, originZ);
+    }
+
+    public void end() {
+        lines.end();
+        triangles.end();
+    }
+
+    /**
+     * Copies the lines and triangles of a finished retained renderer into this one.
+     */
+    public void append(Renderer3D renderer) {
+        lines.append(renderer.lines);
+        triangles.append(renderer.triangles);
+    }
+
     public void render(MatrixStack matrices) {
         MeshRenderer.begin()
             .attachments(MinecraftClient.getInstance().getFramebuffer())
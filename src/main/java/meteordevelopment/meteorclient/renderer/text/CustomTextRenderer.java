@@ -5,11 +5,7 @@
 
 package meteordevelopment.meteorclient.renderer.text;
 
-import meteordevelopment.meteorclient.renderer.MeshBuilder;
-import meteordevelopment.meteorclient.renderer.MeshRenderer;
-import meteordevelopment.meteorclient.renderer.MeteorRenderPipelines;
 import meteordevelopment.meteorclient.utils.render.color.Color;
-import net.minecraft.client.MinecraftClient;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -17,11 +13,19 @@ import java.nio.ByteBuffer;
 public class CustomTextRenderer implements TextRenderer {
     public static final Color SHADOW_COLOR = new Color(60, 60, 60, 180);
 
-    private final MeshBuilder mesh = new MeshBuilder(MeteorRenderPipelines.UI_TEXT);
+    private static final int[] HEIGHTS = new int[5];
+
+    static {
+        for (int i = 0; i < HEIGHTS.length; i++) {
+            HEIGHTS[i] = (int) Math.round(27 * ((i * 0.5) + 1));
+        }
+    }
+
+    private final FontMeshes meshes = new FontMeshes();
 
     public final FontFace fontFace;
 
-    private final Font[] fonts;
+    private final ByteBuffer buffer;
     private Font font;
 
     private boolean building;
@@ -32,27 +36,29 @@ public class CustomTextRenderer implements TextRenderer {
     public CustomTextRenderer(FontFace fontFace) throws IOException {
         this.fontFace = fontFace;
 
-        ByteBuffer buffer = fontFace.readToDirectByteBuffer();
+        // Fonts of the other sizes are only created when they are first used, see FontCache
+        buffer = fontFace.readToDirectByteBuffer();
+        getFont(HEIGHTS[0]);
+    }
 
-        fonts = new Font[5];
-        for (int i = 0; i < fonts.length; i++) {
-            fonts[i] = new Font(buffer, (int) Math.round(27 * ((i * 0.5) + 1)));
-        }
+    /**
+     * @return the font of this face for the height, the same font is returned until it is evicted from the cache
+     */
+    public Font getFont(int height) {
+        return FontCache.get(fontFace, buffer, height);
     }
 
     @Override
     public void setAlpha(double a) {
-        mesh.alpha = a;
+        meshes.setAlpha(a);
     }
 
     @Override
     public void begin(double scale, boolean scaleOnly, boolean big) {
         if (building) throw new RuntimeException("CustomTextRenderer.begin() called twice");
 
-        if (!scaleOnly) mesh.begin();
-
         if (big) {
-            this.font = fonts[fonts.length - 1];
+            this.font = getFont(HEIGHTS[HEIGHTS.length - 1]);
         }
         else {
             double scaleA = Math.floor(scale * 10) / 10;
@@ -64,7 +70,7 @@ public class CustomTextRenderer implements TextRenderer {
             else if (scaleA >= 1.5) scaleI = 2;
             else scaleI = 1;
 
-            font = fonts[scaleI - 1];
+            font = getFont(HEIGHTS[scaleI - 1]);
         }
 
         this.building = true;
@@ -78,13 +84,13 @@ public class CustomTextRenderer implements TextRenderer {
     public double getWidth(String text, int length, boolean shadow) {
         if (text.isEmpty()) return 0;
 
-        Font font = building ? this.font : fonts[0];
+        Font font = building ? this.font : getFont(HEIGHTS[0]);
         return (font.getWidth(text, length) + (shadow ? 1 : 0)) * scale / 1.5;
     }
 
     @Override
     public double getHeight(boolean shadow) {
-        Font font = building ? this.font : fonts[0];
+        Font font = building ? this.font : getFont(HEIGHTS[0]);
         return (font.getHeight() + 1 + (shadow ? 1 : 0)) * scale / 1.5;
     }
 
@@ -98,13 +104,13 @@ public class CustomTextRenderer implements TextRenderer {
             int preShadowA = SHADOW_COLOR.a;
             SHADOW_COLOR.a = (int) (color.a / 255.0 * preShadowA);
 
-            width = font.render(mesh, text, x + fontScale * scale / 1.5, y + fontScale * scale / 1.5, SHADOW_COLOR, scale / 1.5);
-            font.render(mesh, text, x, y, color, scale / 1.5);
+            width = font.render(meshes, text, x + fontScale * scale / 1.5, y + fontScale * scale / 1.5, SHADOW_COLOR, scale / 1.5);
+            font.render(meshes, text, x, y, color, scale / 1.5);
 
             SHADOW_COLOR.a = preShadowA;
         }
         else {
-            width = font.render(mesh, text, x, y, color, scale / 1.5);
+            width = font.render(meshes, text, x, y, color, scale / 1.5);
         }
 
         if (!wasBuilding) end();
@@ -120,24 +126,9 @@ public class CustomTextRenderer implements TextRenderer {
     public void end() {
         if (!building) throw new RuntimeException("CustomTextRenderer.end() called without calling begin()");
 
-        if (!scaleOnly) {
-            mesh.end();
-
-            MeshRenderer.begin()
-                .attachments(MinecraftClient.getInstance().getFramebuffer())
-                .pipeline(MeteorRenderPipelines.UI_TEXT)
-                .mesh(mesh)
-                .sampler("u_Texture", font.texture.getGlTextureView(), font.texture.getSampler())
-                .end();
-        }
+        if (!scaleOnly) meshes.render(font);
 
         building = false;
         scale = 1;
     }
-
-    public void destroy() {
-        for (Font font : this.fonts) {
-            font.texture.close();
-        }
-    }
 }
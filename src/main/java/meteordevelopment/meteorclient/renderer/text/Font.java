@@ -12,59 +12,50 @@ import meteordevelopment.meteorclient.renderer.MeshBuilder;
 import meteordevelopment.meteorclient.renderer.Texture;
 import meteordevelopment.meteorclient.utils.render.color.Color;
 import org.lwjgl.BufferUtils;
-import org.lwjgl.stb.*;
+import org.lwjgl.stb.STBTTFontinfo;
+import org.lwjgl.stb.STBTruetype;
 import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
 
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Glyphs are rasterized the first time they are used and packed into shelves of atlas pages, a new page is added once
+ * the last one is full. Every page has its own texture so text is rendered with one mesh per page, see
+ * {@link FontMeshes}.
+ */
 public class Font {
-    public final Texture texture;
+    private static final int PAGE_SIZE = 1024;
+    private static final int OVERSAMPLE = 2;
+    private static final int PADDING = 1;
+
+    @SuppressWarnings({"FieldCanBeLocal", "unused"})
+    private final ByteBuffer buffer; // Referenced by the font info, has to stay alive as long as the font is used
+    private final STBTTFontinfo fontInfo;
+
     private final int height;
     private final float scale;
     private final float ascent;
-    private final Int2ObjectOpenHashMap<CharData> charMap = new Int2ObjectOpenHashMap<>();
-    private static final int size = 2048;
+
+    private final Int2ObjectOpenHashMap<Glyph> glyphs = new Int2ObjectOpenHashMap<>();
+    private final List<Page> pages = new ArrayList<>();
+    private final Glyph space;
+
+    int usedFrame; // Last frame the font was looked up in, see FontCache
 
     public Font(ByteBuffer buffer, int height) {
+        this.buffer = buffer;
         this.height = height;
 
         // Initialize font
-        STBTTFontinfo fontInfo = STBTTFontinfo.create();
-        STBTruetype.stbtt_InitFont(fontInfo, buffer);
-
-        // Allocate buffers
-        ByteBuffer bitmap = BufferUtils.createByteBuffer(size * size);
-        STBTTPackedchar.Buffer[] cdata = {
-            STBTTPackedchar.create(95), // Basic Latin
-            STBTTPackedchar.create(96), // Latin 1 Supplement
-            STBTTPackedchar.create(128), // Latin Extended-A
-            STBTTPackedchar.create(144), // Greek and Coptic
-            STBTTPackedchar.create(256), // Cyrillic
-            STBTTPackedchar.create(1) // infinity symbol
-        };
-
-        // create and initialise packing context
-        STBTTPackContext packContext = STBTTPackContext.create();
-        STBTruetype.stbtt_PackBegin(packContext, bitmap, size, size, 0 ,1);
-
-        // create the pack range, populate with the specific packing ranges
-        STBTTPackRange.Buffer packRange = STBTTPackRange.create(cdata.length);
-        packRange.put(STBTTPackRange.create().set(height, 32, null, 95, cdata[0], (byte) 2, (byte) 2));
-        packRange.put(STBTTPackRange.create().set(height, 160, null, 96, cdata[1], (byte) 2, (byte) 2));
-        packRange.put(STBTTPackRange.create().set(height, 256, null, 128, cdata[2], (byte) 2, (byte) 2));
-        packRange.put(STBTTPackRange.create().set(height, 880, null, 144, cdata[3], (byte) 2, (byte) 2));
-        packRange.put(STBTTPackRange.create().set(height, 1024, null, 256, cdata[4], (byte) 2, (byte) 2));
-        packRange.put(STBTTPackRange.create().set(height, 8734, null, 1, cdata[5], (byte) 2, (byte) 2)); // lol
-        packRange.flip();
-
-        // write and finish
-        STBTruetype.stbtt_PackFontRanges(packContext, buffer, 0, packRange);
-        STBTruetype.stbtt_PackEnd(packContext);
-
-        // Create texture object and get font scale
-        texture = new Texture(size, size, TextureFormat.RED8, FilterMode.LINEAR, FilterMode.LINEAR);
-        texture.upload(bitmap);
+        fontInfo = STBTTFontinfo.create();
+        if (!STBTruetype.stbtt_InitFont(fontInfo, buffer)) throw new IllegalArgumentException("Invalid font data");
+
         scale = STBTruetype.stbtt_ScaleForPixelHeight(fontInfo, height);
 
         // Get font vertical ascent
@@ -74,40 +65,101 @@ public class Font {
             this.ascent = ascent.get(0);
         }
 
-        for (int i = 0; i < cdata.length; i++) {
-            STBTTPackedchar.Buffer cbuf = cdata[i];
-            int offset = packRange.get(i).first_unicode_codepoint_in_range();
-
-            for (int j = 0; j < cbuf.capacity(); j++) {
-                STBTTPackedchar packedChar = cbuf.get(j);
-
-                float ipw = 1f / size; // pixel width and height
-                float iph = 1f / size;
-
-                charMap.put(j + offset, new CharData(
-                    packedChar.xoff(),
-                    packedChar.yoff(),
-                    packedChar.xoff2(),
-                    packedChar.yoff2(),
-                    packedChar.x0() * ipw,
-                    packedChar.y0() * iph,
-                    packedChar.x1() * ipw,
-                    packedChar.y1() * iph,
-                    packedChar.xadvance()
-                ));
+        space = rasterize(' ');
+        glyphs.put(' ', space);
+    }
+
+    private Glyph getGlyph(int cp) {
+        Glyph glyph = glyphs.get(cp);
+
+        if (glyph == null) {
+            // Code points the font does not have are rendered as a space, like before glyphs were loaded lazily
+            glyph = STBTruetype.stbtt_FindGlyphIndex(fontInfo, cp) != 0 ? rasterize(cp) : space;
+            glyphs.put(cp, glyph);
+        }
+
+        return glyph;
+    }
+
+    /**
+     * Same placement and oversampling as {@code stbtt_PackFontRanges} with a 2x2 oversample and 1 pixel padding.
+     */
+    private Glyph rasterize(int cp) {
+        float scaleX = scale * OVERSAMPLE, scaleY = scale * OVERSAMPLE;
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer advance = stack.mallocInt(1);
+            STBTruetype.stbtt_GetCodepointHMetrics(fontInfo, cp, advance, null);
+            float xAdvance = scale * advance.get(0);
+
+            IntBuffer x0 = stack.mallocInt(1), y0 = stack.mallocInt(1), x1 = stack.mallocInt(1), y1 = stack.mallocInt(1);
+            STBTruetype.stbtt_GetCodepointBitmapBoxSubpixel(fontInfo, cp, scaleX, scaleY, 0, 0, x0, y0, x1, y1);
+
+            int width = x1.get(0) - x0.get(0) + OVERSAMPLE - 1;
+            int height = y1.get(0) - y0.get(0) + OVERSAMPLE - 1;
+
+            if (x1.get(0) <= x0.get(0) || y1.get(0) <= y0.get(0)) {
+                return new Glyph(0, 0, 0, 0, 0, 0, 0, 0, xAdvance, 0);
+            }
+
+            // Find room on the last page or start a new one
+            Page page = pages.isEmpty() ? null : pages.getLast();
+            long position = page != null ? page.packer.pack(width + PADDING, height + PADDING) : -1;
+
+            if (position == -1) {
+                page = new Page();
+                pages.add(page);
+
+                position = page.packer.pack(width + PADDING, height + PADDING);
+                if (position == -1) throw new IllegalStateException("Glyph " + cp + " does not fit on a font atlas page");
             }
+
+            int x = ShelfPacker.x(position) + PADDING;
+            int y = ShelfPacker.y(position) + PADDING;
+
+            FloatBuffer subX = stack.mallocFloat(1), subY = stack.mallocFloat(1);
+
+            // Rasterized on its own and copied row by row, the output of stb has to hold every row at the full stride
+            ByteBuffer bitmap = MemoryUtil.memAlloc(width * height);
+
+            try {
+                STBTruetype.stbtt_MakeCodepointBitmapSubpixelPrefilter(fontInfo, bitmap, width, height, width, scaleX, scaleY, 0, 0, OVERSAMPLE, OVERSAMPLE, subX, subY, cp);
+
+                for (int row = 0; row < height; row++) {
+                    page.bitmap.put(x + (y + row) * PAGE_SIZE, bitmap, row * width, width);
+                }
+            } finally {
+                MemoryUtil.memFree(bitmap);
+            }
+
+            page.dirty = true;
+
+            float ipw = 1f / PAGE_SIZE; // pixel width and height
+            float iph = 1f / PAGE_SIZE;
+
+            return new Glyph(
+                x0.get(0) / (float) OVERSAMPLE + subX.get(0),
+                y0.get(0) / (float) OVERSAMPLE + subY.get(0),
+                (x0.get(0) + width) / (float) OVERSAMPLE + subX.get(0),
+                (y0.get(0) + height) / (float) OVERSAMPLE + subY.get(0),
+                x * ipw,
+                y * iph,
+                (x + width) * ipw,
+                (y + height) * iph,
+                xAdvance,
+                pages.size() - 1
+            );
         }
     }
 
     public double getWidth(String string, int length) {
         double width = 0;
 
-        for (int i = 0; i < length; i++) {
-            int cp = string.charAt(i);
-            CharData c = charMap.get(cp);
-            if (c == null) c = charMap.get(32);
+        for (int i = 0; i < length; ) {
+            int cp = string.codePointAt(i);
+            i += Character.charCount(cp);
 
-            width += c.xAdvance;
+            width += getGlyph(cp).xAdvance;
         }
 
         return width;
@@ -117,23 +169,53 @@ public class Font {
         return height;
     }
 
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Uploads glyphs that were added to the page since the last call.
+     */
+    public Texture getPageTexture(int page) {
+        return pages.get(page).getTexture();
+    }
+
+    /**
+     * Draws every glyph into the one mesh, which is only correct while all glyphs of the font fit on the first atlas
+     * page.
+     *
+     * @deprecated use {@link #render(IntFunction, String, double, double, Color, double)} with a {@link FontMeshes}
+     */
+    @Deprecated
     public double render(MeshBuilder mesh, String string, double x, double y, Color color, double scale) {
+        return render(page -> mesh, string, x, y, color, scale);
+    }
+
+    /**
+     * @param meshes mesh for every atlas page, see {@link FontMeshes}
+     */
+    public double render(IntFunction<MeshBuilder> meshes, String string, double x, double y, Color color, double scale) {
         y += ascent * this.scale * scale;
 
         int length = string.length();
-        mesh.ensureCapacity(length * 4, length * 6);
-
-        for (int i = 0; i < length; i++) {
-            int cp = string.charAt(i);
-            CharData c = charMap.get(cp);
-            if (c == null) c = charMap.get(32);
-
-            mesh.quad(
-                mesh.vec2(x + c.x0 * scale, y + c.y0 * scale).vec2(c.u0, c.v0).color(color).next(),
-                mesh.vec2(x + c.x0 * scale, y + c.y1 * scale).vec2(c.u0, c.v1).color(color).next(),
-                mesh.vec2(x + c.x1 * scale, y + c.y1 * scale).vec2(c.u1, c.v1).color(color).next(),
-                mesh.vec2(x + c.x1 * scale, y + c.y0 * scale).vec2(c.u1, c.v0).color(color).next()
-            );
+
+        for (int i = 0; i < length; ) {
+            int cp = string.codePointAt(i);
+            i += Character.charCount(cp);
+
+            Glyph c = getGlyph(cp);
+
+            if (c.x1 > c.x0) {
+                MeshBuilder mesh = meshes.apply(c.page);
+                mesh.ensureQuadCapacity();
+
+                mesh.quad(
+                    mesh.vec2(x + c.x0 * scale, y + c.y0 * scale).vec2(c.u0, c.v0).color(color).next(),
+                    mesh.vec2(x + c.x0 * scale, y + c.y1 * scale).vec2(c.u0, c.v1).color(color).next(),
+                    mesh.vec2(x + c.x1 * scale, y + c.y1 * scale).vec2(c.u1, c.v1).color(color).next(),
+                    mesh.vec2(x + c.x1 * scale, y + c.y0 * scale).vec2(c.u1, c.v0).color(color).next()
+                );
+            }
 
             x += c.xAdvance * scale;
         }
@@ -141,5 +223,33 @@ public class Font {
         return x;
     }
 
-    private record CharData(float x0, float y0, float x1, float y1, float u0, float v0, float u1, float v1, float xAdvance) {}
+    public void close() {
+        for (Page page : pages) {
+            if (page.texture != null) page.texture.close();
+        }
+
+        pages.clear();
+        glyphs.clear();
+    }
+
+    private static class Page {
+        private final ByteBuffer bitmap = BufferUtils.createByteBuffer(PAGE_SIZE * PAGE_SIZE);
+        private final ShelfPacker packer = new ShelfPacker(PAGE_SIZE, PAGE_SIZE);
+
+        private Texture texture;
+        private boolean dirty;
+
+        public Texture getTexture() {
+            if (texture == null) texture = new Texture(PAGE_SIZE, PAGE_SIZE, TextureFormat.RED8, FilterMode.LINEAR, FilterMode.LINEAR);
+
+            if (dirty) {
+                texture.upload(bitmap);
+                dirty = false;
+            }
+
+            return texture;
+        }
+    }
+
+    private record Glyph(float x0, float y0, float x1, float y1, float u0, float v0, float u1, float v1, float xAdvance, int page) {}
 }
@@ -0,0 +1,91 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.renderer.text;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import meteordevelopment.meteorclient.utils.Utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fonts by font face and height, shared by the GUI and HUD text renderers. The least recently used font is closed
+ * once there are too many, so switching back to a recently used face or HUD scale does not create it again. Fonts
+ * that were looked up during the current frame are never closed, so meshes built with them can still be rendered.
+ */
+public class FontCache {
+    private static final int MAX_FONTS = 16;
+
+    private static final Long2ObjectLinkedOpenHashMap<Font> FONTS = new Long2ObjectLinkedOpenHashMap<>();
+    private static final Reference2IntOpenHashMap<FontFace> FACE_IDS = new Reference2IntOpenHashMap<>();
+    private static int nextFaceId;
+
+    static {
+        FACE_IDS.defaultReturnValue(-1);
+    }
+
+    private FontCache() {
+    }
+
+    /**
+     * Fonts can be closed by later calls, so they should be looked up again every frame instead of being kept.
+     *
+     * @param buffer data of the font face, only used if the font is not cached yet
+     */
+    public static Font get(FontFace face, ByteBuffer buffer, int height) {
+        int faceId = FACE_IDS.getInt(face);
+
+        if (faceId == -1) {
+            faceId = nextFaceId++;
+            FACE_IDS.put(face, faceId);
+        }
+
+        long key = ((long) faceId << 32) | height;
+
+        Font font = FONTS.getAndMoveToLast(key);
+
+        if (font == null) {
+            font = new Font(buffer, height);
+            FONTS.putAndMoveToLast(key, font);
+        }
+
+        font.usedFrame = Utils.frameCount;
+        if (FONTS.size() > MAX_FONTS) evict();
+
+        return font;
+    }
+
+    /**
+     * Closes every font of the face, called once the face is not used anymore.
+     */
+    public static void remove(FontFace face) {
+        int faceId = FACE_IDS.removeInt(face);
+        if (faceId == -1) return;
+
+        for (ObjectIterator<Long2ObjectMap.Entry<Font>> it = FONTS.long2ObjectEntrySet().fastIterator(); it.hasNext(); ) {
+            Long2ObjectMap.Entry<Font> entry = it.next();
+
+            if ((int) (entry.getLongKey() >>> 32) == faceId) {
+                entry.getValue().close();
+                it.remove();
+            }
+        }
+    }
+
+    private static void evict() {
+        // Least recently used first, fonts used this frame are only closed in a later frame
+        for (ObjectIterator<Font> it = FONTS.values().iterator(); it.hasNext() && FONTS.size() > MAX_FONTS; ) {
+            Font font = it.next();
+
+            if (font.usedFrame != Utils.frameCount) {
+                font.close();
+                it.remove();
+            }
+        }
+    }
+}
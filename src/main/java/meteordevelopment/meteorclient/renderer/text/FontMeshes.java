@@ -0,0 +1,74 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.renderer.text;
+
+import meteordevelopment.meteorclient.renderer.MeshBuilder;
+import meteordevelopment.meteorclient.renderer.MeshRenderer;
+import meteordevelopment.meteorclient.renderer.MeteorRenderPipelines;
+import meteordevelopment.meteorclient.renderer.Texture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+
+/**
+ * One text mesh per atlas page of a {@link Font}, meshes are created and started when a page is first used.
+ */
+public class FontMeshes implements IntFunction<MeshBuilder> {
+    private final List<MeshBuilder> meshes = new ArrayList<>();
+    private double alpha = 1;
+
+    @Override
+    public MeshBuilder apply(int page) {
+        while (meshes.size() <= page) {
+            MeshBuilder mesh = new MeshBuilder(MeteorRenderPipelines.UI_TEXT);
+            mesh.alpha = alpha;
+            meshes.add(mesh);
+        }
+
+        MeshBuilder mesh = meshes.get(page);
+        if (!mesh.isBuilding()) mesh.begin();
+
+        return mesh;
+    }
+
+    public void setAlpha(double alpha) {
+        this.alpha = alpha;
+        for (MeshBuilder mesh : meshes) mesh.alpha = alpha;
+    }
+
+    public boolean isBuilding() {
+        for (MeshBuilder mesh : meshes) {
+            if (mesh.isBuilding()) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Ends all meshes that were used and renders them with the textures of the font's pages.
+     */
+    public void render(Font font) {
+        for (int i = 0; i < meshes.size(); i++) {
+            MeshBuilder mesh = meshes.get(i);
+            if (!mesh.isBuilding()) continue;
+
+            mesh.end();
+            if (i >= font.getPageCount()) continue;
+
+            Texture texture = font.getPageTexture(i);
+
+            MeshRenderer.begin()
+                .attachments(mc.getFramebuffer())
+                .pipeline(MeteorRenderPipelines.UI_TEXT)
+                .mesh(mesh)
+                .sampler("u_Texture", texture.getGlTextureView(), texture.getSampler())
+                .end();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.renderer.text;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Packs rectangles into rows (shelves) that are as tall as the first rectangle placed in them. Glyphs of one font size
+ * have similar heights so little space is wasted, and placing one is a walk over a few shelves.
+ */
+public class ShelfPacker {
+    private final int width, height;
+
+    // y, height and used width of every shelf
+    private final IntArrayList shelves = new IntArrayList();
+    private int nextY;
+
+    public ShelfPacker(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return the position of the rectangle, see {@link #x(long)} and {@link #y(long)}, or -1 if it does not fit
+     */
+    public long pack(int w, int h) {
+        if (w > width || h > height) return -1;
+
+        for (int i = 0; i < shelves.size(); i += 3) {
+            int shelfY = shelves.getInt(i);
+            int shelfHeight = shelves.getInt(i + 1);
+            int used = shelves.getInt(i + 2);
+
+            // Skip shelves that are much taller than the rectangle
+            if (h > shelfHeight || h < shelfHeight / 2 || used + w > width) continue;
+
+            shelves.set(i + 2, used + w);
+            return pos(used, shelfY);
+        }
+
+        if (nextY + h > height) {
+            // No room for a new shelf, any shelf that is tall enough will do
+            for (int i = 0; i < shelves.size(); i += 3) {
+                int used = shelves.getInt(i + 2);
+                if (h > shelves.getInt(i + 1) || used + w > width) continue;
+
+                shelves.set(i + 2, used + w);
+                return pos(used, shelves.getInt(i));
+            }
+
+            return -1;
+        }
+
+        shelves.add(nextY);
+        shelves.add(h);
+        shelves.add(w);
+
+        int y = nextY;
+        nextY += h;
+
+        return pos(0, y);
+    }
+
+    private static long pos(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int x(long pos) {
+        return (int) (pos >> 32);
+    }
+
+    public static int y(long pos) {
+        return (int) pos;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.settings;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * List setting that keeps a reference set copy of its value, so {@link #contains(Object)} is constant time for lists of
+ * registry entries. The copy is rebuilt on every {@link #onChanged()}.
+ */
+public abstract class CompiledListSetting<T> extends Setting<List<T>> {
+    private volatile Set<T> compiled;
+
+    public CompiledListSetting(String name, String description, List<T> defaultValue, Consumer<List<T>> onChanged, Consumer<Setting<List<T>>> onModuleActivated, IVisible visible) {
+        super(name, description, defaultValue, onChanged, onModuleActivated, visible);
+
+        compile();
+    }
+
+    @Override
+    public void onChanged() {
+        compile();
+        super.onChanged();
+    }
+
+    /**
+     * Same as {@code get().contains(...)} in constant time. Safe to call from any thread, it sees the value as of the
+     * last {@link #onChanged()}.
+     */
+    public boolean contains(T value) {
+        return compiled.contains(value);
+    }
+
+    private void compile() {
+        compiled = new ReferenceOpenHashSet<>(value);
+    }
+}
@@ -5,6 +5,7 @@
 
 package meteordevelopment.meteorclient.settings;
 
+import meteordevelopment.meteorclient.systems.Systems;
 import meteordevelopment.meteorclient.systems.modules.Module;
 import meteordevelopment.meteorclient.utils.Utils;
 import meteordevelopment.meteorclient.utils.misc.IGetter;
@@ -89,6 +90,7 @@ public abstract class Setting<T> implements IGetter<T>, ISerializable<T> {
     }
 
     public void onChanged() {
+        Systems.markDirty();
         if (onChanged != null) onChanged.accept(value);
     }
 
@@ -27,6 +27,7 @@ public abstract class System<T> implements ISerializable<T> {
     private File file;
 
     protected boolean isFirstInit;
+    private boolean dirty = true;
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss", Locale.ROOT);
 
     public System(String name) {
@@ -44,37 +45,51 @@ public abstract class System<T> implements ISerializable<T> {
         File file = getFile();
         if (file == null) return;
 
+        if (folder != null) file = new File(folder, file.getName());
+        else if (!dirty && file.exists()) {
+            // Nothing changed since the last save, skip serializing the system
+            SystemSaver.skip(name);
+            return;
+        }
+
+        long start = java.lang.System.nanoTime();
         NbtCompound tag = toTag();
         if (tag == null) return;
 
-        try {
-            File tempFile = File.createTempFile(MeteorClient.MOD_ID, file.getName());
-            NbtIo.write(tag, tempFile.toPath());
-
-            if (folder != null) file = new File(folder, file.getName());
-
-            file.getParentFile().mkdirs();
-
-            try {
-                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
-            } catch (AtomicMoveNotSupportedException e) {
-                StreamUtils.copy(tempFile, file);
-            }
+        if (folder == null) dirty = false;
 
-            tempFile.delete();
-        } catch (IOException e) {
-            MeteorClient.LOG.error("Error saving {}. Possibly corrupted?", this.name, e);
-        }
+        // Only the snapshot is taken here, the file is written by the saver thread
+        SystemSaver.submit(name, file, tag, java.lang.System.nanoTime() - start);
     }
 
+    /**
+     * Saves the system to its file, even if it was not marked as changed.
+     */
     public void save() {
+        markDirty();
         save(null);
     }
 
+    /**
+     * Marks the system as changed so the next save writes it. Changing a setting, toggling a module, closing a GUI
+     * screen and running a command mark every system, anything else that changes a system outside of those should
+     * call this or {@link #save()}.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
     public void load(File folder) {
         File file = getFile();
         if (file == null) return;
 
+        // Make sure a pending save of this system is not read half written or stale
+        SystemSaver.flush();
+
         try {
             if (folder != null) file = new File(folder, file.getName());
 
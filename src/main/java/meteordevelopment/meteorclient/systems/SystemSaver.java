@@ -0,0 +1,213 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.systems;
+
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.utils.files.StreamUtils;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Writes system NBT files on a background thread.
+ * <p>
+ * Systems snapshot their NBT on the calling thread and hand it to this class, systems that did not change since their last
+ * save are skipped before taking a snapshot. Snapshots for the same file that have not been written yet are coalesced
+ * and the amount of pending files is bounded, callers block when it is full. {@link #flush()} waits until everything has
+ * been written.
+ */
+public class SystemSaver {
+    private static final int CAPACITY = 32;
+
+    private static final Map<File, Write> pending = new LinkedHashMap<>();
+    private static final Map<String, Timings> timings = new LinkedHashMap<>();
+
+    private static Thread thread;
+    private static File writing;
+
+    private SystemSaver() {
+    }
+
+    /**
+     * Queues the snapshot to be written to the file.
+     * @param snapshotTime how long creating the snapshot took in nanoseconds, only used for {@link #getTimings()}
+     */
+    public static void submit(String name, File file, NbtCompound tag, long snapshotTime) {
+        synchronized (pending) {
+            timings.computeIfAbsent(name, s -> new Timings()).snapshot = snapshotTime;
+
+            if (!ensureThread()) {
+                write(new Write(name, file, tag));
+                return;
+            }
+
+            while (pending.size() >= CAPACITY && !pending.containsKey(file)) {
+                try {
+                    pending.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    write(new Write(name, file, tag));
+                    return;
+                }
+            }
+
+            pending.put(file, new Write(name, file, tag));
+            pending.notifyAll();
+        }
+    }
+
+    /**
+     * Records that a save of the system was skipped because it did not change, only used for {@link #getTimings()}.
+     */
+    public static void skip(String name) {
+        synchronized (pending) {
+            timings.computeIfAbsent(name, s -> new Timings()).skipped++;
+        }
+    }
+
+    /**
+     * Blocks until every queued snapshot has been written.
+     */
+    public static void flush() {
+        synchronized (pending) {
+            // The writer thread might already be gone when shutting down
+            if (thread == null || !thread.isAlive()) {
+                for (Iterator<Write> it = pending.values().iterator(); it.hasNext();) {
+                    write(it.next());
+                    it.remove();
+                }
+
+                return;
+            }
+
+            while (!pending.isEmpty() || writing != null) {
+                try {
+                    pending.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return timings of the last save of each system, by system name
+     */
+    public static Map<String, Timings> getTimings() {
+        synchronized (pending) {
+            Map<String, Timings> copy = new LinkedHashMap<>();
+            for (Map.Entry<String, Timings> entry : timings.entrySet()) copy.put(entry.getKey(), entry.getValue().copy());
+            return copy;
+        }
+    }
+
+    private static boolean ensureThread() {
+        if (thread != null && thread.isAlive()) return true;
+
+        try {
+            thread = new Thread(SystemSaver::run, "Meteor-System-Saver");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IllegalStateException e) {
+            // Thrown when the JVM is shutting down, write on the calling thread instead
+            thread = null;
+            return false;
+        }
+
+        return true;
+    }
+
+    private static void run() {
+        while (true) {
+            Write write;
+
+            synchronized (pending) {
+                while (pending.isEmpty()) {
+                    try {
+                        pending.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+
+                Iterator<Write> it = pending.values().iterator();
+                write = it.next();
+                it.remove();
+
+                writing = write.file;
+                pending.notifyAll();
+            }
+
+            try {
+                write(write);
+            } finally {
+                synchronized (pending) {
+                    writing = null;
+                    pending.notifyAll();
+                }
+            }
+        }
+    }
+
+    private static void write(Write write) {
+        long start = java.lang.System.nanoTime();
+        File file = write.file;
+
+        try {
+            File tempFile = File.createTempFile(MeteorClient.MOD_ID, file.getName());
+            NbtIo.write(write.tag, tempFile.toPath());
+
+            file.getParentFile().mkdirs();
+
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                StreamUtils.copy(tempFile, file);
+            }
+
+            tempFile.delete();
+        } catch (IOException e) {
+            MeteorClient.LOG.error("Error saving {}. Possibly corrupted?", write.name, e);
+        }
+
+        long time = java.lang.System.nanoTime() - start;
+
+        synchronized (pending) {
+            Timings systemTimings = timings.computeIfAbsent(write.name, s -> new Timings());
+            systemTimings.write = time;
+            systemTimings.writes++;
+        }
+    }
+
+    private record Write(String name, File file, NbtCompound tag) {}
+
+    public static class Timings {
+        /** Nanoseconds spent creating the last snapshot on the saving thread. */
+        public long snapshot;
+        /** Nanoseconds spent writing the last snapshot on the saver thread. */
+        public long write;
+
+        public int writes, skipped;
+
+        public Timings copy() {
+            Timings copy = new Timings();
+
+            copy.snapshot = snapshot;
+            copy.write = write;
+            copy.writes = writes;
+            copy.skipped = skipped;
+
+            return copy;
+        }
+    }
+}
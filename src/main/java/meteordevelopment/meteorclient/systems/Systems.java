@@ -78,12 +78,24 @@ public class Systems {
         for (System<?> system : systems.values()) system.save(folder);
 
         MeteorClient.LOG.info("Saved in {} milliseconds.", java.lang.System.currentTimeMillis() - start);
+
+        if (MeteorClient.LOG.isDebugEnabled()) {
+            SystemSaver.getTimings().forEach((name, timings) -> MeteorClient.LOG.debug("{}: snapshot {} ms, write {} ms, {} writes, {} skipped", name,
+                timings.snapshot / 1_000_000.0, timings.write / 1_000_000.0, timings.writes, timings.skipped));
+        }
     }
 
     public static void save() {
         save(null);
     }
 
+    /**
+     * Marks every system as changed, for changes that cannot easily be traced back to a single system.
+     */
+    public static void markDirty() {
+        for (System<?> system : systems.values()) system.markDirty();
+    }
+
     public static void load(File folder) {
         long start = java.lang.System.currentTimeMillis();
         MeteorClient.LOG.info("Loading");
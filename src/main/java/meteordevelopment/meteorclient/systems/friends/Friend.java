@@ -18,6 +18,7 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -56,6 +57,7 @@ public class Friend implements ISerializable<Friend>, Comparable<Friend> {
 
         if (id != null) {
             res = Http.get("https://sessionserver.mojang.com/session/minecraft/profile/" + UndashedUuid.toString(id))
+                .cache(Duration.ofHours(1))
                 .exceptionHandler(e -> MeteorClient.LOG.error("Error while trying to connect session server for friend '{}'", name))
                 .sendJsonResponse(APIResponse.class);
         }
@@ -63,6 +65,7 @@ public class Friend implements ISerializable<Friend>, Comparable<Friend> {
         // Fallback to name-based lookup
         if (res == null || res.statusCode() != 200) {
             res = Http.get("https://api.mojang.com/users/profiles/minecraft/" + name)
+                .cache(Duration.ofHours(1))
                 .exceptionHandler(e -> MeteorClient.LOG.error("Error while trying to update info for friend '{}'", name))
                 .sendJsonResponse(APIResponse.class);
         }
@@ -99,7 +99,10 @@ public class Hud extends System<Hud> implements Iterable<HudElement> {
     private final Setting<Keybind> keybind = sgKeybind.add(new KeybindSetting.Builder()
         .name("bind")
         .defaultValue(Keybind.none())
-        .action(() -> active = !active)
+        .action(() -> {
+            active = !active;
+            markDirty();
+        })
         .build()
     );
 
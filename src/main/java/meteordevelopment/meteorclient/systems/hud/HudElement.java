@@ -35,6 +35,7 @@ public abstract class HudElement implements Snapper.Element, ISerializable<HudEl
 
     public void toggle() {
         active = !active;
+        Hud.get().markDirty();
     }
 
     public void setSize(double width, double height) {
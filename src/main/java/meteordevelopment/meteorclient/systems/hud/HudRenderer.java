@@ -5,9 +5,6 @@
 
 package meteordevelopment.meteorclient.systems.hud;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import meteordevelopment.meteorclient.MeteorClient;
@@ -16,6 +13,7 @@ import meteordevelopment.meteorclient.mixininterface.IGameRenderer;
 import meteordevelopment.meteorclient.renderer.*;
 import meteordevelopment.meteorclient.renderer.text.CustomTextRenderer;
 import meteordevelopment.meteorclient.renderer.text.Font;
+import meteordevelopment.meteorclient.renderer.text.FontMeshes;
 import meteordevelopment.meteorclient.renderer.text.VanillaTextRenderer;
 import meteordevelopment.meteorclient.utils.Utils;
 import meteordevelopment.meteorclient.utils.render.RenderUtils;
@@ -29,9 +27,6 @@ import net.minecraft.util.Identifier;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -47,14 +42,6 @@ public class HudRenderer {
     private final List<Runnable> postTasks = new ArrayList<>();
 
     private final Int2ObjectMap<FontHolder> fontsInUse = new Int2ObjectOpenHashMap<>();
-    private final LoadingCache<Integer, FontHolder> fontCache = CacheBuilder.newBuilder()
-        .maximumSize(4)
-        .expireAfterAccess(Duration.ofMinutes(10))
-        .removalListener(notification -> {
-            if (notification.wasEvicted())
-                ((FontHolder) notification.getValue()).destroy();
-        })
-        .build(CacheLoader.from(HudRenderer::loadFont));
 
     public DrawContext drawContext;
     public double delta;
@@ -81,22 +68,12 @@ public class HudRenderer {
         Renderer2D.COLOR.render();
 
         if (hud.hasCustomFont()) {
-            // Render fonts that were visited this frame and move to cache which weren't visited
+            // Render fonts that were visited this frame and drop the meshes of the ones that weren't, the fonts themselves are cached by the renderer
             for (Iterator<FontHolder> it = fontsInUse.values().iterator(); it.hasNext(); ) {
                 FontHolder fontHolder = it.next();
 
-                if (fontHolder.visited) {
-                    MeshRenderer.begin()
-                        .attachments(mc.getFramebuffer())
-                        .pipeline(MeteorRenderPipelines.UI_TEXT)
-                        .mesh(fontHolder.getMesh())
-                        .sampler("u_Texture", fontHolder.font.texture.getGlTextureView(), fontHolder.font.texture.getSampler())
-                        .end();
-                }
-                else {
-                    it.remove();
-                    fontCache.put(fontHolder.font.getHeight(), fontHolder);
-                }
+                if (fontHolder.visited) fontHolder.meshes.render(Fonts.RENDERER.getFont(fontHolder.height));
+                else it.remove();
 
                 fontHolder.visited = false;
             }
@@ -144,10 +121,10 @@ public class HudRenderer {
             return VanillaTextRenderer.INSTANCE.render(text, x, y, color, shadow);
         }
 
-        FontHolder fontHolder = getFontHolder(scale, true);
+        FontHolder fontHolder = getFontHolder(scale);
 
-        Font font = fontHolder.font;
-        MeshBuilder mesh = fontHolder.getMesh();
+        Font font = Fonts.RENDERER.getFont(fontHolder.height);
+        FontMeshes meshes = fontHolder.meshes;
 
         double width;
 
@@ -155,13 +132,13 @@ public class HudRenderer {
             int preShadowA = CustomTextRenderer.SHADOW_COLOR.a;
             CustomTextRenderer.SHADOW_COLOR.a = (int) (color.a / 255.0 * preShadowA);
 
-            width = font.render(mesh, text, x + 1, y + 1, CustomTextRenderer.SHADOW_COLOR, scale);
-            font.render(mesh, text, x, y, color, scale);
+            width = font.render(meshes, text, x + 1, y + 1, CustomTextRenderer.SHADOW_COLOR, scale);
+            font.render(meshes, text, x, y, color, scale);
 
             CustomTextRenderer.SHADOW_COLOR.a = preShadowA;
         }
         else {
-            width = font.render(mesh, text, x, y, color, scale);
+            width = font.render(meshes, text, x, y, color, scale);
         }
 
         return width;
@@ -255,76 +232,41 @@ public class HudRenderer {
         drawContext.addEntity(state, scale, translation, rotation, null, x1, y1, x2, y2);
     }
 
-    private FontHolder getFontHolder(double scale, boolean render) {
-        // Calculate font height
+    private int getFontHeight(double scale) {
         if (scale == -1) scale = hud.getTextScale();
-        int height = (int) Math.round(scale / SCALE_TO_HEIGHT);
-
-        // Check fonts in use
-        FontHolder fontHolder = fontsInUse.get(height);
-        if (fontHolder != null) {
-            if (render) fontHolder.visited = true;
-            return fontHolder;
-        }
+        return (int) Math.round(scale / SCALE_TO_HEIGHT);
+    }
 
-        // Create font if not in cache otherwise remove from cache and add to fonts in use
-        if (render) {
-            fontHolder = fontCache.getIfPresent(height);
-            if (fontHolder == null) fontHolder = loadFont(height);
-            else fontCache.invalidate(height);
+    private FontHolder getFontHolder(double scale) {
+        int height = getFontHeight(scale);
 
+        FontHolder fontHolder = fontsInUse.get(height);
+        if (fontHolder == null) {
+            fontHolder = new FontHolder(height);
             fontsInUse.put(height, fontHolder);
-            fontHolder.visited = true;
-
-            return fontHolder;
         }
 
-        // Otherwise get from cache
-        return fontCache.getUnchecked(height);
+        fontHolder.visited = true;
+        return fontHolder;
     }
 
     private Font getFont(double scale) {
-        return getFontHolder(scale, false).font;
+        return Fonts.RENDERER.getFont(getFontHeight(scale));
     }
 
     @EventHandler
     private void onCustomFontChanged(CustomFontChangedEvent event) {
-        // Need to destroy both fonts in use and in cache because they were not evicted from the cache automatically
-        for (FontHolder fontHolder : fontsInUse.values()) fontHolder.destroy();
-        for (FontHolder fontHolder : fontCache.asMap().values()) fontHolder.destroy();
-
-        // Clear collections
+        // Meshes are tied to the atlas pages of the old font
         fontsInUse.clear();
-        fontCache.invalidateAll();
-    }
-
-    private static FontHolder loadFont(int height) {
-        try {
-            ByteBuffer buffer = Fonts.RENDERER.fontFace.readToDirectByteBuffer();
-            return new FontHolder(new Font(buffer, height));
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load font: " + Fonts.RENDERER.fontFace, e);
-        }
     }
 
     private static class FontHolder {
-        public final Font font;
+        public final int height;
+        public final FontMeshes meshes = new FontMeshes();
         public boolean visited;
 
-        private MeshBuilder mesh;
-
-        public FontHolder(Font font) {
-            this.font = font;
-        }
-
-        public MeshBuilder getMesh() {
-            if (mesh == null) mesh = new MeshBuilder(MeteorRenderPipelines.UI_TEXT);
-            if (!mesh.isBuilding()) mesh.begin();
-            return mesh;
-        }
-
-        public void destroy() {
-            font.texture.close();
+        public FontHolder(int height) {
+            this.height = height;
         }
     }
 }
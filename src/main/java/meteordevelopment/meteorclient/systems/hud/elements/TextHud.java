@@ -15,7 +15,6 @@ import meteordevelopment.meteorclient.systems.hud.HudRenderer;
 import meteordevelopment.meteorclient.utils.misc.MeteorStarscript;
 import meteordevelopment.meteorclient.utils.render.color.Color;
 import meteordevelopment.meteorclient.utils.render.color.SettingColor;
-import org.meteordev.starscript.Script;
 import org.meteordev.starscript.Section;
 import org.meteordev.starscript.compiler.Compiler;
 import org.meteordev.starscript.compiler.Parser;
@@ -34,6 +33,10 @@ public class TextHud extends HudElement {
     private double originalWidth, originalHeight;
     private boolean needsCompile, recalculateSize;
 
+    // Scale and font the size was calculated with, the global ones can change without the text changing
+    private double sizeScale;
+    private boolean sizeCustomFont;
+
     private int timer;
 
     // General
@@ -132,8 +135,9 @@ public class TextHud extends HudElement {
         .build()
     );
 
-    private Script script, conditionScript;
+    private MeteorStarscript.CachedScript script, conditionScript;
     private Section section;
+    private String sectionText;
 
     private boolean firstTick = true;
     private boolean empty = false;
@@ -158,11 +162,13 @@ public class TextHud extends HudElement {
     }
 
     private void calculateSize(HudRenderer renderer) {
+        sizeScale = getScale();
+        sizeCustomFont = Hud.get().hasCustomFont();
+
         double width = 0;
 
-        if (section != null) {
-            String str = section.toString();
-            if (!str.isBlank()) width = renderer.textWidth(str, shadow.get(), getScale());
+        if (sectionText != null && !sectionText.isBlank()) {
+            width = renderer.textWidth(sectionText, shadow.get(), getScale());
         }
 
         if (width != 0) {
@@ -177,7 +183,7 @@ public class TextHud extends HudElement {
 
     @Override
     public void tick(HudRenderer renderer) {
-        if (recalculateSize) {
+        if (recalculateSize || sizeScale != getScale() || sizeCustomFont != Hud.get().hasCustomFont()) {
             calculateSize(renderer);
             recalculateSize = false;
         }
@@ -195,27 +201,22 @@ public class TextHud extends HudElement {
 
             if (result.hasErrors()) {
                 script = null;
-                section = new Section(0, result.errors.getFirst().toString());
-                calculateSize(renderer);
+                setSection(new Section(0, result.errors.getFirst().toString()), renderer);
             }
-            else script = Compiler.compile(result);
+            else script = new MeteorStarscript.CachedScript(Compiler.compile(result));
 
             if (shown.get() != Shown.Always) {
-                conditionScript = Compiler.compile(Parser.parse(condition.get()));
+                conditionScript = new MeteorStarscript.CachedScript(Compiler.compile(Parser.parse(condition.get())));
             }
 
             needsCompile = false;
         }
 
         try {
-            if (script != null) {
-                section = MeteorStarscript.ss.run(script);
-                calculateSize(renderer);
-            }
+            if (script != null) setSection(script.run(), renderer);
         }
         catch (StarscriptError error) {
-            section = new Section(0, error.getMessage());
-            calculateSize(renderer);
+            setSection(new Section(0, error.getMessage()), renderer);
         }
 
         if (shown.get() != Shown.Always && conditionScript != null) {
@@ -227,6 +228,18 @@ public class TextHud extends HudElement {
         firstTick = false;
     }
 
+    private void setSection(Section section, HudRenderer renderer) {
+        // Unchanged scripts return the same section
+        if (section == this.section) return;
+        this.section = section;
+
+        String text = section.toString();
+        if (text.equals(sectionText)) return;
+
+        sectionText = text;
+        calculateSize(renderer);
+    }
+
     @Override
     public void render(HudRenderer renderer) {
         if (firstTick) runTick(renderer);
@@ -104,6 +104,8 @@ public abstract class Module implements ISerializable<Module>, Comparable<Module
             active = false;
             Modules.get().removeActive(this);
         }
+
+        Modules.get().markDirty();
     }
 
     public void enable() {
@@ -9,8 +9,8 @@ import meteordevelopment.meteorclient.events.world.TickEvent;
 import meteordevelopment.meteorclient.settings.*;
 import meteordevelopment.meteorclient.systems.modules.Categories;
 import meteordevelopment.meteorclient.systems.modules.Module;
-import meteordevelopment.meteorclient.utils.entity.simulator.ProjectileEntitySimulator;
-import meteordevelopment.meteorclient.utils.misc.Pool;
+import meteordevelopment.meteorclient.utils.entity.simulator.ProjectileSimulations;
+import meteordevelopment.meteorclient.utils.entity.simulator.SimulatedPath;
 import meteordevelopment.orbit.EventHandler;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.projectile.ArrowEntity;
@@ -19,7 +19,6 @@ import net.minecraft.entity.projectile.SpectralArrowEntity;
 import net.minecraft.network.packet.c2s.play.PlayerMoveC2SPacket;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
-import org.joml.Vector3d;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -95,9 +94,7 @@ public class ArrowDodge extends Module {
         new Vec3d(-1, 0, -1)
     );
 
-    private final ProjectileEntitySimulator simulator = new ProjectileEntitySimulator();
-    private final Pool<Vector3d> vec3s = new Pool<>(Vector3d::new);
-    private final List<Vector3d> points = new ArrayList<>();
+    private final List<SimulatedPath> paths = new ArrayList<>();
 
     public ArrowDodge() {
         super(Categories.Combat, "arrow-dodge", "Tries to dodge arrows coming at you.");
@@ -105,8 +102,7 @@ public class ArrowDodge extends Module {
 
     @EventHandler
     private void onTick(TickEvent.Pre event) {
-        vec3s.freeAll(points);
-        points.clear();
+        paths.clear();
 
         for (Entity e : mc.world.getEntities()) {
             if (!(e instanceof ProjectileEntity projectile)) continue;
@@ -116,11 +112,8 @@ public class ArrowDodge extends Module {
                 if (owner != null && owner.getUuid().equals(mc.player.getUuid())) continue;
             }
 
-            if (!simulator.set(projectile)) continue;
-            for (int i = 0; i < (simulationSteps.get() > 0 ? simulationSteps.get() : Integer.MAX_VALUE); i++) {
-                points.add(vec3s.get().set(simulator.pos));
-                if (simulator.tick().shouldStop) break;
-            }
+            SimulatedPath path = ProjectileSimulations.get(projectile, simulationSteps.get());
+            if (path != null) paths.add(path);
         }
 
         if (isValid(Vec3d.ZERO, false)) return; // no need to move
@@ -161,11 +154,15 @@ public class ArrowDodge extends Module {
     private boolean isValid(Vec3d velocity, boolean checkGround) {
         Vec3d playerPos = mc.player.getEntityPos().add(velocity);
         Vec3d headPos = playerPos.add(0, 1, 0);
+        double distance = distanceCheck.get();
+
+        for (SimulatedPath path : paths) {
+            for (int i = 0; i < path.size(); i++) {
+                double x = path.getX(i), y = path.getY(i), z = path.getZ(i);
 
-        for (Vector3d pos : points) {
-            Vec3d projectilePos = new Vec3d(pos.x, pos.y, pos.z);
-            if (projectilePos.isInRange(playerPos, distanceCheck.get())) return false;
-            if (projectilePos.isInRange(headPos, distanceCheck.get())) return false;
+                if (playerPos.squaredDistanceTo(x, y, z) < distance * distance) return false;
+                if (headPos.squaredDistanceTo(x, y, z) < distance * distance) return false;
+            }
         }
 
         if (checkGround) {
@@ -39,6 +39,7 @@ import meteordevelopment.meteorclient.utils.world.BlockUtils;
 import meteordevelopment.meteorclient.utils.world.TickRate;
 import meteordevelopment.orbit.EventHandler;
 import meteordevelopment.orbit.EventPriority;
+import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.component.type.AttributeModifierSlot;
 import net.minecraft.entity.Entity;
@@ -65,6 +66,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 public class CrystalAura extends Module {
     private final SettingGroup sgGeneral = settings.getDefaultGroup();
@@ -919,7 +921,11 @@ public class CrystalAura extends Module {
         AtomicBoolean isSupport = new AtomicBoolean(support.get() != SupportMode.Disabled);
 
         // Find best position to place the crystal on
-        BlockIterator.register((int) Math.ceil(placeRange.get()), (int) Math.ceil(placeRange.get()), (bp, blockState) -> {
+        Predicate<BlockState> candidate = support.get() == SupportMode.Disabled
+            ? blockState -> blockState.isOf(Blocks.BEDROCK) || blockState.isOf(Blocks.OBSIDIAN)
+            : blockState -> blockState.isOf(Blocks.BEDROCK) || blockState.isOf(Blocks.OBSIDIAN) || blockState.isReplaceable();
+
+        BlockIterator.register((int) Math.ceil(placeRange.get()), (int) Math.ceil(placeRange.get()), candidate, (bp, blockState) -> {
             // Check if its bedrock or obsidian and return if isSupport is false
             boolean hasBlock = blockState.isOf(Blocks.BEDROCK) || blockState.isOf(Blocks.OBSIDIAN);
             if (!hasBlock && (!isSupport.get() || !blockState.isReplaceable())) return;
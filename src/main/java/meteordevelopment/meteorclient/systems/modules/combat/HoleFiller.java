@@ -19,13 +19,12 @@ import meteordevelopment.meteorclient.utils.player.InvUtils;
 import meteordevelopment.meteorclient.utils.player.PlayerUtils;
 import meteordevelopment.meteorclient.utils.render.color.Color;
 import meteordevelopment.meteorclient.utils.render.color.SettingColor;
-import meteordevelopment.meteorclient.utils.world.BlockIterator;
 import meteordevelopment.meteorclient.utils.world.BlockUtils;
 import meteordevelopment.meteorclient.utils.world.Dir;
+import meteordevelopment.meteorclient.utils.world.HoleIndex;
 import meteordevelopment.orbit.EventHandler;
 import meteordevelopment.orbit.EventPriority;
 import net.minecraft.block.Block;
-import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.hit.BlockHitResult;
@@ -262,54 +261,26 @@ public class HoleFiller extends Module {
         FindItemResult block = InvUtils.findInHotbar(itemStack -> blocks.get().contains(Block.getBlockFromItem(itemStack.getItem())));
         if (!block.found()) return;
 
-        // Probe for holes
-        BlockIterator.register(searchRadius.get(), searchRadius.get(), (blockPos, blockState) -> {
-            if (!validHole(blockPos)) return;
+        HoleIndex.forEach(mc.player.getBlockPos(), searchRadius.get(), searchRadius.get(), hole -> {
+            if (!validHole(hole.pos())) return;
 
-            int surroundBlocks = 0;
-            Direction air = null;
-
-            for (Direction direction : Direction.values()) {
-                if (direction == Direction.UP) continue;
-
-                BlockState state = mc.world.getBlockState(blockPos.offset(direction));
-
-                if (state.getBlock().getBlastResistance() >= 600) surroundBlocks++;
-                else if (direction == Direction.DOWN) return;
-                else if (validHole(blockPos.offset(direction)) && air == null) {
-                    for (Direction dir : Direction.values()) {
-                        if (dir == direction.getOpposite() || dir == Direction.UP) continue;
-
-                        BlockState state1 = mc.world.getBlockState(blockPos.offset(direction).offset(dir));
-
-                        if (state1.getBlock().getBlastResistance() >= 600) surroundBlocks++;
-                        else return;
-                    }
-
-                    air = direction;
-                }
-
-                if (surroundBlocks == 5 && air == null) holes.add(new Hole(blockPos, (byte) 0));
-                else if (surroundBlocks == 8 && doubles.get() && air != null) {
-                    holes.add(new Hole(blockPos, Dir.get(air)));
-                }
+            if (hole.isDouble()) {
+                if (doubles.get() && validHole(hole.pos().offset(hole.direction()))) holes.add(new Hole(hole.pos(), Dir.get(hole.direction())));
             }
+            else holes.add(new Hole(hole.pos(), (byte) 0));
         });
 
-        BlockIterator.after(() -> {
-            if (timer > 0 || holes.isEmpty()) return;
-
-            // Fill holes!
-            int placedCount = 0;
-            for (Hole hole : holes) {
-                if (placedCount >= blocksPerTick.get()) continue;
-                if (BlockUtils.place(hole.blockPos, block, rotate.get(), 10, swing.get(), true)) placedCount++;
-            }
+        timer--;
+        if (timer > 0 || holes.isEmpty()) return;
 
-            timer = placeDelay.get();
-        });
+        // Fill holes!
+        int placedCount = 0;
+        for (Hole hole : holes) {
+            if (placedCount >= blocksPerTick.get()) break;
+            if (BlockUtils.place(hole.blockPos, block, rotate.get(), 10, swing.get(), true)) placedCount++;
+        }
 
-        timer--;
+        timer = placeDelay.get();
     }
 
     @EventHandler(priority = EventPriority.HIGH)
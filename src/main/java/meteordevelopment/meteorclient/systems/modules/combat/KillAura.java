@@ -60,7 +60,7 @@ public class KillAura extends Module {
         .build()
     );
 
-    private final Setting<List<Item>> weapons = sgGeneral.add(new ItemListSetting.Builder()
+    private final ItemListSetting weapons = sgGeneral.add(new ItemListSetting.Builder()
         .name("selected-weapon-types")
         .description("Which types of weapons to attack with (if you select the diamond sword, any type of sword may be used to attack).")
         .defaultValue(Items.DIAMOND_SWORD, Items.DIAMOND_AXE, Items.TRIDENT)
@@ -317,7 +317,7 @@ public class KillAura extends Module {
             targets.add(mc.targetedEntity);
         } else {
             targets.clear();
-            TargetUtils.getList(targets, this::entityCheck, priority.get(), maxTargets.get());
+            TargetUtils.getList(targets, range.get(), this::entityCheck, priority.get(), maxTargets.get());
         }
 
         if (targets.isEmpty()) {
@@ -475,14 +475,14 @@ public class KillAura extends Module {
         if (shouldShieldBreak()) return stack.getItem() instanceof AxeItem;
         if (attackWhenHolding.get() == AttackItems.All) return true;
 
-        if (weapons.get().contains(Items.DIAMOND_SWORD) && stack.isIn(ItemTags.SWORDS)) return true;
-        if (weapons.get().contains(Items.DIAMOND_AXE) && stack.isIn(ItemTags.AXES)) return true;
-        if (weapons.get().contains(Items.DIAMOND_PICKAXE) && stack.isIn(ItemTags.PICKAXES)) return true;
-        if (weapons.get().contains(Items.DIAMOND_SHOVEL) && stack.isIn(ItemTags.SHOVELS)) return true;
-        if (weapons.get().contains(Items.DIAMOND_HOE) && stack.isIn(ItemTags.HOES)) return true;
-        if (weapons.get().contains(Items.MACE) && stack.getItem() instanceof MaceItem) return true;
-        if (weapons.get().contains(Items.DIAMOND_SPEAR) && stack.isIn(ItemTags.SPEARS)) return true;
-        return weapons.get().contains(Items.TRIDENT) && stack.getItem() instanceof TridentItem;
+        if (weapons.contains(Items.DIAMOND_SWORD) && stack.isIn(ItemTags.SWORDS)) return true;
+        if (weapons.contains(Items.DIAMOND_AXE) && stack.isIn(ItemTags.AXES)) return true;
+        if (weapons.contains(Items.DIAMOND_PICKAXE) && stack.isIn(ItemTags.PICKAXES)) return true;
+        if (weapons.contains(Items.DIAMOND_SHOVEL) && stack.isIn(ItemTags.SHOVELS)) return true;
+        if (weapons.contains(Items.DIAMOND_HOE) && stack.isIn(ItemTags.HOES)) return true;
+        if (weapons.contains(Items.MACE) && stack.getItem() instanceof MaceItem) return true;
+        if (weapons.contains(Items.DIAMOND_SPEAR) && stack.isIn(ItemTags.SPEARS)) return true;
+        return weapons.contains(Items.TRIDENT) && stack.getItem() instanceof TridentItem;
     }
 
     public Entity getTarget() {
@@ -121,7 +121,7 @@ public class InventoryTweaks extends Module {
 
     // Anti drop
 
-    private final Setting<List<Item>> antiDropItems = sgAntiDrop.add(new ItemListSetting.Builder()
+    private final ItemListSetting antiDropItems = sgAntiDrop.add(new ItemListSetting.Builder()
         .name("anti-drop-items")
         .description("Items to prevent dropping. Doesn't work in creative inventory screen.")
         .build()
@@ -142,7 +142,7 @@ public class InventoryTweaks extends Module {
 
     // Auto Drop
 
-    private final Setting<List<Item>> autoDropItems = sgAutoDrop.add(new ItemListSetting.Builder()
+    private final ItemListSetting autoDropItems = sgAutoDrop.add(new ItemListSetting.Builder()
         .name("auto-drop-items")
         .description("Items to drop.")
         .build()
@@ -207,7 +207,7 @@ public class InventoryTweaks extends Module {
         .build()
     );
 
-    private final Setting<List<Item>> dumpItems = sgStealDump.add(new ItemListSetting.Builder()
+    private final ItemListSetting dumpItems = sgStealDump.add(new ItemListSetting.Builder()
         .name("dump-items")
         .description("Items to dump.")
         .build()
@@ -220,7 +220,7 @@ public class InventoryTweaks extends Module {
         .build()
     );
 
-    private final Setting<List<Item>> stealItems = sgStealDump.add(new ItemListSetting.Builder()
+    private final ItemListSetting stealItems = sgStealDump.add(new ItemListSetting.Builder()
         .name("steal-items")
         .description("Items to steal.")
         .build()
@@ -347,7 +347,7 @@ public class InventoryTweaks extends Module {
         for (int i = autoDropExcludeHotbar.get() ? 9 : 0; i < mc.player.getInventory().size(); i++) {
             ItemStack itemStack = mc.player.getInventory().getStack(i);
 
-            if (autoDropItems.get().contains(itemStack.getItem())) {
+            if (autoDropItems.contains(itemStack.getItem())) {
                 if ((!autoDropOnlyFullStacks.get() || itemStack.getCount() == itemStack.getMaxCount()) &&
                     !(autoDropExcludeEquipped.get() && SlotUtils.isArmor(i))) InvUtils.drop().slot(i);
             }
@@ -359,7 +359,7 @@ public class InventoryTweaks extends Module {
     @EventHandler
     private void onDropItems(DropItemsEvent event) {
         if (antiDropOverrideBind.get().isPressed()) return;
-        if (antiDropItems.get().contains(event.itemStack.getItem())) event.cancel();
+        if (antiDropItems.contains(event.itemStack.getItem())) event.cancel();
     }
 
     @EventHandler
@@ -368,7 +368,7 @@ public class InventoryTweaks extends Module {
         if (!(event.entity instanceof ItemFrameEntity)) return;
 
         Item item = mc.player.getStackInHand(event.hand).getItem();
-        if (antiDropItems.get().contains(item)) event.cancel();
+        if (antiDropItems.contains(item)) event.cancel();
     }
 
     @EventHandler
@@ -379,7 +379,7 @@ public class InventoryTweaks extends Module {
         if (!(block instanceof DecoratedPotBlock)) return;
 
         Item item = mc.player.getStackInHand(event.hand).getItem();
-        if (antiDropItems.get().contains(item)) event.cancel();
+        if (antiDropItems.contains(item)) event.cancel();
     }
 
     // XCarry
@@ -417,14 +417,14 @@ public class InventoryTweaks extends Module {
 
             Item item = handler.getSlot(i).getStack().getItem();
             if (steal) {
-                if (stealFilter.get() == ListMode.Whitelist && !stealItems.get().contains(item))
+                if (stealFilter.get() == ListMode.Whitelist && !stealItems.contains(item))
                     continue;
-                if (stealFilter.get() == ListMode.Blacklist && stealItems.get().contains(item))
+                if (stealFilter.get() == ListMode.Blacklist && stealItems.contains(item))
                     continue;
             } else {
-                if (dumpFilter.get() == ListMode.Whitelist && !dumpItems.get().contains(item))
+                if (dumpFilter.get() == ListMode.Whitelist && !dumpItems.contains(item))
                     continue;
-                if (dumpFilter.get() == ListMode.Blacklist && dumpItems.get().contains(item))
+                if (dumpFilter.get() == ListMode.Blacklist && dumpItems.contains(item))
                     continue;
             }
 
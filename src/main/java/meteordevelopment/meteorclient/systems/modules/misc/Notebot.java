@@ -22,6 +22,7 @@ import meteordevelopment.meteorclient.settings.*;
 import meteordevelopment.meteorclient.systems.modules.Categories;
 import meteordevelopment.meteorclient.systems.modules.Module;
 import meteordevelopment.meteorclient.utils.notebot.NotebotUtils;
+import meteordevelopment.meteorclient.utils.notebot.SongLibrary;
 import meteordevelopment.meteorclient.utils.notebot.decoder.SongDecoder;
 import meteordevelopment.meteorclient.utils.notebot.decoder.SongDecoders;
 import meteordevelopment.meteorclient.utils.notebot.instrumentdetect.InstrumentDetectMode;
@@ -50,10 +51,10 @@ import org.jetbrains.annotations.Nullable;
 import org.joml.Vector3d;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -242,6 +243,7 @@ public class Notebot extends Module {
     private PlayingMode playingMode = PlayingMode.None;
     private boolean isPlaying = false;
     private int currentTick = 0;
+    private int noteIndex = 0; // First note of the song that has not been played yet
     private int ticks = 0;
     private WLabel status;
 
@@ -291,6 +293,7 @@ public class Notebot extends Module {
         tuneHits.clear();
         anyNoteblockTuned = false;
         currentTick = 0;
+        noteIndex = 0;
         playingMode = PlayingMode.None;
         isPlaying = false;
         stage = Stage.None;
@@ -448,14 +451,20 @@ public class Notebot extends Module {
                 return;
             }
 
-            if (song.getNotesMap().containsKey(currentTick)) {
-                if (playingMode == PlayingMode.Preview) onTickPreview();
+            // Notes before the first tick, like negative ones, are skipped
+            while (noteIndex < song.getNoteCount() && song.getTick(noteIndex) < currentTick) noteIndex++;
+
+            int start = noteIndex;
+            while (noteIndex < song.getNoteCount() && song.getTick(noteIndex) == currentTick) noteIndex++;
+
+            if (noteIndex > start) {
+                if (playingMode == PlayingMode.Preview) onTickPreview(start, noteIndex);
                 else if (mc.player.getAbilities().creativeMode) {
                     error("You need to be in survival mode.");
                     stop();
                     return;
                 }
-                else onTickPlay();
+                else onTickPlay(start, noteIndex);
             }
 
             currentTick++;
@@ -651,15 +660,8 @@ public class Notebot extends Module {
     }
 
     public void playRandomSong() {
-        File[] files = MeteorClient.FOLDER.toPath().resolve("notebot").toFile().listFiles();
-        if (files == null) return;
-
-        File randomSong = files[ThreadLocalRandom.current().nextInt(files.length)];
-        if (SongDecoders.hasDecoder(randomSong)) {
-            loadSong(randomSong);
-        } else {
-            playRandomSong();
-        }
+        Path randomSong = SongLibrary.getRandomSong();
+        if (randomSong != null) loadSong(randomSong.toFile());
     }
 
     public void disableNotebot() {
@@ -792,8 +794,10 @@ public class Notebot extends Module {
         }
     }
 
-    private void onTickPreview() {
-        for (Note note : song.getNotesMap().get(currentTick)) {
+    private void onTickPreview(int start, int end) {
+        for (int i = start; i < end; i++) {
+            Note note = song.getNote(i);
+
             if (mode.get() == NotebotUtils.NotebotMode.ExactInstruments) {
                 mc.player.playSound(note.getInstrument().getSound().value(), 2f, (float) Math.pow(2.0D, (note.getNoteLevel() - 12) / 12.0D));
             } else {
@@ -887,19 +891,15 @@ public class Notebot extends Module {
         }
     }
 
-    private void onTickPlay() {
-        Collection<Note> notes = song.getNotesMap().get(this.currentTick);
-        if (!notes.isEmpty()) {
+    private void onTickPlay(int start, int end) {
+        if (end > start) {
 
             // Rotate player's head
             if (autoRotate.get()) {
-                Optional<Note> firstNote = notes.stream().findFirst();
-                if (firstNote.isPresent()) {
-                    BlockPos firstPos = noteBlockPositions.get(firstNote.get());
+                BlockPos firstPos = noteBlockPositions.get(song.getNote(start));
 
-                    if (firstPos != null) {
-                        Rotations.rotate(Rotations.getYaw(firstPos), Rotations.getPitch(firstPos));
-                    }
+                if (firstPos != null) {
+                    Rotations.rotate(Rotations.getYaw(firstPos), Rotations.getPitch(firstPos));
                 }
             }
 
@@ -909,8 +909,8 @@ public class Notebot extends Module {
             }
 
             // Play notes
-            for (Note note : notes) {
-                BlockPos pos = noteBlockPositions.get(note);
+            for (int i = start; i < end; i++) {
+                BlockPos pos = noteBlockPositions.get(song.getNote(i));
                 if (pos == null) {
                     return;
                 }
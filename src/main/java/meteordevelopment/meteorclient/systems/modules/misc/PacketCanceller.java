@@ -6,13 +6,14 @@
 package meteordevelopment.meteorclient.systems.modules.misc;
 
 import meteordevelopment.meteorclient.events.packets.PacketEvent;
+import meteordevelopment.meteorclient.events.packets.PacketEvents;
+import meteordevelopment.meteorclient.events.packets.PacketListener;
 import meteordevelopment.meteorclient.settings.PacketListSetting;
 import meteordevelopment.meteorclient.settings.Setting;
 import meteordevelopment.meteorclient.settings.SettingGroup;
 import meteordevelopment.meteorclient.systems.modules.Categories;
 import meteordevelopment.meteorclient.systems.modules.Module;
 import meteordevelopment.meteorclient.utils.network.PacketUtils;
-import meteordevelopment.orbit.EventHandler;
 import meteordevelopment.orbit.EventPriority;
 import net.minecraft.network.packet.Packet;
 
@@ -21,10 +22,15 @@ import java.util.Set;
 public class PacketCanceller extends Module {
     private final SettingGroup sgGeneral = settings.getDefaultGroup();
 
+    // Only called for the selected packets
+    private final PacketListener<PacketEvent.Receive> receiveListener = new PacketListener<>(PacketEvent.Receive.class, EventPriority.HIGHEST + 1, Set.of(), PacketEvent.Receive::cancel);
+    private final PacketListener<PacketEvent.Send> sendListener = new PacketListener<>(PacketEvent.Send.class, EventPriority.HIGHEST + 1, Set.of(), PacketEvent.Send::cancel);
+
     private final Setting<Set<Class<? extends Packet<?>>>> s2cPackets = sgGeneral.add(new PacketListSetting.Builder()
         .name("S2C-packets")
         .description("Server-to-client packets to cancel.")
         .filter(aClass -> PacketUtils.getS2CPackets().contains(aClass))
+        .onChanged(packets -> receiveListener.setPackets(packets))
         .build()
     );
 
@@ -32,6 +38,7 @@ public class PacketCanceller extends Module {
         .name("C2S-packets")
         .description("Client-to-server packets to cancel.")
         .filter(aClass -> PacketUtils.getC2SPackets().contains(aClass))
+        .onChanged(packets -> sendListener.setPackets(packets))
         .build()
     );
 
@@ -40,13 +47,18 @@ public class PacketCanceller extends Module {
         runInMainMenu = true;
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST + 1)
-    private void onReceivePacket(PacketEvent.Receive event) {
-        if (s2cPackets.get().contains(event.packet.getClass())) event.cancel();
+    @Override
+    public void onActivate() {
+        receiveListener.setPackets(s2cPackets.get());
+        sendListener.setPackets(c2sPackets.get());
+
+        PacketEvents.subscribe(receiveListener);
+        PacketEvents.subscribe(sendListener);
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST + 1)
-    private void onSendPacket(PacketEvent.Send event) {
-        if (c2sPackets.get().contains(event.packet.getClass())) event.cancel();
+    @Override
+    public void onDeactivate() {
+        PacketEvents.unsubscribe(receiveListener);
+        PacketEvents.unsubscribe(sendListener);
     }
 }
@@ -6,13 +6,16 @@
 package meteordevelopment.meteorclient.systems.modules.misc;
 
 import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.events.packets.PacketEvent;
+import meteordevelopment.meteorclient.events.packets.PacketEvents;
+import meteordevelopment.meteorclient.events.packets.PacketListener;
 import meteordevelopment.meteorclient.settings.*;
 import meteordevelopment.meteorclient.systems.modules.Categories;
 import meteordevelopment.meteorclient.systems.modules.Module;
+import meteordevelopment.meteorclient.utils.network.PacketCapture;
 import meteordevelopment.meteorclient.utils.network.PacketUtils;
-import meteordevelopment.orbit.EventHandler;
 import meteordevelopment.orbit.EventPriority;
 import net.minecraft.network.packet.Packet;
 import org.jspecify.annotations.NullMarked;
@@ -36,10 +39,18 @@ public class PacketLogger extends Module {
     private final SettingGroup sgGeneral = settings.getDefaultGroup();
     private final SettingGroup sgOutput = settings.createGroup("Output");
 
+    // Only called for the selected packets
+    private final PacketListener<PacketEvent.Receive> receiveListener = new PacketListener<>(PacketEvent.Receive.class, EventPriority.HIGHEST + 1, Set.of(), event -> logPacket("<- S2C", event.packet));
+    private final PacketListener<PacketEvent.Send> sendListener = new PacketListener<>(PacketEvent.Send.class, EventPriority.HIGHEST + 1, Set.of(), event -> logPacket("-> C2S", event.packet));
+
     private final Setting<Set<Class<? extends Packet<?>>>> s2cPackets = sgGeneral.add(new PacketListSetting.Builder()
         .name("S2C-packets")
         .description("Server-to-client packets to log.")
         .filter(aClass -> PacketUtils.getS2CPackets().contains(aClass))
+        .onChanged(packets -> {
+            receiveListener.setPackets(packets);
+            updateCaptureFilter();
+        })
         .build()
     );
 
@@ -47,6 +58,10 @@ public class PacketLogger extends Module {
         .name("C2S-packets")
         .description("Client-to-server packets to log.")
         .filter(aClass -> PacketUtils.getC2SPackets().contains(aClass))
+        .onChanged(packets -> {
+            sendListener.setPackets(packets);
+            updateCaptureFilter();
+        })
         .build()
     );
 
@@ -94,6 +109,13 @@ public class PacketLogger extends Module {
         .build()
     );
 
+    private final Setting<Boolean> binaryCapture = sgOutput.add(new BoolSetting.Builder()
+        .name("binary-capture")
+        .description("Captures the raw bytes of the selected packets to compact binary files in the background. Read them with the packet-capture command.")
+        .defaultValue(false)
+        .build()
+    );
+
     private final Setting<Integer> flushInterval = sgOutput.add(new IntSetting.Builder()
         .name("flush-interval")
         .description("How often to flush logs to disk (in seconds).")
@@ -110,7 +132,7 @@ public class PacketLogger extends Module {
         .defaultValue(10)
         .min(1)
         .sliderMax(100)
-        .visible(logToFile::get)
+        .visible(() -> logToFile.get() || binaryCapture.get())
         .build()
     );
 
@@ -120,16 +142,20 @@ public class PacketLogger extends Module {
         .defaultValue(50)
         .min(1)
         .sliderMax(500)
-        .visible(logToFile::get)
+        .visible(() -> logToFile.get() || binaryCapture.get())
         .build()
     );
 
-    private static final Path PACKET_LOGS_DIR = MeteorClient.FOLDER.toPath().resolve("packet-logs");
+    public static final Path PACKET_LOGS_DIR = MeteorClient.FOLDER.toPath().resolve("packet-logs");
     private static final int LINE_SEPARATOR_BYTES = System.lineSeparator().getBytes(StandardCharsets.UTF_8).length;
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
     private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
     private final Reference2IntOpenHashMap<Class<? extends Packet<?>>> packetCounts = new Reference2IntOpenHashMap<>();
     private @Nullable BufferedWriter fileWriter;
+
+    // Files that are being written, never deleted by the cleanup which also runs on the capture writer thread
+    private volatile @Nullable Path currentLogFile, currentCaptureFile;
+
     private long lastFlushMs;
     private long currentFileSizeBytes;
     private int currentFileIndex;
@@ -160,14 +186,54 @@ public class PacketLogger extends Module {
                 fileWriter = null;
             }
         }
+
+        if (binaryCapture.get()) {
+            try {
+                Files.createDirectories(PACKET_LOGS_DIR);
+
+                PacketCapture.start(
+                    PACKET_LOGS_DIR,
+                    "packets-" + sessionStartTime.format(FILE_NAME_FORMATTER),
+                    maxFileSizeMB.get() * 1024L * 1024L,
+                    new ReferenceOpenHashSet<>(s2cPackets.get()),
+                    new ReferenceOpenHashSet<>(c2sPackets.get()),
+                    path -> {
+                        currentCaptureFile = path;
+                        cleanupOldLogsQuietly();
+                    }
+                );
+            } catch (IOException e) {
+                error("Failed to initialize packet capture: %s", e.getMessage());
+            }
+        }
+
+        receiveListener.setPackets(s2cPackets.get());
+        sendListener.setPackets(c2sPackets.get());
+
+        PacketEvents.subscribe(receiveListener);
+        PacketEvents.subscribe(sendListener);
     }
 
     @Override
     public void onDeactivate() {
+        PacketEvents.unsubscribe(receiveListener);
+        PacketEvents.unsubscribe(sendListener);
+
         if (showSummary.get() && !packetCounts.isEmpty()) {
             logSummary();
         }
         closeFileWriter();
+
+        long[] capture = PacketCapture.stop();
+        currentCaptureFile = null;
+
+        if (capture != null && showSummary.get()) {
+            info("Captured %d packets, dropped %d.", capture[0], capture[1]);
+        }
+    }
+
+    private void updateCaptureFilter() {
+        if (isActive()) PacketCapture.setFilter(new ReferenceOpenHashSet<>(s2cPackets.get()), new ReferenceOpenHashSet<>(c2sPackets.get()));
     }
 
     private void logPacket(String direction, Packet<?> packet) {
@@ -236,8 +302,9 @@ public class PacketLogger extends Module {
         if (sessionStartTime == null) sessionStartTime = LocalDateTime.now();
 
         String fileName = "packets-%s-%d.log".formatted(sessionStartTime.format(FILE_NAME_FORMATTER), currentFileIndex++);
+        currentLogFile = PACKET_LOGS_DIR.resolve(fileName);
         fileWriter = Files.newBufferedWriter(
-            PACKET_LOGS_DIR.resolve(fileName),
+            currentLogFile,
             StandardCharsets.UTF_8,
             StandardOpenOption.CREATE,
             StandardOpenOption.WRITE
@@ -256,19 +323,31 @@ public class PacketLogger extends Module {
             }
             fileWriter = null;
         }
+
+        currentLogFile = null;
+    }
+
+    private void cleanupOldLogsQuietly() {
+        try {
+            cleanupOldLogs();
+        } catch (IOException e) {
+            MeteorClient.LOG.error("Failed to clean up old packet logs", e);
+        }
     }
 
     /**
-     * Cleans up old log files if total size exceeds the maximum limit.
-     * Deletes oldest files first.
+     * Cleans up old log and capture files if total size exceeds the maximum limit.
+     * Deletes oldest files first, the files that are currently written are kept.
      */
     private void cleanupOldLogs() throws IOException {
         long maxBytes = maxTotalLogsMB.get() * 1024L * 1024L;
+        Path logFile = currentLogFile, captureFile = currentCaptureFile;
         List<LogFileEntry> logFiles = new ArrayList<>();
         try (var stream = Files.list(PACKET_LOGS_DIR)) {
             for (Path p : stream.toList()) {
                 String name = p.getFileName().toString();
-                if (!name.startsWith("packets-") || !name.endsWith(".log")) continue;
+                if (!name.startsWith("packets-") || !(name.endsWith(".log") || name.endsWith(PacketCapture.EXTENSION))) continue;
+                if (p.equals(logFile) || p.equals(captureFile)) continue;
                 try {
                     logFiles.add(new LogFileEntry(p, Files.size(p), Files.getLastModifiedTime(p).toMillis()));
                 } catch (IOException ignored) {
@@ -287,14 +366,4 @@ public class PacketLogger extends Module {
 
     private record LogFileEntry(Path path, long size, long lastModified) {
     }
-
-    @EventHandler(priority = EventPriority.HIGHEST + 1)
-    private void onReceivePacket(PacketEvent.Receive event) {
-        if (s2cPackets.get().contains(event.packet.getClass())) logPacket("<- S2C", event.packet);
-    }
-
-    @EventHandler(priority = EventPriority.HIGHEST + 1)
-    private void onSendPacket(PacketEvent.Send event) {
-        if (c2sPackets.get().contains(event.packet.getClass())) logPacket("-> C2S", event.packet);
-    }
 }
@@ -5,66 +5,251 @@
 
 package meteordevelopment.meteorclient.systems.modules.misc.swarm;
 
-import meteordevelopment.meteorclient.utils.player.ChatUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
-public class SwarmConnection extends Thread {
-    public final Socket socket;
-    public String messageToSend;
+/**
+ * One end of a swarm connection, driven by the selector thread of the {@link SwarmHost} or {@link SwarmWorker}.
+ * <p>
+ * Frames are an int length followed by a type byte. Commands queued with {@link #send(String)} from any thread are
+ * batched into as few frames per selector loop as fit {@link #MAX_FRAME_SIZE}, each with a sequence number, the other side acknowledges it and batches
+ * without an acknowledgement are sent again after a while, duplicates are ignored by their sequence number. Heartbeats
+ * are sent when nothing else was, so a connection that stays silent for too long is considered dead.
+ */
+public class SwarmConnection {
+    private static final byte COMMANDS = 0;
+    private static final byte ACK = 1;
+    private static final byte HEARTBEAT = 2;
+
+    private static final long HEARTBEAT_INTERVAL = 5000;
+    private static final long RESEND_TIMEOUT = 10000;
+    private static final long TIMEOUT = 20000;
+
+    private static final int MAX_FRAME_SIZE = 1 << 20;
+    private static final int BATCH_HEADER_SIZE = 1 + 8 + 4;
+
+    public final SocketChannel channel;
+    private final String address;
+
+    private final Queue<byte[]> commands = new ConcurrentLinkedQueue<>();
+
+    // Only touched from the selector thread
+    private final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<>();
+    private final Long2ObjectLinkedOpenHashMap<Batch> unacked = new Long2ObjectLinkedOpenHashMap<>();
+    private ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+    private SelectionKey key;
+
+    private long nextSeq = 1, lastReceivedSeq;
+    private long lastRead, lastWrite;
+
+    public SwarmConnection(SocketChannel channel) {
+        this.channel = channel;
+
+        Socket socket = channel.socket();
+        this.address = getIp(socket.getInetAddress().getHostAddress()) + ":" + socket.getPort();
 
-    public SwarmConnection(Socket socket) {
-        this.socket = socket;
-        start();
+        lastRead = lastWrite = System.currentTimeMillis();
     }
 
-    @Override
-    public void run() {
-        ChatUtils.infoPrefix("Swarm", "New worker connected on %s.", getIp(socket.getInetAddress().getHostAddress()));
+    public void register(Selector selector) throws IOException {
+        key = channel.register(selector, SelectionKey.OP_READ, this);
+    }
 
-        try {
-            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
-
-            while (!isInterrupted()) {
-                if (messageToSend != null) {
-                    try {
-                        out.writeUTF(messageToSend);
-                        out.flush();
-                    } catch (Exception e) {
-                        ChatUtils.errorPrefix("Swarm", "Encountered error when sending command.");
-                        e.printStackTrace();
-                    }
-
-                    messageToSend = null;
+    /**
+     * Queues a command to be sent with the next batch, the selector has to be woken up afterwards.
+     * @throws IllegalArgumentException if the command does not fit into a frame on its own
+     */
+    public void send(String command) {
+        byte[] bytes = command.getBytes(StandardCharsets.UTF_8);
+        if (BATCH_HEADER_SIZE + 4 + bytes.length > MAX_FRAME_SIZE) throw new IllegalArgumentException("Swarm command is too long (" + bytes.length + " bytes)");
+
+        commands.add(bytes);
+    }
+
+    /**
+     * Reads everything available and handles all complete frames.
+     * @return false if the other side closed the connection
+     */
+    public boolean read(long now, Consumer<String> onCommand) throws IOException {
+        int read = channel.read(readBuffer);
+        if (read == -1) return false;
+        if (read > 0) lastRead = now;
+
+        readBuffer.flip();
+
+        while (readBuffer.remaining() >= 4) {
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length < 1 || length > MAX_FRAME_SIZE) throw new IOException("Invalid swarm frame length " + length);
+            if (readBuffer.remaining() < 4 + length) break;
+
+            readBuffer.getInt();
+            int end = readBuffer.position() + length;
+
+            handle(end, onCommand);
+            readBuffer.position(end);
+        }
+
+        readBuffer.compact();
+
+        // Make room for a frame that is bigger than the buffer
+        if (readBuffer.position() >= 4) {
+            int size = 4 + readBuffer.getInt(0);
+
+            if (size > readBuffer.capacity()) {
+                ByteBuffer buffer = ByteBuffer.allocate(size);
+                readBuffer.flip();
+                buffer.put(readBuffer);
+                readBuffer = buffer;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Handles the frame that ends at {@code end}, nothing in the frame is trusted to fit into it.
+     * @throws IOException if the frame is malformed, the connection should be dropped
+     */
+    private void handle(int end, Consumer<String> onCommand) throws IOException {
+        byte type = readBuffer.get();
+
+        switch (type) {
+            case COMMANDS -> {
+                require(end, 8 + 4);
+                long seq = readBuffer.getLong();
+                int count = readBuffer.getInt();
+
+                // Every command takes at least its length prefix
+                if (count < 0 || count > (end - readBuffer.position()) / 4) throw new IOException("Invalid swarm command count " + count);
+
+                // Batches that were sent again because the acknowledgement got lost
+                boolean duplicate = seq <= lastReceivedSeq;
+
+                for (int i = 0; i < count; i++) {
+                    require(end, 4);
+                    int length = readBuffer.getInt();
+                    if (length < 0 || length > end - readBuffer.position()) throw new IOException("Invalid swarm command length " + length);
+
+                    byte[] bytes = new byte[length];
+                    readBuffer.get(bytes);
+
+                    if (!duplicate) onCommand.accept(new String(bytes, StandardCharsets.UTF_8));
                 }
+
+                if (!duplicate) lastReceivedSeq = seq;
+
+                ByteBuffer ack = ByteBuffer.allocate(4 + 1 + 8);
+                ack.putInt(1 + 8).put(ACK).putLong(seq).flip();
+                writeQueue.add(ack);
             }
+            case ACK -> {
+                require(end, 8);
+                long seq = readBuffer.getLong();
 
-            out.close();
-        } catch (IOException e) {
-            ChatUtils.infoPrefix("Swarm", "Error creating a connection with %s on port %s.", getIp(socket.getInetAddress().getHostAddress()), socket.getPort());
-            e.printStackTrace();
+                // Batches are acknowledged in order
+                while (!unacked.isEmpty() && unacked.firstLongKey() <= seq) unacked.removeFirst();
+            }
+            case HEARTBEAT -> {}
+            default -> throw new IOException("Unknown swarm frame type " + type);
         }
     }
 
-    public void disconnect() {
+    private void require(int end, int bytes) throws IOException {
+        if (end - readBuffer.position() < bytes) throw new IOException("Truncated swarm frame");
+    }
+
+    /**
+     * Batches the queued commands, sends heartbeats and batches that were not acknowledged, and writes as much as the
+     * socket accepts without blocking.
+     */
+    public void flush(long now) throws IOException {
+        while (!commands.isEmpty()) {
+            List<byte[]> batch = new ArrayList<>();
+            int size = BATCH_HEADER_SIZE;
+
+            // The next batch starts once a command would not fit anymore, send makes sure every command fits on its own
+            for (byte[] bytes; (bytes = commands.peek()) != null && size + 4 + bytes.length <= MAX_FRAME_SIZE;) {
+                commands.poll();
+
+                batch.add(bytes);
+                size += 4 + bytes.length;
+            }
+
+            ByteBuffer frame = ByteBuffer.allocate(4 + size);
+            frame.putInt(size).put(COMMANDS).putLong(nextSeq).putInt(batch.size());
+            for (byte[] bytes : batch) frame.putInt(bytes.length).put(bytes);
+            frame.flip();
+
+            unacked.put(nextSeq++, new Batch(frame, now));
+            writeQueue.add(frame.duplicate());
+        }
+
+        for (Batch batch : unacked.values()) {
+            if (now - batch.sent >= RESEND_TIMEOUT) {
+                batch.sent = now;
+                writeQueue.add(batch.frame.duplicate());
+            }
+        }
+
+        if (writeQueue.isEmpty() && now - lastWrite >= HEARTBEAT_INTERVAL) {
+            ByteBuffer heartbeat = ByteBuffer.allocate(4 + 1);
+            heartbeat.putInt(1).put(HEARTBEAT).flip();
+            writeQueue.add(heartbeat);
+        }
+
+        while (!writeQueue.isEmpty()) {
+            ByteBuffer buffer = writeQueue.peek();
+
+            channel.write(buffer);
+            if (buffer.hasRemaining()) break;
+
+            writeQueue.poll();
+            lastWrite = now;
+        }
+
+        key.interestOps(writeQueue.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    public boolean isTimedOut(long now) {
+        return now - lastRead > TIMEOUT;
+    }
+
+    public void close() {
         try {
-            socket.close();
+            channel.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
-
-        ChatUtils.infoPrefix("Swarm", "Worker disconnected on ip: %s.", socket.getInetAddress().getHostAddress());
-
-        interrupt();
     }
 
     public String getConnection() {
-        return getIp(socket.getInetAddress().getHostAddress()) + ":" + socket.getPort();
+        return address;
     }
 
-    private String getIp(String ip) {
+    private static String getIp(String ip) {
         return ip.equals("127.0.0.1") ? "localhost" : ip;
     }
+
+    private static class Batch {
+        private final ByteBuffer frame;
+        private long sent;
+
+        public Batch(ByteBuffer frame, long sent) {
+            this.frame = frame;
+            this.sent = sent;
+        }
+    }
 }
@@ -5,21 +5,40 @@
 
 package meteordevelopment.meteorclient.systems.modules.misc.swarm;
 
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import meteordevelopment.meteorclient.utils.player.ChatUtils;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * Serves every worker connection from a single selector thread.
+ */
 public class SwarmHost extends Thread {
-    private ServerSocket socket;
+    private ServerSocketChannel socket;
+    private Selector selector;
+    private final int port;
+
+    // Written by the selector thread, read by the main thread, guarded by itself
     private final SwarmConnection[] clientConnections = new SwarmConnection[50];
 
     public SwarmHost(int port) {
+        this.port = port;
+
         try {
-            socket = new ServerSocket(port);
+            selector = Selector.open();
+
+            socket = ServerSocketChannel.open();
+            socket.bind(new InetSocketAddress(port));
+            socket.configureBlocking(false);
+            socket.register(selector, SelectionKey.OP_ACCEPT);
         } catch (IOException e) {
+            closeQuietly();
             socket = null;
             ChatUtils.errorPrefix("Swarm", "Couldn't start a server on port %s.", port);
             e.printStackTrace();
@@ -30,63 +49,145 @@ public class SwarmHost extends Thread {
 
     @Override
     public void run() {
-        ChatUtils.infoPrefix("Swarm", "Listening for incoming connections on port %s.", socket.getLocalPort());
-
-        while (!isInterrupted()) {
-            try {
-                Socket connection = socket.accept();
-                assignConnectionToSubServer(connection);
-            } catch (IOException e) {
-                ChatUtils.errorPrefix("Swarm", "Error making a connection to worker.");
-                e.printStackTrace();
+        ChatUtils.infoPrefix("Swarm", "Listening for incoming connections on port %s.", port);
+
+        try {
+            while (!isInterrupted()) {
+                selector.select(1000);
+                if (isInterrupted()) break;
+
+                long now = System.currentTimeMillis();
+
+                for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+                    SelectionKey key = it.next();
+                    it.remove();
+
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) accept();
+                    else if (key.isReadable() && key.attachment() instanceof SwarmConnection connection) {
+                        try {
+                            if (!connection.read(now, command -> {})) remove(connection);
+                        } catch (IOException e) {
+                            remove(connection);
+                        }
+                    }
+                }
+
+                // Sends the queued commands as one batch per worker, heartbeats and anything that did not fit before
+                synchronized (clientConnections) {
+                    for (SwarmConnection connection : clientConnections) {
+                        if (connection == null) continue;
+
+                        if (connection.isTimedOut(now)) {
+                            remove(connection);
+                            continue;
+                        }
+
+                        try {
+                            connection.flush(now);
+                        } catch (IOException e) {
+                            remove(connection);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            ChatUtils.errorPrefix("Swarm", "Error in the swarm server.");
+            e.printStackTrace();
+        } finally {
+            synchronized (clientConnections) {
+                for (int i = 0; i < clientConnections.length; i++) {
+                    if (clientConnections[i] != null) {
+                        clientConnections[i].close();
+                        clientConnections[i] = null;
+                    }
+                }
             }
+
+            closeQuietly();
         }
     }
 
-    public void assignConnectionToSubServer(Socket connection) {
-        for (int i = 0; i < clientConnections.length; i++) {
-            if (this.clientConnections[i] == null) {
-                this.clientConnections[i] = new SwarmConnection(connection);
-                break;
+    private void accept() throws IOException {
+        SocketChannel channel = socket.accept();
+        if (channel == null) return;
+
+        synchronized (clientConnections) {
+            for (int i = 0; i < clientConnections.length; i++) {
+                if (clientConnections[i] == null) {
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+                    SwarmConnection connection = new SwarmConnection(channel);
+                    connection.register(selector);
+                    clientConnections[i] = connection;
+
+                    ChatUtils.infoPrefix("Swarm", "New worker connected on %s.", connection.getConnection());
+                    return;
+                }
             }
         }
+
+        ChatUtils.warningPrefix("Swarm", "Rejected a worker, all %s connections are in use.", clientConnections.length);
+        channel.close();
     }
 
-    public void disconnect() {
-        for (SwarmConnection connection : clientConnections) {
-            if (connection != null) connection.disconnect();
+    private void remove(SwarmConnection connection) {
+        synchronized (clientConnections) {
+            for (int i = 0; i < clientConnections.length; i++) {
+                if (clientConnections[i] == connection) clientConnections[i] = null;
+            }
         }
 
+        connection.close();
+
+        ChatUtils.infoPrefix("Swarm", "Worker disconnected on ip: %s.", connection.getConnection());
+    }
+
+    private void closeQuietly() {
         try {
-            socket.close();
+            if (socket != null) socket.close();
+            if (selector != null) selector.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
+    }
 
-        ChatUtils.infoPrefix("Swarm", "Server closed on port %s.", socket.getLocalPort());
-
+    public void disconnect() {
+        // The selector thread closes all connections once it notices the interrupt
         interrupt();
+        if (selector != null) selector.wakeup();
+
+        ChatUtils.infoPrefix("Swarm", "Server closed on port %s.", port);
     }
 
     public void sendMessage(String s) {
-        MeteorExecutor.execute(() -> {
+        synchronized (clientConnections) {
             for (SwarmConnection connection : clientConnections) {
-                if (connection != null) {
-                    connection.messageToSend = s;
-                }
+                if (connection != null) connection.send(s);
             }
-        });
+        }
+
+        if (selector != null) selector.wakeup();
     }
 
+    /**
+     * @return a copy of the connection slots, empty slots are null
+     */
     public SwarmConnection[] getConnections() {
-        return clientConnections;
+        synchronized (clientConnections) {
+            return clientConnections.clone();
+        }
     }
 
     public int getConnectionCount() {
         int count = 0;
 
-        for (SwarmConnection clientConnection : clientConnections) {
-            if (clientConnection != null) count++;
+        synchronized (clientConnections) {
+            for (SwarmConnection clientConnection : clientConnections) {
+                if (clientConnection != null) count++;
+            }
         }
 
         return count;
@@ -10,69 +10,106 @@ import meteordevelopment.meteorclient.pathing.PathManagers;
 import meteordevelopment.meteorclient.utils.player.ChatUtils;
 import net.minecraft.block.Block;
 
-import java.io.DataInputStream;
 import java.io.IOException;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
 
 public class SwarmWorker extends Thread {
-    private Socket socket;
+    private Selector selector;
+    private SwarmConnection connection;
     public Block target;
 
     public SwarmWorker(String ip, int port) {
+        SocketChannel channel = null;
+
         try {
-            socket = new Socket(ip, port);
+            channel = SocketChannel.open(new InetSocketAddress(ip, port));
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            selector = Selector.open();
+            connection = new SwarmConnection(channel);
+            connection.register(selector);
         } catch (Exception e) {
-            socket = null;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {}
+            }
+
+            connection = null;
             ChatUtils.warningPrefix("Swarm", "Server not found at %s on port %s.", ip, port);
             e.printStackTrace();
         }
 
-        if (socket != null) start();
+        if (connection != null) start();
     }
 
     @Override
     public void run() {
-        ChatUtils.infoPrefix("Swarm", "Connected to Swarm host on at %s on port %s.", getIp(socket.getInetAddress().getHostAddress()), socket.getPort());
+        ChatUtils.infoPrefix("Swarm", "Connected to Swarm host on at %s.", connection.getConnection());
 
         try {
-            DataInputStream in = new DataInputStream(socket.getInputStream());
-
-
             while (!isInterrupted()) {
-                String read = in.readUTF();
+                selector.select(1000);
+                if (isInterrupted()) break;
 
-                if (read.startsWith("swarm")) {
-                    ChatUtils.infoPrefix("Swarm", "Received command: (highlight)%s", read);
+                long now = System.currentTimeMillis();
 
-                    try {
-                        Commands.dispatch(read);
-                    } catch (Exception e) {
-                        ChatUtils.error("Error fetching command.");
-                        e.printStackTrace();
-                    }
+                if (!selector.selectedKeys().isEmpty()) {
+                    selector.selectedKeys().clear();
+                    if (!connection.read(now, this::onCommand)) throw new IOException("Connection closed by host.");
                 }
-            }
 
-            in.close();
+                if (connection.isTimedOut(now)) throw new IOException("Connection to host timed out.");
+
+                // Sends acknowledgements and heartbeats
+                connection.flush(now);
+            }
         } catch (IOException e) {
-            ChatUtils.errorPrefix("Swarm", "Error in connection to host.");
-            e.printStackTrace();
-            disconnect();
+            if (!isInterrupted()) {
+                ChatUtils.errorPrefix("Swarm", "Error in connection to host.");
+                e.printStackTrace();
+                disconnect();
+            }
+        } finally {
+            connection.close();
+
+            try {
+                selector.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
     }
 
+    private void onCommand(String command) {
+        if (!command.startsWith("swarm")) return;
+
+        ChatUtils.infoPrefix("Swarm", "Received command: (highlight)%s", command);
+
+        mc.execute(() -> {
+            try {
+                Commands.dispatch(command);
+            } catch (Exception e) {
+                ChatUtils.error("Error fetching command.");
+                e.printStackTrace();
+            }
+        });
+    }
+
     public void disconnect() {
-        try {
-            socket.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // The selector thread closes the connection once it notices the interrupt
+        interrupt();
+        if (selector != null) selector.wakeup();
 
         PathManagers.get().stop();
 
         ChatUtils.infoPrefix("Swarm", "Disconnected from host.");
-
-        interrupt();
     }
 
     public void tick() {
@@ -85,10 +122,6 @@ public class SwarmWorker extends Thread {
     }
 
     public String getConnection() {
-        return getIp(socket.getInetAddress().getHostAddress()) + ":" + socket.getPort();
-    }
-
-    private String getIp(String ip) {
-        return ip.equals("127.0.0.1") ? "localhost" : ip;
+        return connection.getConnection();
     }
 }
@@ -40,7 +40,7 @@ public class AutoEat extends Module {
     private final SettingGroup sgThreshold = settings.createGroup("Threshold");
 
     // General
-    public final Setting<List<Item>> blacklist = sgGeneral.add(new ItemListSetting.Builder()
+    public final ItemListSetting blacklist = sgGeneral.add(new ItemListSetting.Builder()
         .name("blacklist")
         .description("Which items to not eat.")
         .defaultValue(
@@ -283,7 +283,7 @@ public class AutoEat extends Module {
         // prefer offhand
         Item offHandItem = mc.player.getOffHandStack().getItem();
         FoodComponent offHandFood = offHandItem.getComponents().get(DataComponentTypes.FOOD);
-        if (offHandFood != null && !blacklist.get().contains(offHandItem)) return SlotUtils.OFFHAND;
+        if (offHandFood != null && !blacklist.contains(offHandItem)) return SlotUtils.OFFHAND;
 
         // if offhand empty, prefer best in hotbar
         int slot = findBestFood(SlotUtils.HOTBAR_START, SlotUtils.HOTBAR_END);
@@ -309,7 +309,7 @@ public class AutoEat extends Module {
 
             // Skip if item is in blacklist
             Item item = stack.getItem();
-            if (blacklist.get().contains(item)) continue;
+            if (blacklist.contains(item)) continue;
 
             // Check if hunger value is better
             float hunger = prioritise.get().value(food);
@@ -14,12 +14,10 @@ import meteordevelopment.meteorclient.systems.modules.combat.AutoTotem;
 import meteordevelopment.meteorclient.utils.player.InvUtils;
 import meteordevelopment.meteorclient.utils.player.SlotUtils;
 import meteordevelopment.orbit.EventHandler;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 
 import java.util.Arrays;
-import java.util.List;
 
 public class AutoReplenish extends Module {
     private final SettingGroup sgGeneral = settings.getDefaultGroup();
@@ -70,7 +68,7 @@ public class AutoReplenish extends Module {
         .build()
     );
 
-    private final Setting<List<Item>> excludedItems = sgGeneral.add(new ItemListSetting.Builder()
+    private final ItemListSetting excludedItems = sgGeneral.add(new ItemListSetting.Builder()
         .name("excluded-items")
         .description("Items that won't be replenished.")
         .build()
@@ -132,8 +130,8 @@ public class AutoReplenish extends Module {
 
         if (slot == 9) slot = SlotUtils.OFFHAND;
         
-        if (excludedItems.get().contains(stack.getItem())) return;
-        if (excludedItems.get().contains(prevStack.getItem())) return;
+        if (excludedItems.contains(stack.getItem())) return;
+        if (excludedItems.contains(prevStack.getItem())) return;
 
         int fromSlot = -1;
 
@@ -9,11 +9,8 @@ import meteordevelopment.meteorclient.settings.*;
 import meteordevelopment.meteorclient.systems.modules.Categories;
 import meteordevelopment.meteorclient.systems.modules.Module;
 import net.minecraft.item.BlockItem;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 
-import java.util.List;
-
 public class FastUse extends Module {
     public enum Mode {
         All,
@@ -29,7 +26,7 @@ public class FastUse extends Module {
         .build()
     );
 
-    private final Setting<List<Item>> items = sgGeneral.add(new ItemListSetting.Builder()
+    private final ItemListSetting items = sgGeneral.add(new ItemListSetting.Builder()
         .name("items")
         .description("Which items should fast place work on in \"Some\" mode.")
         .visible(() -> mode.get() == Mode.Some)
@@ -65,6 +62,6 @@ public class FastUse extends Module {
     }
 
     private boolean shouldWorkSome(ItemStack itemStack) {
-        return (blocks.get() && itemStack.getItem() instanceof BlockItem) || items.get().contains(itemStack.getItem());
+        return (blocks.get() && itemStack.getItem() instanceof BlockItem) || items.contains(itemStack.getItem());
     }
 }
@@ -29,6 +29,7 @@ import net.minecraft.entity.projectile.thrown.EnderPearlEntity;
 import org.jetbrains.annotations.Nullable;
 import org.joml.Vector3d;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -114,7 +115,7 @@ public class EntityOwner extends Module {
         // Makes an HTTP request to Mojang API
         MeteorExecutor.execute(() -> {
             if (isActive()) {
-                ProfileResponse res = Http.get("https://sessionserver.mojang.com/session/minecraft/profile/" + uuid.toString().replace("-", "")).sendJson(ProfileResponse.class);
+                ProfileResponse res = Http.get("https://sessionserver.mojang.com/session/minecraft/profile/" + uuid.toString().replace("-", "")).cache(Duration.ofHours(1)).sendJson(ProfileResponse.class);
 
                 if (isActive()) {
                     if (res == null) uuidToName.put(uuid, "Failed to get name");
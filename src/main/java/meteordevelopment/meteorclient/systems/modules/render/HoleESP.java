@@ -17,14 +17,13 @@ import meteordevelopment.meteorclient.systems.modules.Modules;
 import meteordevelopment.meteorclient.utils.misc.Pool;
 import meteordevelopment.meteorclient.utils.render.color.Color;
 import meteordevelopment.meteorclient.utils.render.color.SettingColor;
-import meteordevelopment.meteorclient.utils.world.BlockIterator;
 import meteordevelopment.meteorclient.utils.world.Dir;
+import meteordevelopment.meteorclient.utils.world.HoleIndex;
 import meteordevelopment.orbit.EventHandler;
 import net.minecraft.block.Block;
 import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkSectionPos;
-import net.minecraft.util.math.Direction;
 import net.minecraft.world.chunk.WorldChunk;
 
 import java.util.ArrayList;
@@ -171,44 +170,15 @@ public class HoleESP extends Module {
         holePool.freeAll(holes);
         holes.clear();
 
-        // Probe for holes
-        BlockIterator.register(horizontalRadius.get(), verticalRadius.get(), (blockPos, blockState) -> {
-            if (!validHole(blockPos)) return;
+        HoleIndex.forEach(mc.player.getBlockPos(), horizontalRadius.get(), verticalRadius.get(), hole -> {
+            if (!validHole(hole.pos())) return;
 
-            int bedrock = 0, obsidian = 0;
-            Direction air = null;
-
-            for (Direction direction : Direction.values()) {
-                if (direction == Direction.UP) continue;
-                BlockPos offsetPos = blockPos.offset(direction);
-                Block block = mc.world.getBlockState(offsetPos).getBlock();
-                boolean breakable = block.getHardness() >= 0;
-
-                if (((AbstractBlockAccessor) block).meteor$isCollidable() && !breakable) bedrock++;
-                else if (block.getBlastResistance() >= 600 && breakable) obsidian++;
-                else if (direction == Direction.DOWN) return;
-                else if (doubles.get() && air == null && validHole(offsetPos)) {
-                    for (Direction dir : Direction.values()) {
-                        if (dir == direction.getOpposite() || dir == Direction.UP) continue;
-
-                        block = mc.world.getBlockState(offsetPos.offset(dir)).getBlock();
-                        breakable = block.getHardness() >= 0;
-
-                        if (((AbstractBlockAccessor) block).meteor$isCollidable() && !breakable) bedrock++;
-                        else if (block.getBlastResistance() >= 600 && breakable) obsidian++;
-                        else return;
-                    }
-
-                    air = direction;
+            if (hole.isDouble()) {
+                if (doubles.get() && validHole(hole.pos().offset(hole.direction()))) {
+                    holes.add(holePool.get().set(hole.pos(), hole.type(), Dir.get(hole.direction())));
                 }
             }
-
-            if (obsidian + bedrock == 5 && air == null) {
-                holes.add(holePool.get().set(blockPos, obsidian == 5 ? Hole.Type.Obsidian : (bedrock == 5 ? Hole.Type.Bedrock : Hole.Type.Mixed), NULL));
-            }
-            else if (obsidian + bedrock == 8 && doubles.get() && air != null) {
-                holes.add(holePool.get().set(blockPos, obsidian == 8 ? Hole.Type.Obsidian : (bedrock == 8 ? Hole.Type.Bedrock : Hole.Type.Mixed), Dir.get(air)));
-            }
+            else holes.add(holePool.get().set(hole.pos(), hole.type(), NULL));
         });
     }
 
@@ -236,9 +206,9 @@ public class HoleESP extends Module {
     private static class Hole {
         public BlockPos.Mutable blockPos = new BlockPos.Mutable();
         public byte exclude;
-        public Type type;
+        public HoleIndex.Type type;
 
-        public Hole set(BlockPos blockPos, Type type, byte exclude) {
+        public Hole set(BlockPos blockPos, HoleIndex.Type type, byte exclude) {
             this.blockPos.set(blockPos);
             this.exclude = exclude;
             this.type = type;
@@ -307,11 +277,5 @@ public class HoleESP extends Module {
                 bottom.a = originalBottompA;
             }
         }
-
-        public enum Type {
-            Bedrock,
-            Obsidian,
-            Mixed
-        }
     }
 }
@@ -315,7 +315,7 @@ public class NoRender extends Module {
         .build()
     );
 
-    private final Setting<List<Block>> blockEntities = sgWorld.add(new BlockListSetting.Builder()
+    private final BlockListSetting blockEntities = sgWorld.add(new BlockListSetting.Builder()
         .name("block-entities")
         .description("Block entities (chest, shulker block, etc.) to not render.")
         .filter(block -> block instanceof BlockEntityProvider && !(block instanceof AbstractBannerBlock))
@@ -565,7 +565,7 @@ public class NoRender extends Module {
 
     @EventHandler
     private void onRenderBlockEntity(RenderBlockEntityEvent event) {
-        if (blockEntities.get().contains(event.blockEntityState.blockState.getBlock())) event.cancel();
+        if (blockEntities.contains(event.blockEntityState.blockState.getBlock())) event.cancel();
     }
 
     // Entity
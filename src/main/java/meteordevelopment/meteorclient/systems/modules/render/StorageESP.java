@@ -18,7 +18,6 @@ import meteordevelopment.meteorclient.renderer.ShapeMode;
 import meteordevelopment.meteorclient.settings.*;
 import meteordevelopment.meteorclient.systems.modules.Categories;
 import meteordevelopment.meteorclient.systems.modules.Module;
-import meteordevelopment.meteorclient.utils.Utils;
 import meteordevelopment.meteorclient.utils.player.PlayerUtils;
 import meteordevelopment.meteorclient.utils.render.MeshBuilderVertexConsumerProvider;
 import meteordevelopment.meteorclient.utils.render.RenderUtils;
@@ -27,6 +26,7 @@ import meteordevelopment.meteorclient.utils.render.color.Color;
 import meteordevelopment.meteorclient.utils.render.color.SettingColor;
 import meteordevelopment.meteorclient.utils.render.postprocess.PostProcessShader;
 import meteordevelopment.meteorclient.utils.render.postprocess.PostProcessShaders;
+import meteordevelopment.meteorclient.utils.world.BlockEntityIndex;
 import meteordevelopment.meteorclient.utils.world.Dir;
 import meteordevelopment.orbit.EventHandler;
 import net.minecraft.block.BlockState;
@@ -245,71 +245,75 @@ public class StorageESP extends Module {
     private void onRender(Render3DEvent event) {
         count = 0;
 
-        for (BlockEntity blockEntity : Utils.blockEntities()) {
-            // Check if the block has been interacted with (opened)
-            boolean interacted = interactedBlocks.contains(blockEntity.getPos());
-            if (interacted && hideOpened.get()) continue;  // Skip rendering if "hideOpened" is true
+        // Tracers point to storage blocks behind the camera too
+        if (tracers.get()) BlockEntityIndex.forEach(storageBlocks.get(), blockEntity -> render(event, blockEntity));
+        else BlockEntityIndex.forEachVisible(storageBlocks.get(), blockEntity -> render(event, blockEntity));
 
-            getBlockEntityColor(blockEntity);
+        if (mode.get() == Mode.Shader && count > 0) {
+            MeshRenderer.begin()
+                .attachments(PostProcessShaders.STORAGE_OUTLINE.framebuffer)
+                .clearColor(Color.CLEAR)
+                .pipeline(MeteorRenderPipelines.WORLD_COLORED)
+                .mesh(mesh, event.matrices)
+                .end();
 
-            // Set the color to openedColor if its alpha is greater than 0
-            if (interacted && openedColor.get().a > 0) {
-                // openedColor takes precedence.
-                lineColor.set(openedColor.get());
-                sideColor.set(openedColor.get());
-                sideColor.a = fillOpacity.get(); // Maintain fill opacity setting for consistency
-            }
+            PostProcessShaders.STORAGE_OUTLINE.render();
+        }
+    }
 
-            if (render) {
-                double dist = PlayerUtils.squaredDistanceTo(blockEntity.getPos().getX() + 0.5, blockEntity.getPos().getY() + 0.5, blockEntity.getPos().getZ() + 0.5);
-                double a = 1;
-                if (dist <= fadeDistance.get() * fadeDistance.get()) a = dist / (fadeDistance.get() * fadeDistance.get());
 
-                if (a < 0.075) continue;
+    private void render(Render3DEvent event, BlockEntity blockEntity) {
+        // Check if the block has been interacted with (opened)
+        boolean interacted = interactedBlocks.contains(blockEntity.getPos());
+        if (interacted && hideOpened.get()) return;  // Skip rendering if "hideOpened" is true
 
-                // Only start a mesh when there's something to render
-                if (count == 0 && mode.get() == Mode.Shader) {
-                    mesh.begin();
-                }
+        getBlockEntityColor(blockEntity);
 
-                int prevLineA = lineColor.a;
-                int prevSideA = sideColor.a;
+        // Set the color to openedColor if its alpha is greater than 0
+        if (interacted && openedColor.get().a > 0) {
+            // openedColor takes precedence.
+            lineColor.set(openedColor.get());
+            sideColor.set(openedColor.get());
+            sideColor.a = fillOpacity.get(); // Maintain fill opacity setting for consistency
+        }
 
-                lineColor.a *= a;
-                sideColor.a *= a;
+        if (render) {
+            double dist = PlayerUtils.squaredDistanceTo(blockEntity.getPos().getX() + 0.5, blockEntity.getPos().getY() + 0.5, blockEntity.getPos().getZ() + 0.5);
+            double a = 1;
+            if (dist <= fadeDistance.get() * fadeDistance.get()) a = dist / (fadeDistance.get() * fadeDistance.get());
 
-                if (tracers.get()) {
-                    event.renderer.line(RenderUtils.center.x, RenderUtils.center.y, RenderUtils.center.z, blockEntity.getPos().getX() + 0.5, blockEntity.getPos().getY() + 0.5, blockEntity.getPos().getZ() + 0.5, lineColor);
-                }
+            if (a < 0.075) return;
 
-                if (mode.get() == Mode.Box) {
-                    renderBox(event, blockEntity);
-                }
+            // Only start a mesh when there's something to render
+            if (count == 0 && mode.get() == Mode.Shader) {
+                mesh.begin();
+            }
 
-                if (mode.get() == Mode.Shader) {
-                    renderShader(event, blockEntity);
-                }
+            int prevLineA = lineColor.a;
+            int prevSideA = sideColor.a;
 
-                lineColor.a = prevLineA;
-                sideColor.a = prevSideA;
+            lineColor.a *= a;
+            sideColor.a *= a;
 
-                count++;
+            if (tracers.get()) {
+                event.renderer.line(RenderUtils.center.x, RenderUtils.center.y, RenderUtils.center.z, blockEntity.getPos().getX() + 0.5, blockEntity.getPos().getY() + 0.5, blockEntity.getPos().getZ() + 0.5, lineColor);
             }
-        }
 
-        if (mode.get() == Mode.Shader && count > 0) {
-            MeshRenderer.begin()
-                .attachments(PostProcessShaders.STORAGE_OUTLINE.framebuffer)
-                .clearColor(Color.CLEAR)
-                .pipeline(MeteorRenderPipelines.WORLD_COLORED)
-                .mesh(mesh, event.matrices)
-                .end();
+            if (mode.get() == Mode.Box) {
+                renderBox(event, blockEntity);
+            }
 
-            PostProcessShaders.STORAGE_OUTLINE.render();
+            if (mode.get() == Mode.Shader) {
+                renderShader(event, blockEntity);
+            }
+
+            lineColor.a = prevLineA;
+            sideColor.a = prevSideA;
+
+            count++;
         }
     }
 
-
     private void renderBox(Render3DEvent event, BlockEntity blockEntity) {
         double x1 = blockEntity.getPos().getX();
         double y1 = blockEntity.getPos().getY();
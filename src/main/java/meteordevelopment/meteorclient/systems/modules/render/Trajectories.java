@@ -12,6 +12,8 @@ import meteordevelopment.meteorclient.systems.modules.Categories;
 import meteordevelopment.meteorclient.systems.modules.Module;
 import meteordevelopment.meteorclient.utils.Utils;
 import meteordevelopment.meteorclient.utils.entity.simulator.ProjectileEntitySimulator;
+import meteordevelopment.meteorclient.utils.entity.simulator.ProjectileSimulations;
+import meteordevelopment.meteorclient.utils.entity.simulator.SimulatedPath;
 import meteordevelopment.meteorclient.utils.entity.simulator.SimulationStep;
 import meteordevelopment.meteorclient.utils.misc.Pool;
 import meteordevelopment.meteorclient.utils.render.color.SettingColor;
@@ -41,7 +43,7 @@ public class Trajectories extends Module {
 
     // General
 
-    private final Setting<List<Item>> items = sgGeneral.add(new ItemListSetting.Builder()
+    private final ItemListSetting items = sgGeneral.add(new ItemListSetting.Builder()
         .name("items")
         .description("Items to display trajectories for.")
         .defaultValue(getDefaultItems())
@@ -192,9 +194,9 @@ public class Trajectories extends Module {
 
         // Get item
         ItemStack itemStack = player.getMainHandStack();
-        if (!items.get().contains(itemStack.getItem())) {
+        if (!items.contains(itemStack.getItem())) {
             itemStack = player.getOffHandStack();
-            if (!items.get().contains(itemStack.getItem())) return;
+            if (!items.contains(itemStack.getItem())) return;
         }
 
         // Calculate paths
@@ -213,14 +215,6 @@ public class Trajectories extends Module {
         }
     }
 
-    private void calculateFiredPath(Entity entity, double tickDelta) {
-        for (Path path : paths) path.clear();
-
-        // Calculate paths
-        if (!simulator.set(entity)) return;
-        getEmptyPath().setStart(entity, tickDelta).calculate();
-    }
-
     @EventHandler
     private void onRender(Render3DEvent event) {
         float tickDelta = mc.world.getTickManager().isFrozen() ? 1 : event.tickDelta;
@@ -238,18 +232,74 @@ public class Trajectories extends Module {
                     if (ignoreWitherSkulls.get() && entity instanceof WitherSkullEntity) continue;
                     if (entity instanceof TridentEntity trident && trident.noClip) continue; // when it's returning via loyalty
 
-                    calculateFiredPath(entity, tickDelta);
-                    for (Path path : paths) path.render(event);
+                    SimulatedPath path = ProjectileSimulations.get(entity, simulationSteps.get());
+                    if (path != null) renderFiredPath(event, entity, path, tickDelta);
                 }
             }
         }
     }
 
+    private void renderFiredPath(Render3DEvent event, Entity entity, SimulatedPath path, double tickDelta) {
+        // The path starts at the projectile's position in the last tick
+        double lastX = MathHelper.lerp(tickDelta, entity.lastRenderX, entity.getX());
+        double lastY = MathHelper.lerp(tickDelta, entity.lastRenderY, entity.getY());
+        double lastZ = MathHelper.lerp(tickDelta, entity.lastRenderZ, entity.getZ());
+
+        for (int i = 0; i < path.size(); i++) {
+            double x = path.getX(i);
+            double y = path.getY(i);
+            double z = path.getZ(i);
+
+            renderSegment(event, lastX, lastY, lastZ, x, y, z);
+
+            lastX = x;
+            lastY = y;
+            lastZ = z;
+        }
+
+        if (path.blockHit) renderHitQuad(event, path.hitX, path.hitY, path.hitZ, path.hitSide);
+        for (Entity collidingEntity : path.collidingEntities) renderEntity(event, collidingEntity);
+    }
+
+    private void renderSegment(Render3DEvent event, double x1, double y1, double z1, double x2, double y2, double z2) {
+        event.renderer.line(x1, y1, z1, x2, y2, z2, lineColor.get());
+
+        if (renderPositionBox.get()) {
+            event.renderer.box(
+                x2 - positionBoxSize.get(), y2 - positionBoxSize.get(), z2 - positionBoxSize.get(),
+                x2 + positionBoxSize.get(), y2 + positionBoxSize.get(), z2 + positionBoxSize.get(),
+                positionSideColor.get(), positionLineColor.get(), shapeMode.get(), 0
+            );
+        }
+    }
+
+    private void renderHitQuad(Render3DEvent event, double x, double y, double z, Direction side) {
+        if (side == Direction.UP || side == Direction.DOWN) {
+            event.renderer.sideHorizontal(x - 0.25, y, z - 0.25, x + 0.25, z + 0.25, sideColor.get(), lineColor.get(), shapeMode.get());
+        }
+        else if (side == Direction.NORTH || side == Direction.SOUTH) {
+            event.renderer.sideVertical(x - 0.25, y - 0.25, z, x + 0.25, y + 0.25, z, sideColor.get(), lineColor.get(), shapeMode.get());
+        }
+        else {
+            event.renderer.sideVertical(x, y - 0.25, z - 0.25, x, y + 0.25, z + 0.25, sideColor.get(), lineColor.get(), shapeMode.get());
+        }
+    }
+
+    private void renderEntity(Render3DEvent event, Entity entity) {
+        double x = (entity.getX() - entity.lastX) * event.tickDelta;
+        double y = (entity.getY() - entity.lastY) * event.tickDelta;
+        double z = (entity.getZ() - entity.lastZ) * event.tickDelta;
+
+        Box box = entity.getBoundingBox();
+        event.renderer.box(x + box.minX, y + box.minY, z + box.minZ, x + box.maxX, y + box.maxY, z + box.maxZ, sideColor.get(), lineColor.get(), shapeMode.get(), 0);
+    }
+
     private class Path {
         private final List<Vector3d> points = new ArrayList<>();
 
-        private boolean hitQuad, hitQuadHorizontal;
-        private double hitQuadX1, hitQuadY1, hitQuadZ1, hitQuadX2, hitQuadY2, hitQuadZ2;
+        private boolean hitQuad;
+        private double hitQuadX, hitQuadY, hitQuadZ;
+        private Direction hitQuadSide;
 
         private final List<Entity> collidingEntities = new ArrayList<>();
         public Vector3d lastPoint;
@@ -280,16 +330,6 @@ public class Trajectories extends Module {
             return this;
         }
 
-        public Path setStart(Entity entity, double tickDelta) {
-            lastPoint = new Vector3d(
-                MathHelper.lerp(tickDelta, entity.lastRenderX, entity.getX()),
-                MathHelper.lerp(tickDelta, entity.lastRenderY, entity.getY()),
-                MathHelper.lerp(tickDelta, entity.lastRenderZ, entity.getZ())
-            );
-
-            return this;
-        }
-
         private void addPoint() {
             points.add(vec3s.get().set(simulator.pos));
         }
@@ -298,37 +338,11 @@ public class Trajectories extends Module {
             for (int i = 0; i < step.hitResults.length; i++) {
                 HitResult result = step.hitResults[i];
                 if (result.getType() == HitResult.Type.BLOCK) {
-                    BlockHitResult r = (BlockHitResult) result;
-
                     hitQuad = true;
-                    hitQuadX1 = r.getPos().x;
-                    hitQuadY1 = r.getPos().y;
-                    hitQuadZ1 = r.getPos().z;
-                    hitQuadX2 = r.getPos().x;
-                    hitQuadY2 = r.getPos().y;
-                    hitQuadZ2 = r.getPos().z;
-
-                    if (r.getSide() == Direction.UP || r.getSide() == Direction.DOWN) {
-                        hitQuadHorizontal = true;
-                        hitQuadX1 -= 0.25;
-                        hitQuadZ1 -= 0.25;
-                        hitQuadX2 += 0.25;
-                        hitQuadZ2 += 0.25;
-                    }
-                    else if (r.getSide() == Direction.NORTH || r.getSide() == Direction.SOUTH) {
-                        hitQuadHorizontal = false;
-                        hitQuadX1 -= 0.25;
-                        hitQuadY1 -= 0.25;
-                        hitQuadX2 += 0.25;
-                        hitQuadY2 += 0.25;
-                    }
-                    else {
-                        hitQuadHorizontal = false;
-                        hitQuadZ1 -= 0.25;
-                        hitQuadY1 -= 0.25;
-                        hitQuadZ2 += 0.25;
-                        hitQuadY2 += 0.25;
-                    }
+                    hitQuadX = result.getPos().x;
+                    hitQuadY = result.getPos().y;
+                    hitQuadZ = result.getPos().z;
+                    hitQuadSide = ((BlockHitResult) result).getSide();
 
                     points.add(Utils.set(vec3s.get(), result.getPos()));
                 }
@@ -352,35 +366,15 @@ public class Trajectories extends Module {
             for (int i = start; i < points.size(); i++) {
                 Vector3d point = points.get(i);
 
-                if (lastPoint != null) {
-                    event.renderer.line(lastPoint.x, lastPoint.y, lastPoint.z, point.x, point.y, point.z, lineColor.get());
-                    if (renderPositionBox.get()) {
-                        event.renderer.box(
-                            point.x - positionBoxSize.get(), point.y - positionBoxSize.get(), point.z - positionBoxSize.get(),
-                            point.x + positionBoxSize.get(), point.y + positionBoxSize.get(), point.z + positionBoxSize.get(),
-                            positionSideColor.get(), positionLineColor.get(), shapeMode.get(), 0
-                        );
-                    }
-                }
-
+                if (lastPoint != null) renderSegment(event, lastPoint.x, lastPoint.y, lastPoint.z, point.x, point.y, point.z);
                 lastPoint = point;
             }
 
             // Render hit quad
-            if (hitQuad) {
-                if (hitQuadHorizontal) event.renderer.sideHorizontal(hitQuadX1, hitQuadY1, hitQuadZ1, hitQuadX1 + 0.5, hitQuadZ1 + 0.5, sideColor.get(), lineColor.get(), shapeMode.get());
-                else event.renderer.sideVertical(hitQuadX1, hitQuadY1, hitQuadZ1, hitQuadX2, hitQuadY2, hitQuadZ2, sideColor.get(), lineColor.get(), shapeMode.get());
-            }
+            if (hitQuad) renderHitQuad(event, hitQuadX, hitQuadY, hitQuadZ, hitQuadSide);
 
             // Render entity
-            for (Entity collidingEntity : collidingEntities) {
-                double x = (collidingEntity.getX() - collidingEntity.lastX) * event.tickDelta;
-                double y = (collidingEntity.getY() - collidingEntity.lastY) * event.tickDelta;
-                double z = (collidingEntity.getZ() - collidingEntity.lastZ) * event.tickDelta;
-
-                Box box = collidingEntity.getBoundingBox();
-                event.renderer.box(x + box.minX, y + box.minY, z + box.minZ, x + box.maxX, y + box.maxY, z + box.maxZ, sideColor.get(), lineColor.get(), shapeMode.get(), 0);
-            }
+            for (Entity collidingEntity : collidingEntities) renderEntity(event, collidingEntity);
         }
     }
 }
@@ -13,6 +13,7 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.events.render.Render3DEvent;
 import meteordevelopment.meteorclient.events.world.TickEvent;
+import meteordevelopment.meteorclient.renderer.MeteorRenderPipelines;
 import meteordevelopment.meteorclient.renderer.Renderer3D;
 import meteordevelopment.meteorclient.renderer.ShapeMode;
 import meteordevelopment.meteorclient.settings.*;
@@ -77,6 +78,7 @@ public class TunnelESP extends Module {
     );
 
     private final Long2ObjectMap<TChunk> chunks = new Long2ObjectOpenHashMap<>();
+    private int lastStyle;
 
     public TunnelESP() {
         super(Categories.Render, "tunnel-esp", "Highlights tunnels.");
@@ -150,7 +152,21 @@ public class TunnelESP extends Module {
             }
         }
 
-        tChunk.positions = positions;
+        synchronized (chunks) {
+            tChunk.positions = positions;
+
+            // Connected sides of neighbouring chunks depend on these positions
+            tChunk.dirty = true;
+            markDirty(tChunk.x - 1, tChunk.z);
+            markDirty(tChunk.x + 1, tChunk.z);
+            markDirty(tChunk.x, tChunk.z - 1);
+            markDirty(tChunk.x, tChunk.z + 1);
+        }
+    }
+
+    private void markDirty(int x, int z) {
+        TChunk chunk = chunks.get(ChunkPos.toLong(x, z));
+        if (chunk != null) chunk.dirty = true;
     }
 
     private boolean isTunnel(Context ctx, int x, int y, int z) {
@@ -221,17 +237,41 @@ public class TunnelESP extends Module {
                 }
             }
 
-            chunks.values().removeIf(tChunk -> !tChunk.marked);
+            chunks.values().removeIf(tChunk -> {
+                if (tChunk.marked) return false;
+
+                markDirty(tChunk.x - 1, tChunk.z);
+                markDirty(tChunk.x + 1, tChunk.z);
+                markDirty(tChunk.x, tChunk.z - 1);
+                markDirty(tChunk.x, tChunk.z + 1);
+                return true;
+            });
         }
     }
 
     @EventHandler
     private void onRender3D(Render3DEvent event) {
         synchronized (chunks) {
+            // Chunk meshes are retained between frames so they need to be rebuilt when the render settings change
+            int style = getStyle();
+
+            if (style != lastStyle) {
+                for (TChunk chunk : chunks.values()) chunk.dirty = true;
+                lastStyle = style;
+            }
+
             for (TChunk chunk : chunks.values()) chunk.render(event.renderer);
         }
     }
 
+    private int getStyle() {
+        int style = Double.hashCode(height.get());
+        style = 31 * style + Boolean.hashCode(connected.get());
+        style = 31 * style + shapeMode.get().ordinal();
+        style = 31 * style + sideColor.get().getPacked();
+        return 31 * style + lineColor.get().getPacked();
+    }
+
     private boolean chunkContains(TChunk chunk, int x, int y, int z) {
         int key;
 
@@ -262,6 +302,9 @@ public class TunnelESP extends Module {
 
         public boolean marked;
 
+        private Renderer3D mesh;
+        private boolean dirty = true;
+
         public TChunk(int x, int z) {
             this.x = x;
             this.z = z;
@@ -271,6 +314,20 @@ public class TunnelESP extends Module {
         public void render(Renderer3D renderer) {
             if (positions == null) return;
 
+            if (mesh == null) mesh = new Renderer3D(MeteorRenderPipelines.WORLD_COLORED_LINES, MeteorRenderPipelines.WORLD_COLORED);
+
+            if (dirty) {
+                mesh.begin(x * 16, z * 16);
+                build(mesh);
+                mesh.end();
+
+                dirty = false;
+            }
+
+            renderer.append(mesh);
+        }
+
+        private void build(Renderer3D renderer) {
             // Manual iteration to avoid boxing
             for (IntIterator it = positions.iterator(); it.hasNext();) {
                 int pos = it.nextInt();
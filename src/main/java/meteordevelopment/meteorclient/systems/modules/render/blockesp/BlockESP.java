@@ -26,10 +26,7 @@ import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.dimension.DimensionType;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -42,6 +39,7 @@ public class BlockESP extends Module {
         .name("blocks")
         .description("Blocks to search for.")
         .onChanged(blocks1 -> {
+            updateTargets();
             if (isActive() && Utils.canUpdate()) onActivate();
         })
         .build()
@@ -80,9 +78,15 @@ public class BlockESP extends Module {
 
     private final Long2ObjectMap<ESPChunk> chunks = new Long2ObjectOpenHashMap<>();
     private final Set<ESPGroup> groups = new ReferenceOpenHashSet<>();
+    private final Long2ObjectMap<Scan> scans = new Long2ObjectOpenHashMap<>();
     private final ExecutorService workerThread = Executors.newSingleThreadExecutor();
+    private ExecutorService searchPool;
+
+    private volatile Set<Block> targets = Set.of();
 
     private DimensionType lastDimension;
+    private int lastStyle;
+    private boolean rainbowTicked;
 
     public BlockESP() {
         super(Categories.Render, "block-esp", "Renders specified blocks through walls.", "search");
@@ -92,9 +96,14 @@ public class BlockESP extends Module {
 
     @Override
     public void onActivate() {
+        updateTargets();
+
+        if (searchPool == null) searchPool = Executors.newWorkStealingPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
         synchronized (chunks) {
             chunks.clear();
             groups.clear();
+            scans.clear();
         }
 
         for (Chunk chunk : Utils.chunks()) {
@@ -109,6 +118,12 @@ public class BlockESP extends Module {
         synchronized (chunks) {
             chunks.clear();
             groups.clear();
+            scans.clear();
+        }
+
+        if (searchPool != null) {
+            searchPool.shutdownNow();
+            searchPool = null;
         }
     }
 
@@ -117,6 +132,12 @@ public class BlockESP extends Module {
 
         defaultBlockConfig.get().tickRainbow();
         for (ESPBlockData blockData : blockConfigs.get().values()) blockData.tickRainbow();
+
+        rainbowTicked = true;
+    }
+
+    private void updateTargets() {
+        targets = new ReferenceOpenHashSet<>(blocks.get());
     }
 
     ESPBlockData getBlockData(Block block) {
@@ -158,69 +179,104 @@ public class BlockESP extends Module {
         searchChunk(event.chunk());
     }
 
+    /**
+     * Chunks are scanned in parallel, but the results are merged on the worker thread like block updates, so every
+     * change to a chunk happens in order. Block updates of a chunk that is being scanned are kept until the scan is
+     * merged and applied after it, a scan that started before another scan of the same chunk is dropped.
+     */
     private void searchChunk(Chunk chunk) {
-        workerThread.submit(() -> {
+        ExecutorService searchPool = this.searchPool;
+        if (searchPool == null) return;
+
+        long key = chunk.getPos().toLong();
+        Set<Block> targets = this.targets;
+        Scan scan = new Scan();
+
+        synchronized (chunks) {
+            scans.put(key, scan);
+        }
+
+        searchPool.submit(() -> {
             if (!isActive()) return;
-            ESPChunk schunk = ESPChunk.searchChunk(chunk, blocks.get());
 
-            if (schunk.size() > 0) {
+            // Scan without holding the lock, only merging the result needs it
+            ESPChunk schunk = ESPChunk.searchChunk(chunk, targets);
+
+            workerThread.submit(() -> {
                 synchronized (chunks) {
-                    chunks.put(chunk.getPos().toLong(), schunk);
-                    schunk.update();
+                    // Results from before the block list changed, the module was toggled or the chunk was scanned again are stale
+                    if (scans.get(key) != scan) return;
+                    scans.remove(key);
+
+                    ESPChunk previous = schunk.size() > 0 ? chunks.put(key, schunk) : chunks.remove(key);
+                    if (previous != null) previous.unload();
+
+                    if (schunk.size() > 0) schunk.update();
 
                     // Update neighbour chunks
                     updateChunk(chunk.getPos().x - 1, chunk.getPos().z);
                     updateChunk(chunk.getPos().x + 1, chunk.getPos().z);
                     updateChunk(chunk.getPos().x, chunk.getPos().z - 1);
                     updateChunk(chunk.getPos().x, chunk.getPos().z + 1);
+
+                    for (BlockChange change : scan.changes) applyChange(key, change);
                 }
-            }
+            });
         });
     }
 
     @EventHandler
     private void onBlockUpdate(BlockUpdateEvent event) {
+        Set<Block> targets = this.targets;
+        boolean added = targets.contains(event.newState.getBlock()) && !targets.contains(event.oldState.getBlock());
+        boolean removed = !added && !targets.contains(event.newState.getBlock()) && targets.contains(event.oldState.getBlock());
+
+        if (!added && !removed) return;
+
         // Minecraft probably reuses the event.pos BlockPos instance because it causes problems when trying to use it inside another thread
-        int bx = event.pos.getX();
-        int by = event.pos.getY();
-        int bz = event.pos.getZ();
+        BlockChange change = new BlockChange(event.pos.getX(), event.pos.getY(), event.pos.getZ(), added);
+        long key = ChunkPos.toLong(change.x >> 4, change.z >> 4);
 
-        int chunkX = bx >> 4;
-        int chunkZ = bz >> 4;
-        long key = ChunkPos.toLong(chunkX, chunkZ);
+        synchronized (chunks) {
+            Scan scan = scans.get(key);
+
+            if (scan != null) {
+                scan.changes.add(change);
+                return;
+            }
+        }
 
-        boolean added = blocks.get().contains(event.newState.getBlock()) && !blocks.get().contains(event.oldState.getBlock());
-        boolean removed = !added && !blocks.get().contains(event.newState.getBlock()) && blocks.get().contains(event.oldState.getBlock());
+        workerThread.submit(() -> {
+            synchronized (chunks) {
+                applyChange(key, change);
+            }
+        });
+    }
 
-        if (added || removed) {
-            workerThread.submit(() -> {
-                synchronized (chunks) {
-                    ESPChunk chunk = chunks.get(key);
+    private void applyChange(long key, BlockChange change) {
+        ESPChunk chunk = chunks.get(key);
 
-                    if (chunk == null) {
-                        chunk = new ESPChunk(chunkX, chunkZ);
-                        if (chunk.shouldBeDeleted()) return;
+        if (chunk == null) {
+            chunk = new ESPChunk(change.x >> 4, change.z >> 4);
+            if (chunk.shouldBeDeleted()) return;
 
-                        chunks.put(key, chunk);
-                    }
+            chunks.put(key, chunk);
+        }
 
-                    blockPos.set(bx, by, bz);
+        blockPos.set(change.x, change.y, change.z);
 
-                    if (added) chunk.add(blockPos);
-                    else chunk.remove(blockPos);
+        if (change.added) chunk.add(blockPos);
+        else chunk.remove(blockPos);
 
-                    // Update neighbour blocks
-                    for (int x = -1; x < 2; x++) {
-                        for (int z = -1; z < 2; z++) {
-                            for (int y = -1; y < 2; y++) {
-                                if (x == 0 && y == 0 && z == 0) continue;
+        // Update neighbour blocks
+        for (int x = -1; x < 2; x++) {
+            for (int z = -1; z < 2; z++) {
+                for (int y = -1; y < 2; y++) {
+                    if (x == 0 && y == 0 && z == 0) continue;
 
-                                updateBlock(bx + x, by + y, bz + z);
-                            }
-                        }
-                    }
+                    updateBlock(change.x + x, change.y + y, change.z + z);
                 }
-            });
+            }
         }
     }
 
@@ -235,14 +291,29 @@ public class BlockESP extends Module {
     @EventHandler
     private void onRender(Render3DEvent event) {
         synchronized (chunks) {
+            // Chunk meshes are retained between frames so they need to be rebuilt when colors or shape modes change,
+            // rainbow colors change every tick so only the chunks that have them are rebuilt for those
+            int style = getStyle();
+
+            if (style != lastStyle) {
+                for (ESPChunk chunk : chunks.values()) chunk.markDirty();
+                lastStyle = style;
+            }
+            else if (rainbowTicked) {
+                for (ESPChunk chunk : chunks.values()) {
+                    if (chunk.isAnimated()) chunk.markDirty();
+                }
+            }
+
+            rainbowTicked = false;
+
             for (Iterator<ESPChunk> it = chunks.values().iterator(); it.hasNext();) {
                 ESPChunk chunk = it.next();
 
                 if (chunk.shouldBeDeleted()) {
                     workerThread.submit(() -> {
-                        for (ESPBlock block : chunk.blocks.values()) {
-                            block.group.remove(block, false);
-                            block.loaded = false;
+                        synchronized (chunks) {
+                            chunk.unload();
                         }
                     });
 
@@ -259,8 +330,29 @@ public class BlockESP extends Module {
         }
     }
 
+    private int getStyle() {
+        int style = getStyle(defaultBlockConfig.get());
+        for (ESPBlockData blockData : blockConfigs.get().values()) style = 31 * style + getStyle(blockData);
+        return style;
+    }
+
+    private static int getStyle(ESPBlockData blockData) {
+        return 31 * (31 * blockData.shapeMode.ordinal() + getStyle(blockData.lineColor)) + getStyle(blockData.sideColor);
+    }
+
+    private static int getStyle(SettingColor color) {
+        // The value of rainbow colors is not part of the style, only that they are rainbow
+        return color.rainbow ? 1 : color.getPacked();
+    }
+
     @Override
     public String getInfoString() {
         return "%s groups".formatted(groups.size());
     }
+
+    private static class Scan {
+        public final List<BlockChange> changes = new ArrayList<>();
+    }
+
+    private record BlockChange(int x, int y, int z, boolean added) {}
 }
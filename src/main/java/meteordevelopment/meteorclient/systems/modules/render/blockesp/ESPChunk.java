@@ -8,14 +8,17 @@ package meteordevelopment.meteorclient.systems.modules.render.blockesp;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import meteordevelopment.meteorclient.events.render.Render3DEvent;
+import meteordevelopment.meteorclient.renderer.MeteorRenderPipelines;
+import meteordevelopment.meteorclient.renderer.Renderer3D;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkSectionPos;
-import net.minecraft.world.Heightmap;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
 
-import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
 import static meteordevelopment.meteorclient.utils.Utils.getRenderDistance;
@@ -25,6 +28,11 @@ public class ESPChunk {
     private final int x, z;
     public Long2ObjectMap<ESPBlock> blocks;
 
+    // Retained mesh of all blocks in this chunk, only rebuilt when a block in or next to the chunk changes
+    private Renderer3D mesh;
+    private boolean dirty = true;
+    private boolean animated;
+
     public ESPChunk(int x, int z) {
         this.x = x;
         this.z = z;
@@ -41,6 +49,7 @@ public class ESPChunk {
         blocks.put(ESPBlock.getKey(blockPos), block);
 
         if (update) block.update();
+        dirty = true;
     }
 
     public void add(BlockPos blockPos) {
@@ -52,21 +61,51 @@ public class ESPChunk {
             ESPBlock block = blocks.remove(ESPBlock.getKey(blockPos));
             if (block != null) block.group.remove(block);
         }
+
+        dirty = true;
+    }
+
+    /**
+     * Removes the blocks from their groups, called once the chunk is replaced or out of range.
+     */
+    public void unload() {
+        if (blocks == null) return;
+
+        for (ESPBlock block : blocks.values()) {
+            if (block.group != null) block.group.remove(block, false);
+            block.loaded = false;
+        }
     }
 
     public void update() {
         if (blocks != null) {
             for (ESPBlock block : blocks.values()) block.update();
         }
+
+        dirty = true;
     }
 
     public void update(int x, int y, int z) {
         if (blocks != null) {
             ESPBlock block = blocks.get(ESPBlock.getKey(x, y, z));
-            if (block != null) block.update();
+            if (block != null) {
+                block.update();
+                dirty = true;
+            }
         }
     }
 
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * @return if the mesh has rainbow colors in it, which need it to be rebuilt when they change
+     */
+    public boolean isAnimated() {
+        return animated;
+    }
+
     public int size() {
         return blocks == null ? 0 : blocks.size();
     }
@@ -80,27 +119,54 @@ public class ESPChunk {
     }
 
     public void render(Render3DEvent event) {
-        if (blocks != null) {
-            for (ESPBlock block : blocks.values()) block.render(event);
+        if (blocks == null) return;
+
+        if (mesh == null) mesh = new Renderer3D(MeteorRenderPipelines.WORLD_COLORED_LINES, MeteorRenderPipelines.WORLD_COLORED);
+
+        if (dirty) {
+            mesh.begin(x * 16, z * 16);
+            animated = false;
+
+            for (ESPBlock block : blocks.values()) {
+                block.render(mesh);
+                if (block.isAnimated()) animated = true;
+            }
+
+            mesh.end();
+
+            dirty = false;
         }
-    }
 
+        event.renderer.append(mesh);
+    }
 
-    public static ESPChunk searchChunk(Chunk chunk, List<Block> blocks) {
+    public static ESPChunk searchChunk(Chunk chunk, Set<Block> blocks) {
         ESPChunk schunk = new ESPChunk(chunk.getPos().x, chunk.getPos().z);
-        if (schunk.shouldBeDeleted()) return schunk;
+        if (schunk.shouldBeDeleted() || blocks.isEmpty()) return schunk;
 
+        Predicate<BlockState> predicate = state -> blocks.contains(state.getBlock());
         BlockPos.Mutable blockPos = new BlockPos.Mutable();
 
-        for (int x = chunk.getPos().getStartX(); x <= chunk.getPos().getEndX(); x++) {
-            for (int z = chunk.getPos().getStartZ(); z <= chunk.getPos().getEndZ(); z++) {
-                int height = chunk.getHeightmap(Heightmap.Type.WORLD_SURFACE).get(x - chunk.getPos().getStartX(), z - chunk.getPos().getStartZ());
+        int startX = chunk.getPos().getStartX();
+        int startZ = chunk.getPos().getStartZ();
+
+        ChunkSection[] sections = chunk.getSectionArray();
+
+        for (int i = 0; i < sections.length; i++) {
+            ChunkSection section = sections[i];
+
+            // The palette contains every state present in the section so it can be used to skip whole sections
+            if (section == null || section.isEmpty() || !section.hasAny(predicate)) continue;
 
-                for (int y = mc.world.getBottomY(); y < height; y++) {
-                    blockPos.set(x, y, z);
-                    BlockState bs = chunk.getBlockState(blockPos);
+            int startY = chunk.sectionIndexToCoord(i) << 4;
 
-                    if (blocks.contains(bs.getBlock())) schunk.add(blockPos, false);
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (blocks.contains(section.getBlockState(x, y, z).getBlock())) {
+                            schunk.add(blockPos.set(startX + x, startY + y, startZ + z), false);
+                        }
+                    }
                 }
             }
         }
@@ -20,12 +20,10 @@ import net.minecraft.item.Items;
 import net.minecraft.recipe.RecipePropertySet;
 import net.minecraft.screen.AbstractFurnaceScreenHandler;
 
-import java.util.List;
-
 public class AutoSmelter extends Module {
     private final SettingGroup sgGeneral = settings.getDefaultGroup();
 
-    private final Setting<List<Item>> fuelItems = sgGeneral.add(new ItemListSetting.Builder()
+    private final ItemListSetting fuelItems = sgGeneral.add(new ItemListSetting.Builder()
         .name("fuel-items")
         .description("Items to use as fuel")
         .defaultValue(Items.COAL, Items.CHARCOAL)
@@ -34,7 +32,7 @@ public class AutoSmelter extends Module {
         .build()
     );
 
-    private final Setting<List<Item>> smeltableItems = sgGeneral.add(new ItemListSetting.Builder()
+    private final ItemListSetting smeltableItems = sgGeneral.add(new ItemListSetting.Builder()
         .name("smeltable-items")
         .description("Items to smelt")
         .defaultValue(Items.IRON_ORE, Items.GOLD_ORE, Items.COPPER_ORE, Items.RAW_IRON, Items.RAW_COPPER, Items.RAW_GOLD)
@@ -87,7 +85,7 @@ public class AutoSmelter extends Module {
         for (int i = 3; i < c.slots.size(); i++) {
             ItemStack item = c.slots.get(i).getStack();
             if (!((IAbstractFurnaceScreenHandler) c).meteor$isItemSmeltable(item)) continue;
-            if (!smeltableItems.get().contains(item.getItem())) continue;
+            if (!smeltableItems.contains(item.getItem())) continue;
             if (!smeltableItemFilter(item.getItem())) continue;
 
             slot = i;
@@ -112,7 +110,7 @@ public class AutoSmelter extends Module {
         int slot = -1;
         for (int i = 3; i < c.slots.size(); i++) {
             ItemStack item = c.slots.get(i).getStack();
-            if (!fuelItems.get().contains(item.getItem())) continue;
+            if (!fuelItems.contains(item.getItem())) continue;
             if (!fuelItemFilter(item.getItem())) continue;
 
             slot = i;
@@ -290,7 +290,7 @@ public class HighwayBuilder extends Module {
 
     // Inventory
 
-    private final Setting<List<Item>> trashItems = sgInventory.add(new ItemListSetting.Builder()
+    private final ItemListSetting trashItems = sgInventory.add(new ItemListSetting.Builder()
         .name("trash-items")
         .description("Items that are considered trash and can be thrown out.")
         .defaultValue(
@@ -949,7 +949,7 @@ public class HighwayBuilder extends Module {
                 // still should prioritise trash
                 int slot = findAndMoveToHotbar(b, itemStack -> {
                     if (!(itemStack.getItem() instanceof BlockItem)) return false;
-                    return b.trashItems.get().contains(itemStack.getItem());
+                    return b.trashItems.contains(itemStack.getItem());
                 });
 
                 // next we prioritise placement blocks
@@ -1095,7 +1095,7 @@ public class HighwayBuilder extends Module {
                 for (int i = 0; i < b.mc.player.getInventory().getMainStacks().size(); i++) {
                     ItemStack itemStack = b.mc.player.getInventory().getStack(i);
 
-                    if (itemStack.getItem() instanceof BlockItem && b.trashItems.get().contains(itemStack.getItem()) && itemStack.getCount() > biggestCount) {
+                    if (itemStack.getItem() instanceof BlockItem && b.trashItems.contains(itemStack.getItem()) && itemStack.getCount() > biggestCount) {
                         biggestCount = itemStack.getCount();
                         skipSlot = i;
 
@@ -1136,7 +1136,7 @@ public class HighwayBuilder extends Module {
 
                     ItemStack itemStack = b.mc.player.getInventory().getStack(i);
 
-                    if (b.trashItems.get().contains(itemStack.getItem())) {
+                    if (b.trashItems.contains(itemStack.getItem())) {
                         InvUtils.drop().slot(i);
                         threwItems = true;
                         return;
@@ -2027,7 +2027,7 @@ public class HighwayBuilder extends Module {
                 if (replaceTools && AutoTool.isTool(itemStack)) return i;
 
                 // Store the slot if it contains thrash
-                if (b.trashItems.get().contains(itemStack.getItem())) thrashSlot = i;
+                if (b.trashItems.contains(itemStack.getItem())) thrashSlot = i;
 
                 // Update tracked stats about slots that contain building blocks
                 if (itemStack.getItem() instanceof BlockItem blockItem && (b.blocksToPlace.get().contains(blockItem.getBlock()) || b.blocksToPlace.get().contains(Blocks.OBSIDIAN) && blockItem == Items.ENDER_CHEST)) {
@@ -2171,7 +2171,7 @@ public class HighwayBuilder extends Module {
         protected int findBlocksToPlacePrioritizeTrash(HighwayBuilder b) {
             int slot = findAndMoveToHotbar(b, itemStack -> {
                 if (!(itemStack.getItem() instanceof BlockItem)) return false;
-                return b.trashItems.get().contains(itemStack.getItem());
+                return b.trashItems.contains(itemStack.getItem());
             });
 
             return slot != -1 ? slot : findBlocksToPlace(b);
@@ -166,7 +166,7 @@ public class LiquidFiller extends Module {
         if (!item.found()) return;
 
         // Loop blocks around the player
-        BlockIterator.register((int) Math.ceil(placeRange.get()+1), (int) Math.ceil(placeRange.get()), (blockPos, blockState) -> {
+        BlockIterator.register((int) Math.ceil(placeRange.get()+1), (int) Math.ceil(placeRange.get()), blockState -> !blockState.getFluidState().isEmpty(), (blockPos, blockState) -> {
 
             // Check raycast and range
             if (isOutOfRange(blockPos)) return;
@@ -8,6 +8,8 @@ package meteordevelopment.meteorclient.systems.modules.world;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.events.render.Render3DEvent;
 import meteordevelopment.meteorclient.events.world.ChunkDataEvent;
@@ -32,6 +34,7 @@ import meteordevelopment.meteorclient.utils.player.ChatUtils;
 import meteordevelopment.meteorclient.utils.render.MeteorToast;
 import meteordevelopment.meteorclient.utils.render.RenderUtils;
 import meteordevelopment.meteorclient.utils.render.color.SettingColor;
+import meteordevelopment.meteorclient.utils.world.BlockEntityIndex;
 import meteordevelopment.orbit.EventHandler;
 import net.minecraft.block.Block;
 import net.minecraft.block.Blocks;
@@ -47,7 +50,12 @@ import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.Vec3d;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class StashFinder extends Module {
     private final SettingGroup sgGeneral = settings.getDefaultGroup();
@@ -172,7 +180,18 @@ public class StashFinder extends Module {
 
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private final Map<ChunkPos, Vec3d> tracerPositions = new HashMap<>();
-    public List<Chunk> chunks = new ArrayList<>();
+    public final Long2ObjectMap<Chunk> chunks = new Long2ObjectLinkedOpenHashMap<>();
+
+    // Only touched from the io thread
+    private final Journal journal = new Journal();
+    private final ExecutorService ioThread = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "Meteor-Stash-Finder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Bumped when the chunks are cleared or loaded again, so an older load does not add its chunks back
+    private int loadGeneration;
 
     public StashFinder() {
         super(Categories.World, "stash-finder", "Searches loaded chunks for storage blocks. Saves to <your minecraft folder>/meteor-client");
@@ -183,6 +202,11 @@ public class StashFinder extends Module {
         load();
     }
 
+    @Override
+    public void onDeactivate() {
+        ioThread.execute(journal::close);
+    }
+
     @EventHandler
     private void onTick(TickEvent.Post event) {
         if (!clearTracesBind.get().isPressed()) return;
@@ -200,12 +224,10 @@ public class StashFinder extends Module {
 
         List<Block> blockBlacklist = blacklistedBlocks.get();
 
-        for (BlockEntity blockEntity : event.chunk().getBlockEntities().values()) {
-            if (!storageBlocks.get().contains(blockEntity.getType())) continue;
-
+        BlockEntityIndex.forEach(event.chunk(), storageBlocks.get(), blockEntity -> {
             if (!blockBlacklist.isEmpty()) {
                 BlockPos below = blockEntity.getPos().down();
-                if (blockBlacklist.contains(event.chunk().getBlockState(below).getBlock())) continue;
+                if (blockBlacklist.contains(event.chunk().getBlockState(below).getBlock())) return;
             }
 
             if (blockEntity instanceof ChestBlockEntity) chunk.chests++;
@@ -215,22 +237,18 @@ public class StashFinder extends Module {
             else if (blockEntity instanceof AbstractFurnaceBlockEntity) chunk.furnaces++;
             else if (blockEntity instanceof DispenserBlockEntity) chunk.dispensersDroppers++;
             else if (blockEntity instanceof HopperBlockEntity) chunk.hoppers++;
-        }
+        });
 
         if (chunk.getTotal() >= minimumStorageCount.get()) {
-            Chunk prevChunk = null;
-            int i = chunks.indexOf(chunk);
-
-            if (i < 0) chunks.add(chunk);
-            else prevChunk = chunks.set(i, chunk);
+            Chunk prevChunk = chunks.put(chunk.chunkPos.toLong(), chunk);
 
             if (renderTracer.get()) {
                 double y = mc.player != null ? mc.player.getEyeY() : 0.0;
                 tracerPositions.put(chunk.chunkPos, new Vec3d(chunk.x, y, chunk.z));
             }
 
-            saveJson();
-            saveCsv();
+            File file = getJournalFile();
+            ioThread.execute(() -> journal.put(file, chunk));
 
             if (sendNotifications.get() && (!chunk.equals(prevChunk) || !chunk.countsEqual(prevChunk))) {
                 switch (notificationMode.get()) {
@@ -251,15 +269,13 @@ public class StashFinder extends Module {
 
     @Override
     public WWidget getWidget(GuiTheme theme) {
-        // Sort
-        chunks.sort(Comparator.comparingInt(value -> -value.getTotal()));
-
         WVerticalList list = theme.verticalList();
 
         // Clear buttons
         WHorizontalList hl = theme.horizontalList();
         WButton clear = hl.add(theme.button("Clear Chunks")).widget();
         WButton resetTracers = hl.add(theme.button("Reset Tracers")).widget();
+        WButton export = hl.add(theme.button("Export")).widget();
 
         list.add(hl);
 
@@ -268,8 +284,21 @@ public class StashFinder extends Module {
 
         clear.action = () -> {
             chunks.clear();
+            loadGeneration++;
             table.clear();
             tracerPositions.clear();
+
+            File file = getJournalFile();
+            ioThread.execute(() -> journal.clear(file));
+        };
+
+        export.action = () -> {
+            File file = getJournalFile();
+
+            ioThread.execute(() -> {
+                int count = journal.export(file);
+                mc.execute(() -> info("Exported %d stashes to %s.", count, file.getParentFile().getAbsolutePath()));
+            });
         };
 
         resetTracers.action = () -> {
@@ -285,7 +314,10 @@ public class StashFinder extends Module {
     }
 
     private void fillTable(GuiTheme theme, WTable table) {
-        for (Chunk chunk : chunks) {
+        List<Chunk> sorted = new ArrayList<>(chunks.values());
+        sorted.sort(Comparator.comparingInt(value -> -value.getTotal()));
+
+        for (Chunk chunk : sorted) {
             table.add(theme.label("Pos: " + chunk.x + ", " + chunk.z)).padRight(10);
             table.add(theme.label("Total: " + chunk.getTotal())).padRight(10);
 
@@ -306,13 +338,13 @@ public class StashFinder extends Module {
 
             WMinus delete = table.add(theme.minus()).widget();
             delete.action = () -> {
-                if (chunks.remove(chunk)) {
+                if (chunks.remove(chunk.chunkPos.toLong()) != null) {
                     tracerPositions.remove(chunk.chunkPos);
                     table.clear();
                     fillTable(theme, table);
 
-                    saveJson();
-                    saveCsv();
+                    File file = getJournalFile();
+                    ioThread.execute(() -> journal.remove(file, chunk.chunkPos));
                 }
             };
 
@@ -321,86 +353,25 @@ public class StashFinder extends Module {
     }
 
     private void load() {
-        boolean loaded = false;
-
-        // Try to load json
-        File file = getJsonFile();
-        if (file.exists()) {
-            try {
-                FileReader reader = new FileReader(file);
-                chunks = GSON.fromJson(reader, new TypeToken<List<Chunk>>() {}.getType());
-                reader.close();
-
-                for (Chunk chunk : chunks) chunk.calculatePos();
-
-                loaded = true;
-            } catch (Exception ignored) {
-                if (chunks == null) chunks = new ArrayList<>();
-            }
-        }
+        chunks.clear();
 
-        // Try to load csv
-        file = getCsvFile();
-        if (!loaded && file.exists()) {
-            try {
-                BufferedReader reader = new BufferedReader(new FileReader(file));
-                reader.readLine();
+        File file = getJournalFile();
+        int generation = ++loadGeneration;
 
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    String[] values = line.split(" ");
-                    Chunk chunk = new Chunk(new ChunkPos(Integer.parseInt(values[0]), Integer.parseInt(values[1])));
+        ioThread.execute(() -> {
+            List<Chunk> loaded = journal.load(file);
 
-                    chunk.chests = Integer.parseInt(values[2]);
-                    chunk.shulkers = Integer.parseInt(values[3]);
-                    chunk.enderChests = Integer.parseInt(values[4]);
-                    chunk.furnaces = Integer.parseInt(values[5]);
-                    chunk.dispensersDroppers = Integer.parseInt(values[6]);
-                    chunk.hoppers = Integer.parseInt(values[7]);
+            mc.execute(() -> {
+                if (generation != loadGeneration || !isActive()) return;
 
-                    chunks.add(chunk);
-                }
-
-                reader.close();
-            } catch (Exception ignored) {
-                if (chunks == null) chunks = new ArrayList<>();
-            }
-        }
-    }
-
-    private void saveCsv() {
-        try {
-            File file = getCsvFile();
-            file.getParentFile().mkdirs();
-            Writer writer = new FileWriter(file);
-
-            writer.write("X,Z,Chests,Barrels,Shulkers,EnderChests,Furnaces,DispensersDroppers,Hoppers\n");
-            for (Chunk chunk : chunks) chunk.write(writer);
-
-            writer.close();
-        } catch (IOException e) {
-            MeteorClient.LOG.error("Error while writing the stash list to csv", e);
-        }
-    }
-
-    private void saveJson() {
-        try {
-            File file = getJsonFile();
-            file.getParentFile().mkdirs();
-            Writer writer = new FileWriter(file);
-            GSON.toJson(chunks, writer);
-            writer.close();
-        } catch (IOException e) {
-            MeteorClient.LOG.error("Error while writing the stash list to json", e);
-        }
-    }
-
-    private File getJsonFile() {
-        return new File(new File(new File(MeteorClient.FOLDER, "stashes"), Utils.getFileWorldName()), "stashes.json");
+                // Chunks found while the journal was loading are newer
+                for (Chunk chunk : loaded) chunks.putIfAbsent(chunk.chunkPos.toLong(), chunk);
+            });
+        });
     }
 
-    private File getCsvFile() {
-        return new File(new File(new File(MeteorClient.FOLDER, "stashes"), Utils.getFileWorldName()), "stashes.csv");
+    private File getJournalFile() {
+        return new File(new File(new File(MeteorClient.FOLDER, "stashes"), Utils.getFileWorldName()), "stashes.journal");
     }
 
     @Override
@@ -474,6 +445,226 @@ public class StashFinder extends Module {
         Both
     }
 
+    /**
+     * Append-only log of the recorded chunks. Every change is a single line appended to the journal, and once it holds
+     * a lot more lines than chunks it is compacted by rewriting it with only the current chunks. The json and csv files
+     * are only written when exporting.
+     */
+    private static class Journal {
+        private static final int MIN_COMPACT_LINES = 1024;
+
+        private final Long2ObjectMap<Chunk> chunks = new Long2ObjectLinkedOpenHashMap<>();
+
+        private File file;
+        private Writer writer;
+        private int lines;
+
+        public List<Chunk> load(File file) {
+            open(file);
+            return new ArrayList<>(chunks.values());
+        }
+
+        public void put(File file, Chunk chunk) {
+            open(file);
+            chunks.put(chunk.chunkPos.toLong(), chunk);
+
+            append(entry(chunk));
+        }
+
+        public void remove(File file, ChunkPos pos) {
+            open(file);
+            if (chunks.remove(pos.toLong()) != null) append("- " + pos.x + " " + pos.z);
+        }
+
+        public void clear(File file) {
+            open(file);
+            chunks.clear();
+            compact();
+        }
+
+        public int export(File file) {
+            open(file);
+
+            List<Chunk> list = new ArrayList<>(chunks.values());
+            File folder = file.getParentFile();
+            folder.mkdirs();
+
+            try (Writer writer = new BufferedWriter(new FileWriter(new File(folder, "stashes.json")))) {
+                GSON.toJson(list, writer);
+            } catch (IOException e) {
+                MeteorClient.LOG.error("Error while writing the stash list to json", e);
+            }
+
+            try (Writer writer = new BufferedWriter(new FileWriter(new File(folder, "stashes.csv")))) {
+                writer.write("X,Z,Chests,Barrels,Shulkers,EnderChests,Furnaces,DispensersDroppers,Hoppers\n");
+                for (Chunk chunk : list) chunk.write(writer);
+            } catch (IOException e) {
+                MeteorClient.LOG.error("Error while writing the stash list to csv", e);
+            }
+
+            return list.size();
+        }
+
+        public void close() {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    MeteorClient.LOG.error("Error while closing the stash journal", e);
+                }
+            }
+
+            writer = null;
+            file = null;
+            lines = 0;
+            chunks.clear();
+        }
+
+        private void open(File file) {
+            if (file.equals(this.file)) return;
+
+            close();
+            this.file = file;
+
+            if (file.exists()) read();
+            else {
+                // Migrate the json and csv files written by older versions
+                readLegacy(file.getParentFile());
+                if (!chunks.isEmpty()) compact();
+            }
+        }
+
+        private void append(String line) {
+            try {
+                if (writer == null) {
+                    file.getParentFile().mkdirs();
+                    writer = new BufferedWriter(new FileWriter(file, true));
+                }
+
+                writer.write(line);
+                writer.write('\n');
+                writer.flush();
+
+                lines++;
+            } catch (IOException e) {
+                MeteorClient.LOG.error("Error while writing to the stash journal", e);
+            }
+
+            if (lines > Math.max(MIN_COMPACT_LINES, chunks.size() * 2)) compact();
+        }
+
+        private void compact() {
+            try {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+
+                file.getParentFile().mkdirs();
+                File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+
+                try (Writer tempWriter = new BufferedWriter(new FileWriter(tempFile))) {
+                    for (Chunk chunk : chunks.values()) {
+                        tempWriter.write(entry(chunk));
+                        tempWriter.write('\n');
+                    }
+                }
+
+                try {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                lines = chunks.size();
+            } catch (IOException e) {
+                MeteorClient.LOG.error("Error while compacting the stash journal", e);
+            }
+        }
+
+        private static String entry(Chunk chunk) {
+            return "+ " + chunk.chunkPos.x + " " + chunk.chunkPos.z + " " + chunk.chests + " " + chunk.barrels + " " + chunk.shulkers + " "
+                + chunk.enderChests + " " + chunk.furnaces + " " + chunk.dispensersDroppers + " " + chunk.hoppers;
+        }
+
+        private void read() {
+            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    lines++;
+
+                    // Skip malformed lines, the last one might have been cut off by a crash
+                    try {
+                        String[] values = line.split(" ");
+
+                        if (values[0].equals("+") && values.length == 10) {
+                            Chunk chunk = new Chunk(new ChunkPos(Integer.parseInt(values[1]), Integer.parseInt(values[2])));
+
+                            chunk.chests = Integer.parseInt(values[3]);
+                            chunk.barrels = Integer.parseInt(values[4]);
+                            chunk.shulkers = Integer.parseInt(values[5]);
+                            chunk.enderChests = Integer.parseInt(values[6]);
+                            chunk.furnaces = Integer.parseInt(values[7]);
+                            chunk.dispensersDroppers = Integer.parseInt(values[8]);
+                            chunk.hoppers = Integer.parseInt(values[9]);
+
+                            chunks.put(chunk.chunkPos.toLong(), chunk);
+                        }
+                        else if (values[0].equals("-") && values.length == 3) {
+                            chunks.remove(ChunkPos.toLong(Integer.parseInt(values[1]), Integer.parseInt(values[2])));
+                        }
+                    } catch (NumberFormatException ignored) {}
+                }
+            } catch (IOException e) {
+                MeteorClient.LOG.error("Error while reading the stash journal", e);
+            }
+        }
+
+        private void readLegacy(File folder) {
+            // Try to load json
+            File file = new File(folder, "stashes.json");
+            if (file.exists()) {
+                try (Reader reader = new FileReader(file)) {
+                    List<Chunk> list = GSON.fromJson(reader, new TypeToken<List<Chunk>>() {}.getType());
+
+                    if (list != null) {
+                        for (Chunk chunk : list) {
+                            chunk.calculatePos();
+                            chunks.put(chunk.chunkPos.toLong(), chunk);
+                        }
+
+                        return;
+                    }
+                } catch (Exception ignored) {}
+            }
+
+            // Try to load csv, it stores the block position at the center of the chunk
+            file = new File(folder, "stashes.csv");
+            if (file.exists()) {
+                try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                    reader.readLine();
+
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] values = line.split(",");
+                        Chunk chunk = new Chunk(new ChunkPos(Integer.parseInt(values[0]) >> 4, Integer.parseInt(values[1]) >> 4));
+
+                        chunk.chests = Integer.parseInt(values[2]);
+                        chunk.barrels = Integer.parseInt(values[3]);
+                        chunk.shulkers = Integer.parseInt(values[4]);
+                        chunk.enderChests = Integer.parseInt(values[5]);
+                        chunk.furnaces = Integer.parseInt(values[6]);
+                        chunk.dispensersDroppers = Integer.parseInt(values[7]);
+                        chunk.hoppers = Integer.parseInt(values[8]);
+
+                        chunks.put(chunk.chunkPos.toLong(), chunk);
+                    }
+                } catch (Exception ignored) {}
+            }
+        }
+    }
+
     public static class Chunk {
         private static final StringBuilder sb = new StringBuilder();
 
@@ -52,7 +52,7 @@ public class VeinMiner extends Module {
 
     // General
 
-    private final Setting<List<Block>> selectedBlocks = sgGeneral.add(new BlockListSetting.Builder()
+    private final BlockListSetting selectedBlocks = sgGeneral.add(new BlockListSetting.Builder()
         .name("blocks")
         .description("Which blocks to select.")
         .defaultValue(Blocks.STONE, Blocks.DIRT, Blocks.GRASS_BLOCK)
@@ -159,9 +159,9 @@ public class VeinMiner extends Module {
 
         if (state.getHardness(mc.world, event.blockPos) < 0)
             return;
-        if (mode.get() == ListMode.Whitelist && !selectedBlocks.get().contains(state.getBlock()))
+        if (mode.get() == ListMode.Whitelist && !selectedBlocks.contains(state.getBlock()))
             return;
-        if (mode.get() == ListMode.Blacklist && selectedBlocks.get().contains(state.getBlock()))
+        if (mode.get() == ListMode.Blacklist && selectedBlocks.contains(state.getBlock()))
             return;
 
         foundBlockPositions.clear();
@@ -9,12 +9,10 @@ import meteordevelopment.meteorclient.settings.*;
 import meteordevelopment.meteorclient.systems.System;
 import meteordevelopment.meteorclient.systems.Systems;
 import meteordevelopment.meteorclient.utils.misc.NbtUtils;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import net.minecraft.nbt.NbtCompound;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.concurrent.*;
 import java.util.regex.Pattern;
 
 public class Proxies extends System<Proxies> implements Iterable<Proxy> {
@@ -22,12 +20,12 @@ public class Proxies extends System<Proxies> implements Iterable<Proxy> {
     private final SettingGroup sgRefreshing = settings.createGroup("Refreshing");
     private final SettingGroup sgCleanup = settings.createGroup("Cleanup");
 
-    private final Setting<Integer> threads = sgRefreshing.add(new IntSetting.Builder()
-        .name("threads")
-        .description("The number of concurrent threads to check proxies with.")
-        .defaultValue(8)
-        .min(0)
-        .sliderRange(0, 32)
+    private final Setting<Integer> concurrency = sgRefreshing.add(new IntSetting.Builder()
+        .name("concurrency")
+        .description("How many proxies to check at the same time.")
+        .defaultValue(256)
+        .min(1)
+        .sliderRange(1, 2048)
         .build()
     );
 
@@ -88,7 +86,8 @@ public class Proxies extends System<Proxies> implements Iterable<Proxy> {
     public static final Pattern PROXY_PATTERN_URI = Pattern.compile("^(?:(socks|socks4|socks5)://)?(?:(?<user>[\\w~-]+)(:(?<pass>[\\w~-]+))?@)?(?<addr>(?:0*(?:\\d|[1-9]\\d|1\\d\\d|2[0-4]\\d|25[0-5])(?:\\.(?!:)|)){4}):(?!0)(?<port>\\d{1,4}|[1-5]\\d{4}|6[0-4]\\d{3}|65[0-4]\\d{2}|655[0-2]\\d|6553[0-5])$", Pattern.MULTILINE);
 
     private List<Proxy> proxies = new ArrayList<>();
-    public boolean refreshing;
+    private ProxyChecker checker;
+    public volatile boolean refreshing;
 
     public Proxies() {
         super("proxies");
@@ -136,45 +135,24 @@ public class Proxies extends System<Proxies> implements Iterable<Proxy> {
 
     public void checkProxies(boolean all) {
         if (refreshing || isEmpty()) return;
+
+        List<Proxy> toCheck = new ArrayList<>();
+        for (Proxy proxy : proxies) {
+            if (all || proxy.status == Proxy.Status.UNCHECKED) toCheck.add(proxy);
+        }
+
+        if (toCheck.isEmpty()) return;
         refreshing = true;
 
-        MeteorExecutor.execute(() -> {
-            BlockingQueue<Proxy> toCheck = new ArrayBlockingQueue<>(proxies.size());
-            proxies.forEach(proxy -> {
-                if (all || proxy.status == Proxy.Status.UNCHECKED) toCheck.add(proxy);
-            });
-
-            ConcurrentHashMap<Proxy, Integer> checked = new ConcurrentHashMap<>(proxies.size(), 1);
-            proxies.forEach(proxy -> checked.put(proxy, 0));
-
-            try (ExecutorService executor = Executors.newFixedThreadPool(threads.get())) {
-                for (int i = 0; i < threads.get(); i++) {
-                    executor.execute(() -> {
-                        try {
-                            check(toCheck, checked);
-                        } catch (InterruptedException ignored) {}
-                    });
-                }
-
-                try {
-                    executor.shutdown();
-                    //noinspection ResultOfMethodCallIgnored
-                    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
-                } catch (InterruptedException ignored) {}
-
-                refreshing = false;
-            }
-        });
+        checker = new ProxyChecker(toCheck, concurrency.get(), tries.get());
+        checker.start(() -> refreshing = false);
     }
 
-    private void check(BlockingQueue<Proxy> queue, ConcurrentHashMap<Proxy, Integer> checks) throws InterruptedException {
-        while (!queue.isEmpty()) {
-            Proxy proxy = queue.take();
-            if (proxy.checkStatus() == 3 && checks.get(proxy) <= tries.get()) {
-                checks.put(proxy, checks.get(proxy) + 1);
-                queue.put(proxy);
-            }
-        }
+    /**
+     * @return the running or last finished check, null if no proxies were checked yet
+     */
+    public ProxyChecker getChecker() {
+        return checker;
     }
 
     public void clean() {
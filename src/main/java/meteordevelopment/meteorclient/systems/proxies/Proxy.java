@@ -20,9 +20,8 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.*;
 
 public class Proxy implements ISerializable<Proxy> {
     public final Settings settings = new Settings();
@@ -110,36 +109,46 @@ public class Proxy implements ISerializable<Proxy> {
         if (status == Status.CHECKING) return 0;
         status = Status.CHECKING;
 
+        long start = System.nanoTime();
         boolean timeout = false;
 
-        try {
-            Instant before = Instant.now();
-            if (isSocks4()) {
-                status = Status.ALIVE;
-                latency = Duration.between(before, Instant.now()).toMillis();
-                return 1;
+        // Both handshakes at once, the first one that succeeds wins and the other one is interrupted
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Integer> handshakes = new ExecutorCompletionService<>(executor);
+            handshakes.submit(() -> handshake(this::isSocks4));
+            handshakes.submit(() -> handshake(this::isSocks5));
+
+            for (int i = 0; i < 2; i++) {
+                int result = handshakes.take().get();
+
+                if (result == 1) {
+                    latency = (System.nanoTime() - start) / 1_000_000;
+                    status = Status.ALIVE;
+
+                    executor.shutdownNow();
+                    return 1;
+                }
+
+                if (result == 3) timeout = true;
             }
-        }
-        catch (SocketTimeoutException e) {
-            timeout = true;
-        }
-        catch (IOException ignored) {}
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {}
 
+        status = Status.DEAD;
+        return timeout ? 3 : 2;
+    }
+
+    private static int handshake(Handshake handshake) {
         try {
-            Instant before = Instant.now();
-            if (isSocks5()) {
-                status = Status.ALIVE;
-                latency = Duration.between(before, Instant.now()).toMillis();
-                return 1;
-            }
+            return handshake.run() ? 1 : 2;
         }
         catch (SocketTimeoutException e) {
-            timeout = true;
+            return 3;
+        }
+        catch (IOException e) {
+            return 2;
         }
-        catch (IOException ignored) {}
-
-        status = Status.DEAD;
-        return timeout ? 3 : 2;
     }
 
     private boolean isSocks4() throws IOException {
@@ -202,6 +211,11 @@ public class Proxy implements ISerializable<Proxy> {
         }
     }
 
+    @FunctionalInterface
+    private interface Handshake {
+        boolean run() throws IOException;
+    }
+
     public static class Builder {
         protected ProxyType type = ProxyType.Socks5;
         protected String address = "";
@@ -0,0 +1,151 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.systems.proxies;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Checks a list of proxies on virtual threads. At most {@code concurrency} proxies are checked at the same time, each
+ * one trying its SOCKS4 and SOCKS5 handshakes in parallel, so up to twice as many sockets are open at once. Progress can
+ * be read from any thread while the check is running.
+ */
+public class ProxyChecker {
+    private final List<Proxy> proxies;
+    private final int concurrency;
+    private final int retries;
+
+    private final AtomicInteger checked = new AtomicInteger();
+    private final AtomicInteger alive = new AtomicInteger();
+    private final AtomicInteger dead = new AtomicInteger();
+
+    public final LatencyHistogram latencies = new LatencyHistogram();
+
+    public ProxyChecker(List<Proxy> proxies, int concurrency, int retries) {
+        this.proxies = proxies;
+        this.concurrency = Math.max(concurrency, 1);
+        this.retries = retries;
+    }
+
+    /**
+     * Starts checking the proxies, the callback is called on the checker thread once all of them are checked.
+     */
+    public void start(Runnable onDone) {
+        Thread.ofVirtual().name("Meteor Proxy Checker").start(() -> {
+            try {
+                run();
+            } finally {
+                onDone.run();
+            }
+        });
+    }
+
+    private void run() {
+        Semaphore permits = new Semaphore(concurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Proxy proxy : proxies) {
+                permits.acquireUninterruptibly();
+
+                executor.execute(() -> {
+                    try {
+                        check(proxy);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void check(Proxy proxy) {
+        // A timed out proxy is checked again up to retries + 1 times, like the old queue based checker did
+        int result = proxy.checkStatus();
+        for (int i = 0; result == 3 && i <= retries; i++) result = proxy.checkStatus();
+
+        if (result == 1) {
+            alive.incrementAndGet();
+            latencies.add(proxy.latency);
+        }
+        else if (result != 0) dead.incrementAndGet();
+
+        checked.incrementAndGet();
+    }
+
+    public int size() {
+        return proxies.size();
+    }
+
+    public int getChecked() {
+        return checked.get();
+    }
+
+    public int getAlive() {
+        return alive.get();
+    }
+
+    public int getDead() {
+        return dead.get();
+    }
+
+    /**
+     * Counts latencies in buckets that double in size.
+     */
+    public static class LatencyHistogram {
+        private static final int[] BOUNDS = { 50, 100, 200, 400, 800, 1600, 3200 };
+
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(BOUNDS.length + 1);
+        private final AtomicInteger total = new AtomicInteger();
+
+        public void add(long latency) {
+            int i = 0;
+            while (i < BOUNDS.length && latency >= BOUNDS[i]) i++;
+
+            counts.incrementAndGet(i);
+            total.incrementAndGet();
+        }
+
+        /**
+         * @return the exclusive upper bound of the bucket in milliseconds, {@link Integer#MAX_VALUE} for the last one
+         */
+        private static int getUpperBound(int bucket) {
+            return bucket < BOUNDS.length ? BOUNDS[bucket] : Integer.MAX_VALUE;
+        }
+
+        /**
+         * @return the upper bound of the bucket the percentile falls into, or -1 if nothing was added
+         */
+        public int percentile(double percentile) {
+            int total = this.total.get();
+            if (total == 0) return -1;
+
+            int target = (int) Math.ceil(total * percentile / 100);
+            int count = 0;
+
+            for (int i = 0; i < counts.length(); i++) {
+                count += counts.get(i);
+                if (count >= target) return getUpperBound(i);
+            }
+
+            return getUpperBound(counts.length() - 1);
+        }
+
+        @Override
+        public String toString() {
+            if (total.get() == 0) return "";
+
+            return "p50 %s, p90 %s".formatted(format(percentile(50)), format(percentile(90)));
+        }
+
+        private static String format(int bound) {
+            return bound == Integer.MAX_VALUE ? ">" + BOUNDS[BOUNDS.length - 1] + "ms" : "<" + bound + "ms";
+        }
+    }
+}
@@ -14,4 +14,9 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 public @interface PostInit {
     Class<?>[] dependencies() default { };
+
+    /**
+     * Thread safe tasks can run on another thread at the same time as other tasks once their dependencies are done.
+     */
+    boolean threadSafe() default false;
 }
@@ -5,19 +5,33 @@
 
 package meteordevelopment.meteorclient.utils;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.addons.AddonManager;
 import meteordevelopment.meteorclient.addons.MeteorAddon;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Runs {@link PreInit} and {@link PostInit} tasks. The tasks of an addon are read from the index written by the init
+ * index annotation processor, addons that were not compiled with it are scanned with {@link Reflections} instead.
+ */
 public class ReflectInit {
-    private static final List<Reflections> reflections = new ArrayList<>();
+    // Written by meteordevelopment.meteorclient.processor.InitIndexProcessor
+    private static final String INDEX = "META-INF/meteor-init.index";
+
+    private static final List<List<InitTask>> tasks = new ArrayList<>();
 
     private ReflectInit() {
     }
@@ -35,50 +49,177 @@ public class ReflectInit {
     private static void add(MeteorAddon addon) {
         String pkg = addon.getPackage();
         if (pkg == null || pkg.isBlank()) return;
-        reflections.add(new Reflections(pkg, Scanners.MethodsAnnotated));
+
+        List<InitTask> addonTasks = readIndex(addon, pkg);
+        if (addonTasks == null) addonTasks = scan(addon, pkg);
+
+        tasks.add(addonTasks);
+    }
+
+    private static List<InitTask> readIndex(MeteorAddon addon, String pkg) {
+        if (addon.modContainer == null) return null;
+
+        Optional<Path> index = addon.modContainer.findPath(INDEX);
+        if (index.isEmpty()) return null;
+
+        List<InitTask> addonTasks = new ArrayList<>();
+        ClassLoader classLoader = addon.getClass().getClassLoader();
+
+        try (BufferedReader reader = Files.newBufferedReader(index.get())) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                String[] split = line.trim().split(" ");
+                if (split.length < 4 || !split[1].startsWith(pkg + ".")) continue;
+
+                List<String> dependencies = List.of(Arrays.copyOfRange(split, 4, split.length));
+                addonTasks.add(new InitTask(split[0], split[1], split[2], Boolean.parseBoolean(split[3]), dependencies, classLoader));
+            }
+        } catch (IOException e) {
+            MeteorClient.LOG.error("Failed to read the init index of addon \"{}\", scanning its package instead.", addon.name, e);
+            return null;
+        }
+
+        return addonTasks;
+    }
+
+    private static List<InitTask> scan(MeteorAddon addon, String pkg) {
+        MeteorClient.LOG.info("Addon \"{}\" has no init index, scanning {} for init tasks.", addon.name, pkg);
+
+        Reflections reflections = new Reflections(pkg, Scanners.MethodsAnnotated);
+        List<InitTask> addonTasks = new ArrayList<>();
+
+        for (Method method : reflections.getMethodsAnnotatedWith(PreInit.class)) {
+            PreInit init = method.getAnnotation(PreInit.class);
+            addonTasks.add(InitTask.of(PreInit.class, method, init.dependencies(), init.threadSafe()));
+        }
+
+        for (Method method : reflections.getMethodsAnnotatedWith(PostInit.class)) {
+            PostInit init = method.getAnnotation(PostInit.class);
+            addonTasks.add(InitTask.of(PostInit.class, method, init.dependencies(), init.threadSafe()));
+        }
+
+        // Same order as an index so tasks without dependencies between them run in the same order every launch
+        addonTasks.sort(Comparator.comparing(InitTask::className).thenComparing(InitTask::methodName));
+        return addonTasks;
     }
 
     public static void init(Class<? extends Annotation> annotation) {
-        for (Reflections reflection : reflections) {
-            Set<Method> initTasks = reflection.getMethodsAnnotatedWith(annotation);
-            if (initTasks == null) return;
+        String name = annotation.getSimpleName();
+        long start = System.nanoTime();
+        int count = 0;
+
+        for (List<InitTask> addonTasks : tasks) {
+            List<InitTask> initTasks = addonTasks.stream().filter(task -> task.annotation.equals(name)).toList();
+            if (initTasks.isEmpty()) continue;
 
-            Map<Class<?>, List<Method>> byClass = initTasks.stream().collect(Collectors.groupingBy(Method::getDeclaringClass));
-            Set<Method> left = new HashSet<>(initTasks);
+            run(sort(initTasks), name);
+            count += initTasks.size();
+        }
+
+        MeteorClient.LOG.info("Ran {} @{} tasks in {} ms.", count, name, (System.nanoTime() - start) / 1_000_000);
+    }
 
-            for (Method m; (m = left.stream().findAny().orElse(null)) != null; ) {
-                reflectInit(m, annotation, left, byClass);
+    /**
+     * Orders the tasks so that every task comes after its dependencies. Tasks that depend on each other in a cycle run
+     * in the order they were reached in.
+     */
+    private static List<Node> sort(List<InitTask> initTasks) {
+        Map<String, List<InitTask>> byClass = new HashMap<>();
+        for (InitTask task : initTasks) byClass.computeIfAbsent(task.className, c -> new ArrayList<>()).add(task);
+
+        Map<InitTask, Integer> sorted = new HashMap<>();
+        Set<InitTask> visited = new HashSet<>();
+        List<Node> nodes = new ArrayList<>();
+
+        for (InitTask task : initTasks) {
+            visit(task, byClass, visited, sorted, nodes);
+        }
+
+        return nodes;
+    }
+
+    private static void visit(InitTask task, Map<String, List<InitTask>> byClass, Set<InitTask> visited, Map<InitTask, Integer> sorted, List<Node> nodes) {
+        if (!visited.add(task)) return;
+
+        for (String dependency : task.dependencies) {
+            for (InitTask t : byClass.getOrDefault(dependency, Collections.emptyList())) {
+                visit(t, byClass, visited, sorted, nodes);
+            }
+        }
+
+        // Only dependencies that were sorted before this task, the rest are part of a cycle
+        IntArrayList dependencies = new IntArrayList();
+        for (String dependency : task.dependencies) {
+            for (InitTask t : byClass.getOrDefault(dependency, Collections.emptyList())) {
+                Integer i = sorted.get(t);
+                if (i != null) dependencies.add(i.intValue());
             }
         }
+
+        sorted.put(task, nodes.size());
+        nodes.add(new Node(task, dependencies.toIntArray()));
     }
 
-    private static <T extends Annotation> void reflectInit(Method task, Class<T> annotation, Set<Method> left, Map<Class<?>, List<Method>> byClass) {
-        left.remove(task);
+    /**
+     * Runs thread safe tasks on the common pool as soon as their dependencies are done and all other tasks on this
+     * thread in order, waiting only for the dependencies they have.
+     */
+    private static void run(List<Node> nodes, String annotation) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[nodes.size()];
+
+        try {
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+
+                CompletableFuture<?>[] dependencies = new CompletableFuture<?>[node.dependencies.length];
+                for (int j = 0; j < dependencies.length; j++) dependencies[j] = futures[node.dependencies[j]];
+
+                if (node.task.threadSafe) {
+                    futures[i] = CompletableFuture.allOf(dependencies).thenRunAsync(() -> invoke(node.task, annotation));
+                }
+                else {
+                    CompletableFuture.allOf(dependencies).join();
+                    invoke(node.task, annotation);
 
-        for (Class<?> clazz : getDependencies(task, annotation)) {
-            for (Method m : byClass.getOrDefault(clazz, Collections.emptyList())) {
-                if (left.contains(m)) {
-                    reflectInit(m, annotation, left, byClass);
+                    futures[i] = CompletableFuture.completedFuture(null);
                 }
             }
+
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
         }
+    }
+
+    private static void invoke(InitTask task, String annotation) {
+        long start = System.nanoTime();
 
         try {
-            task.invoke(null);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new IllegalStateException("Error running @%s task '%s.%s'".formatted(annotation.getSimpleName(), task.getDeclaringClass().getSimpleName(), task.getName()), e);
+            Method method = Class.forName(task.className, true, task.classLoader).getDeclaredMethod(task.methodName);
+            method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            throw new IllegalStateException("Error running @%s task '%s.%s'".formatted(annotation, task.simpleClassName(), task.methodName), cause);
         } catch (NullPointerException e) {
-            throw new RuntimeException("Method \"%s\" using Init annotations from non-static context".formatted(task.getName()), e);
+            throw new RuntimeException("Method \"%s\" using Init annotations from non-static context".formatted(task.methodName), e);
         }
+
+        MeteorClient.LOG.debug("@{} task '{}.{}' took {} ms.", annotation, task.simpleClassName(), task.methodName, (System.nanoTime() - start) / 1_000_000.0);
     }
 
-    private static <T extends Annotation> Class<?>[] getDependencies(Method task, Class<T> annotation) {
-        T init = task.getAnnotation(annotation);
+    private record InitTask(String annotation, String className, String methodName, boolean threadSafe, List<String> dependencies, ClassLoader classLoader) {
+        public static InitTask of(Class<? extends Annotation> annotation, Method method, Class<?>[] dependencies, boolean threadSafe) {
+            List<String> names = new ArrayList<>(dependencies.length);
+            for (Class<?> dependency : dependencies) names.add(dependency.getName());
+
+            Class<?> owner = method.getDeclaringClass();
+            return new InitTask(annotation.getSimpleName(), owner.getName(), method.getName(), threadSafe, names, owner.getClassLoader());
+        }
 
-        return switch (init) {
-            case PreInit pre -> pre.dependencies();
-            case PostInit post -> post.dependencies();
-            default -> new Class<?>[]{};
-        };
+        public String simpleClassName() {
+            return className.substring(className.lastIndexOf('.') + 1);
+        }
     }
+
+    private record Node(InitTask task, int[] dependencies) {}
 }
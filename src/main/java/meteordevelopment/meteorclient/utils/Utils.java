@@ -23,7 +23,7 @@ import meteordevelopment.meteorclient.utils.player.EChestMemory;
 import meteordevelopment.meteorclient.utils.render.PeekScreen;
 import meteordevelopment.meteorclient.utils.render.RenderUtils;
 import meteordevelopment.meteorclient.utils.render.color.Color;
-import meteordevelopment.meteorclient.utils.world.BlockEntityIterator;
+import meteordevelopment.meteorclient.utils.world.BlockEntityIndex;
 import meteordevelopment.meteorclient.utils.world.ChunkIterator;
 import meteordevelopment.orbit.EventHandler;
 import net.minecraft.block.Block;
@@ -82,6 +82,7 @@ public class Utils {
     public static boolean isReleasingTrident;
     public static boolean rendering3D = true;
     public static double frameTime;
+    public static int frameCount;
     public static Screen screenToOpen;
 
     private static final ProjectionMatrix2 matrix = new ProjectionMatrix2("meteor-projection-matrix", -10, 100, true);
@@ -142,7 +143,7 @@ public class Utils {
     }
 
     public static Iterable<BlockEntity> blockEntities() {
-        return BlockEntityIterator::new;
+        return BlockEntityIndex.all();
     }
 
     public static void getEnchantments(ItemStack itemStack, Object2IntMap<RegistryEntry<Enchantment>> enchantments) {
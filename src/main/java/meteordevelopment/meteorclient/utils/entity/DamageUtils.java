@@ -116,11 +116,23 @@ public class DamageUtils {
     }
 
     private static float overridingExplosionDamage(LivingEntity target, Vec3d explosionPos, float power, boolean predictMovement, BlockPos overridePos, BlockState overrideState) {
-        return explosionDamage(target, explosionPos, power, predictMovement, getOverridingHitFactory(overridePos, overrideState));
+        return cachedExplosionDamage(target, explosionPos, power, predictMovement, overridePos, overrideState);
     }
 
     private static float explosionDamage(LivingEntity target, Vec3d explosionPos, float power, boolean predictMovement) {
-        return explosionDamage(target, explosionPos, power, predictMovement, HIT_FACTORY);
+        return cachedExplosionDamage(target, explosionPos, power, predictMovement, null, null);
+    }
+
+    /**
+     * Explosion damage shared between all callers during a tick, see {@link ExplosionDamageCache}.
+     */
+    private static float cachedExplosionDamage(LivingEntity target, Vec3d explosionPos, float power, boolean predictMovement, @Nullable BlockPos overridePos, @Nullable BlockState overrideState) {
+        if (target == null) return 0f;
+
+        return ExplosionDamageCache.get(target, explosionPos, power, predictMovement, overridePos, overrideState, () -> {
+            RaycastFactory raycastFactory = overridePos == null ? HIT_FACTORY : getOverridingHitFactory(overridePos, overrideState);
+            return explosionDamage(target, explosionPos, power, predictMovement, raycastFactory);
+        });
     }
 
     private static float explosionDamage(LivingEntity target, Vec3d explosionPos, float power, boolean predictMovement, RaycastFactory raycastFactory) {
@@ -136,16 +148,7 @@ public class DamageUtils {
     }
 
     public static RaycastFactory getOverridingHitFactory(BlockPos overridePos, BlockState overrideState) {
-        return (context, blockPos) -> {
-            BlockState blockState;
-            if (blockPos.equals(overridePos)) blockState = overrideState;
-            else {
-                blockState = mc.world.getBlockState(blockPos);
-                if (blockState.getBlock().getBlastResistance() < 600) return null;
-            }
-
-            return blockState.getCollisionShape(mc.world, blockPos).raycast(context.start(), context.end(), blockPos);
-        };
+        return new OverridingHitFactory(overridePos.toImmutable(), overrideState);
     }
 
     // Sword damage
@@ -353,6 +356,10 @@ public class DamageUtils {
      * @see net.minecraft.world.explosion.ExplosionImpl#calculateReceivedDamage(Vec3d, Entity)
      */
     private static float getExposure(Vec3d source, Box box, RaycastFactory raycastFactory) {
+        // Meteor's own factories are handled by the allocation free calculator
+        if (raycastFactory == HIT_FACTORY) return ExposureCalculator.getExposure(source, box, null, null);
+        if (raycastFactory instanceof OverridingHitFactory factory) return ExposureCalculator.getExposure(source, box, factory.overridePos, factory.overrideState);
+
         double xDiff = box.maxX - box.minX;
         double yDiff = box.maxY - box.minY;
         double zDiff = box.maxZ - box.minZ;
@@ -407,4 +414,18 @@ public class DamageUtils {
 
     @FunctionalInterface
     public interface RaycastFactory extends BiFunction<ExposureRaycastContext, BlockPos, BlockHitResult> {}
+
+    private record OverridingHitFactory(BlockPos overridePos, BlockState overrideState) implements RaycastFactory {
+        @Override
+        public BlockHitResult apply(ExposureRaycastContext context, BlockPos blockPos) {
+            BlockState blockState;
+            if (blockPos.equals(overridePos)) blockState = overrideState;
+            else {
+                blockState = mc.world.getBlockState(blockPos);
+                if (blockState.getBlock().getBlastResistance() < 600) return null;
+            }
+
+            return blockState.getCollisionShape(mc.world, blockPos).raycast(context.start(), context.end(), blockPos);
+        }
+    }
 }
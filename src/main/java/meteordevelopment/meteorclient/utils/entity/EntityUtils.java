@@ -34,6 +34,7 @@ import net.minecraft.world.entity.SectionedEntityCache;
 import net.minecraft.world.entity.SimpleEntityLookup;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
@@ -291,6 +292,17 @@ public class EntityUtils {
         return found.get();
     }
 
+    /**
+     * Calls the action for every entity whose bounding box intersects the box, only visiting the entity sections the box
+     * overlaps instead of every entity in the world.
+     */
+    public static void forEachIntersecting(Box box, Consumer<Entity> action) {
+        intersectsWithEntity(box, entity -> {
+            action.accept(entity);
+            return false;
+        });
+    }
+
     public static EntityType<?> getGroup(Entity entity) {
         return entity.getType();
     }
@@ -0,0 +1,170 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.entity;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.world.BlockUpdateEvent;
+import meteordevelopment.meteorclient.events.world.ChunkDataEvent;
+import meteordevelopment.meteorclient.events.world.TickEvent;
+import meteordevelopment.meteorclient.utils.PreInit;
+import meteordevelopment.orbit.EventHandler;
+import meteordevelopment.orbit.EventPriority;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.attribute.EntityAttributes;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+
+/**
+ * Tick scoped cache of the explosion damage calculated by {@link DamageUtils}, shared by every module that asks for the
+ * damage of the same explosion to the same entity during one tick. Entries are dropped at the start of every tick and
+ * on block updates, and an entry is ignored when its entity moved, changed armor or got a different Resistance effect
+ * since it was calculated.
+ * <p>
+ * Only used on the client thread, other threads calculate the damage without the cache.
+ */
+public class ExplosionDamageCache {
+    private static final EquipmentSlot[] ARMOR_SLOTS = { EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET };
+    private static final Map<Key, Entry> cache = new Object2ObjectOpenHashMap<>();
+
+    private ExplosionDamageCache() {
+    }
+
+    @PreInit
+    public static void init() {
+        MeteorClient.EVENT_BUS.subscribe(ExplosionDamageCache.class);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onTick(TickEvent.Pre event) {
+        cache.clear();
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onBlockUpdate(BlockUpdateEvent event) {
+        cache.clear();
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onChunkData(ChunkDataEvent event) {
+        cache.clear();
+    }
+
+    /**
+     * @return the cached damage of the explosion to the target, calculated and stored if there is none
+     */
+    static float get(LivingEntity target, Vec3d explosionPos, float power, boolean predictMovement, @Nullable BlockPos overridePos, @Nullable BlockState overrideState, Calculator calculator) {
+        if (!mc.isOnThread()) return calculator.calculate();
+
+        Key key = new Key(target.getId(), explosionPos.x, explosionPos.y, explosionPos.z, power, predictMovement, overridePos == null ? Long.MIN_VALUE : overridePos.asLong(), overrideState);
+        Entry entry = cache.get(key);
+
+        if (entry != null && entry.matches(target)) return entry.damage;
+
+        float damage = calculator.calculate();
+
+        if (entry == null) {
+            entry = new Entry();
+            cache.put(key, entry);
+        }
+
+        entry.set(target, damage);
+        return damage;
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+
+    @FunctionalInterface
+    interface Calculator {
+        float calculate();
+    }
+
+    private record Key(int entityId, double x, double y, double z, float power, boolean predictMovement, long overridePos, @Nullable BlockState overrideState) {
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+
+            return entityId == key.entityId && x == key.x && y == key.y && z == key.z && power == key.power
+                && predictMovement == key.predictMovement && overridePos == key.overridePos && overrideState == key.overrideState;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = entityId;
+            result = 31 * result + Double.hashCode(x);
+            result = 31 * result + Double.hashCode(y);
+            result = 31 * result + Double.hashCode(z);
+            result = 31 * result + Float.hashCode(power);
+            result = 31 * result + Boolean.hashCode(predictMovement);
+            result = 31 * result + Long.hashCode(overridePos);
+            return 31 * result + System.identityHashCode(overrideState);
+        }
+    }
+
+    private static class Entry {
+        private double x, y, z;
+        private double velocityX, velocityY, velocityZ;
+
+        // Everything the damage reductions depend on
+        private final ItemStack[] armor = new ItemStack[4];
+        private double armorValue, toughness;
+        private int resistance;
+
+        private float damage;
+
+        public void set(LivingEntity target, float damage) {
+            this.x = target.getX();
+            this.y = target.getY();
+            this.z = target.getZ();
+
+            Vec3d velocity = target.getVelocity();
+            this.velocityX = velocity.x;
+            this.velocityY = velocity.y;
+            this.velocityZ = velocity.z;
+
+            for (int i = 0; i < ARMOR_SLOTS.length; i++) armor[i] = target.getEquippedStack(ARMOR_SLOTS[i]);
+            this.armorValue = target.getAttributeValue(EntityAttributes.ARMOR);
+            this.toughness = target.getAttributeValue(EntityAttributes.ARMOR_TOUGHNESS);
+            this.resistance = getResistance(target);
+
+            this.damage = damage;
+        }
+
+        public boolean matches(LivingEntity target) {
+            Vec3d velocity = target.getVelocity();
+
+            if (target.getX() != x || target.getY() != y || target.getZ() != z
+                || velocity.x != velocityX || velocity.y != velocityY || velocity.z != velocityZ) return false;
+
+            // Equipment updates from the server replace the stacks
+            for (int i = 0; i < ARMOR_SLOTS.length; i++) {
+                if (target.getEquippedStack(ARMOR_SLOTS[i]) != armor[i]) return false;
+            }
+
+            return target.getAttributeValue(EntityAttributes.ARMOR) == armorValue
+                && target.getAttributeValue(EntityAttributes.ARMOR_TOUGHNESS) == toughness
+                && getResistance(target) == resistance;
+        }
+
+        private static int getResistance(LivingEntity target) {
+            StatusEffectInstance effect = target.getStatusEffect(StatusEffects.RESISTANCE);
+            return effect == null ? -1 : effect.getAmplifier();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.entity;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.world.BlockUpdateEvent;
+import meteordevelopment.meteorclient.events.world.ChunkDataEvent;
+import meteordevelopment.meteorclient.events.world.TickEvent;
+import meteordevelopment.meteorclient.utils.PreInit;
+import meteordevelopment.orbit.EventHandler;
+import meteordevelopment.orbit.EventPriority;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.shape.VoxelShape;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+
+/**
+ * Allocation free replacement for the raycasts done by {@link DamageUtils} when calculating explosion exposure.
+ * <p>
+ * Rays are traced with the same voxel traversal as {@link net.minecraft.world.BlockView#raycast} and tested against the
+ * same collision boxes as {@link VoxelShape#raycast(Vec3d, Vec3d, BlockPos)}, so the result matches the vanilla path.
+ * Collision shapes around the explosion are looked up once and shared by every ray of every exposure calculation for
+ * that explosion until the next tick or block update.
+ */
+public class ExposureCalculator {
+    private static final int RADIUS = 16;
+    private static final int SIZE = RADIUS * 2 + 1;
+
+    private static final VoxelShape[] shapes = new VoxelShape[SIZE * SIZE * SIZE];
+    private static final int[] stamps = new int[SIZE * SIZE * SIZE];
+    private static int stamp = 1;
+
+    // Flattened bounding boxes (minX, minY, minZ, maxX, maxY, maxZ) of each collision shape
+    private static final Map<VoxelShape, double[]> boxes = new Reference2ObjectOpenHashMap<>();
+
+    private static final BlockPos.Mutable blockPos = new BlockPos.Mutable();
+
+    private static double sourceX, sourceY, sourceZ;
+    private static int originX, originY, originZ;
+
+    private static int overrideX, overrideY, overrideZ;
+    private static VoxelShape overrideShape;
+    private static boolean override;
+
+    private ExposureCalculator() {
+    }
+
+    @PreInit
+    public static void init() {
+        MeteorClient.EVENT_BUS.subscribe(ExposureCalculator.class);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onTick(TickEvent.Pre event) {
+        invalidate();
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onBlockUpdate(BlockUpdateEvent event) {
+        invalidate();
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onChunkData(ChunkDataEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Drops all cached collision shapes, the next calculation will look them up from the world again.
+     */
+    public static void invalidate() {
+        stamp++;
+
+        // Stamps wrapped around, clear them so old entries can't be mistaken for new ones
+        if (stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+
+        sourceX = Double.NaN;
+    }
+
+    /**
+     * @param overridePos position whose block state is replaced by {@code overrideState}, or null to not override anything
+     * @see DamageUtils#getOverridingHitFactory(BlockPos, BlockState)
+     */
+    public static float getExposure(Vec3d source, Box box, @Nullable BlockPos overridePos, @Nullable BlockState overrideState) {
+        begin(source, overridePos, overrideState);
+
+        double xDiff = box.maxX - box.minX;
+        double yDiff = box.maxY - box.minY;
+        double zDiff = box.maxZ - box.minZ;
+
+        double xStep = 1 / (xDiff * 2 + 1);
+        double yStep = 1 / (yDiff * 2 + 1);
+        double zStep = 1 / (zDiff * 2 + 1);
+
+        if (xStep > 0 && yStep > 0 && zStep > 0) {
+            int misses = 0;
+            int hits = 0;
+
+            double xOffset = (1 - Math.floor(1 / xStep) * xStep) * 0.5;
+            double zOffset = (1 - Math.floor(1 / zStep) * zStep) * 0.5;
+
+            xStep = xStep * xDiff;
+            yStep = yStep * yDiff;
+            zStep = zStep * zDiff;
+
+            double startX = box.minX + xOffset;
+            double startY = box.minY;
+            double startZ = box.minZ + zOffset;
+            double endX = box.maxX + xOffset;
+            double endY = box.maxY;
+            double endZ = box.maxZ + zOffset;
+
+            for (double x = startX; x <= endX; x += xStep) {
+                for (double y = startY; y <= endY; y += yStep) {
+                    for (double z = startZ; z <= endZ; z += zStep) {
+                        if (!raycast(x, y, z, sourceX, sourceY, sourceZ)) misses++;
+
+                        hits++;
+                    }
+                }
+            }
+
+            return (float) misses / hits;
+        }
+
+        return 0f;
+    }
+
+    private static void begin(Vec3d source, @Nullable BlockPos overridePos, @Nullable BlockState overrideState) {
+        // Shapes can be reused when the previous calculation was for the same explosion
+        if (source.x != sourceX || source.y != sourceY || source.z != sourceZ) {
+            invalidate();
+
+            sourceX = source.x;
+            sourceY = source.y;
+            sourceZ = source.z;
+
+            originX = MathHelper.floor(source.x) - RADIUS;
+            originY = MathHelper.floor(source.y) - RADIUS;
+            originZ = MathHelper.floor(source.z) - RADIUS;
+        }
+
+        override = overridePos != null;
+
+        if (override) {
+            overrideX = overridePos.getX();
+            overrideY = overridePos.getY();
+            overrideZ = overridePos.getZ();
+            overrideShape = overrideState.getCollisionShape(mc.world, overridePos);
+        }
+        else overrideShape = null;
+    }
+
+    /**
+     * @return true if the segment from start to end hits a blast resistant block
+     * @see net.minecraft.world.BlockView#raycast
+     */
+    private static boolean raycast(double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        if (startX == endX && startY == endY && startZ == endZ) return false;
+
+        double d = MathHelper.lerp(-1.0E-7, endX, startX);
+        double e = MathHelper.lerp(-1.0E-7, endY, startY);
+        double f = MathHelper.lerp(-1.0E-7, endZ, startZ);
+        double g = MathHelper.lerp(-1.0E-7, startX, endX);
+        double h = MathHelper.lerp(-1.0E-7, startY, endY);
+        double i = MathHelper.lerp(-1.0E-7, startZ, endZ);
+
+        int x = MathHelper.floor(g);
+        int y = MathHelper.floor(h);
+        int z = MathHelper.floor(i);
+
+        if (hit(x, y, z, startX, startY, startZ, endX, endY, endZ)) return true;
+
+        double dx = d - g;
+        double dy = e - h;
+        double dz = f - i;
+
+        int stepX = MathHelper.sign(dx);
+        int stepY = MathHelper.sign(dy);
+        int stepZ = MathHelper.sign(dz);
+
+        double deltaX = stepX == 0 ? Double.MAX_VALUE : stepX / dx;
+        double deltaY = stepY == 0 ? Double.MAX_VALUE : stepY / dy;
+        double deltaZ = stepZ == 0 ? Double.MAX_VALUE : stepZ / dz;
+
+        double tX = deltaX * (stepX > 0 ? 1 - MathHelper.fractionalPart(g) : MathHelper.fractionalPart(g));
+        double tY = deltaY * (stepY > 0 ? 1 - MathHelper.fractionalPart(h) : MathHelper.fractionalPart(h));
+        double tZ = deltaZ * (stepZ > 0 ? 1 - MathHelper.fractionalPart(i) : MathHelper.fractionalPart(i));
+
+        while (tX <= 1 || tY <= 1 || tZ <= 1) {
+            if (tX < tY) {
+                if (tX < tZ) {
+                    x += stepX;
+                    tX += deltaX;
+                }
+                else {
+                    z += stepZ;
+                    tZ += deltaZ;
+                }
+            }
+            else if (tY < tZ) {
+                y += stepY;
+                tY += deltaY;
+            }
+            else {
+                z += stepZ;
+                tZ += deltaZ;
+            }
+
+            if (hit(x, y, z, startX, startY, startZ, endX, endY, endZ)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @see DamageUtils#HIT_FACTORY
+     * @see VoxelShape#raycast(Vec3d, Vec3d, BlockPos)
+     */
+    private static boolean hit(int x, int y, int z, double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        VoxelShape shape = override && x == overrideX && y == overrideY && z == overrideZ ? overrideShape : getShape(x, y, z);
+        if (shape == null || shape.isEmpty()) return false;
+
+        double dx = endX - startX;
+        double dy = endY - startY;
+        double dz = endZ - startZ;
+
+        if (dx * dx + dy * dy + dz * dz < 1.0E-7) return false;
+
+        double[] boxes = getBoxes(shape);
+
+        // Starting inside of the shape
+        double px = startX + dx * 0.001 - x;
+        double py = startY + dy * 0.001 - y;
+        double pz = startZ + dz * 0.001 - z;
+
+        for (int j = 0; j < boxes.length; j += 6) {
+            if (px >= boxes[j] && px < boxes[j + 3] && py >= boxes[j + 1] && py < boxes[j + 4] && pz >= boxes[j + 2] && pz < boxes[j + 5]) return true;
+        }
+
+        // Entering one of the boxes, see Box#raycast(Iterable, Vec3d, Vec3d, BlockPos)
+        for (int j = 0; j < boxes.length; j += 6) {
+            double minX = boxes[j] + x, minY = boxes[j + 1] + y, minZ = boxes[j + 2] + z;
+            double maxX = boxes[j + 3] + x, maxY = boxes[j + 4] + y, maxZ = boxes[j + 5] + z;
+
+            if (dx > 1.0E-7 && crosses(dx, dy, dz, minX, minY, maxY, minZ, maxZ, startX, startY, startZ)) return true;
+            if (dx < -1.0E-7 && crosses(dx, dy, dz, maxX, minY, maxY, minZ, maxZ, startX, startY, startZ)) return true;
+            if (dy > 1.0E-7 && crosses(dy, dz, dx, minY, minZ, maxZ, minX, maxX, startY, startZ, startX)) return true;
+            if (dy < -1.0E-7 && crosses(dy, dz, dx, maxY, minZ, maxZ, minX, maxX, startY, startZ, startX)) return true;
+            if (dz > 1.0E-7 && crosses(dz, dx, dy, minZ, minX, maxX, minY, maxY, startZ, startX, startY)) return true;
+            if (dz < -1.0E-7 && crosses(dz, dx, dy, maxZ, minX, maxX, minY, maxY, startZ, startX, startY)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean crosses(double delta, double deltaA, double deltaB, double begin, double minA, double maxA, double minB, double maxB, double start, double startA, double startB) {
+        double t = (begin - start) / delta;
+        if (t <= 0 || t >= 1) return false;
+
+        double a = startA + t * deltaA;
+        double b = startB + t * deltaB;
+
+        return minA - 1.0E-7 < a && a < maxA + 1.0E-7 && minB - 1.0E-7 < b && b < maxB + 1.0E-7;
+    }
+
+    private static VoxelShape getShape(int x, int y, int z) {
+        int ix = x - originX, iy = y - originY, iz = z - originZ;
+
+        // Outside of the cached area
+        if (ix < 0 || ix >= SIZE || iy < 0 || iy >= SIZE || iz < 0 || iz >= SIZE) return lookupShape(x, y, z);
+
+        int i = (ix * SIZE + iy) * SIZE + iz;
+
+        if (stamps[i] != stamp) {
+            shapes[i] = lookupShape(x, y, z);
+            stamps[i] = stamp;
+        }
+
+        return shapes[i];
+    }
+
+    private static VoxelShape lookupShape(int x, int y, int z) {
+        BlockState blockState = mc.world.getBlockState(blockPos.set(x, y, z));
+        if (blockState.getBlock().getBlastResistance() < 600) return null;
+
+        VoxelShape shape = blockState.getCollisionShape(mc.world, blockPos);
+        return shape.isEmpty() ? null : shape;
+    }
+
+    private static double[] getBoxes(VoxelShape shape) {
+        double[] array = boxes.get(shape);
+
+        if (array == null) {
+            // Most shapes are shared between block states but some blocks create new ones
+            if (boxes.size() > 4096) boxes.clear();
+
+            List<Box> list = shape.getBoundingBoxes();
+            array = new double[list.size() * 6];
+
+            for (int i = 0; i < list.size(); i++) {
+                Box box = list.get(i);
+
+                array[i * 6] = box.minX;
+                array[i * 6 + 1] = box.minY;
+                array[i * 6 + 2] = box.minZ;
+                array[i * 6 + 3] = box.maxX;
+                array[i * 6 + 4] = box.maxY;
+                array[i * 6 + 5] = box.maxZ;
+            }
+
+            boxes.put(shape, array);
+        }
+
+        return array;
+    }
+}
@@ -5,18 +5,25 @@
 
 package meteordevelopment.meteorclient.utils.entity;
 
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.world.TickEvent;
 import meteordevelopment.meteorclient.systems.friends.Friends;
+import meteordevelopment.meteorclient.utils.PreInit;
 import meteordevelopment.meteorclient.utils.Utils;
 import meteordevelopment.meteorclient.utils.entity.fakeplayer.FakePlayerEntity;
 import meteordevelopment.meteorclient.utils.entity.fakeplayer.FakePlayerManager;
 import meteordevelopment.meteorclient.utils.player.PlayerUtils;
+import meteordevelopment.orbit.EventHandler;
+import meteordevelopment.orbit.EventPriority;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.math.Box;
 import net.minecraft.world.GameMode;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.function.Predicate;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
@@ -24,9 +31,25 @@ import static meteordevelopment.meteorclient.MeteorClient.mc;
 public class TargetUtils {
     private static final List<Entity> ENTITIES = new ArrayList<>();
 
+    // Entities around the player shared by every range limited query during a tick
+    private static final List<Entity> CANDIDATES = new ArrayList<>();
+    private static double candidatesRange = -1;
+    private static double candidatesX, candidatesY, candidatesZ;
+
     private TargetUtils() {
     }
 
+    @PreInit
+    public static void init() {
+        MeteorClient.EVENT_BUS.subscribe(TargetUtils.class);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onTick(TickEvent.Pre event) {
+        CANDIDATES.clear();
+        candidatesRange = -1;
+    }
+
     @Nullable
     public static Entity get(Predicate<Entity> isGood, SortPriority sortPriority) {
         ENTITIES.clear();
@@ -38,6 +61,21 @@ public class TargetUtils {
         return null;
     }
 
+    /**
+     * Same as {@link #get(Predicate, SortPriority)} but only tests entities whose bounding box is within {@code range}
+     * blocks of the player on every axis, the predicate still needs to do the exact range check.
+     */
+    @Nullable
+    public static Entity get(double range, Predicate<Entity> isGood, SortPriority sortPriority) {
+        ENTITIES.clear();
+        getList(ENTITIES, range, isGood, sortPriority, 1);
+        if (!ENTITIES.isEmpty()) {
+            return ENTITIES.getFirst();
+        }
+
+        return null;
+    }
+
     public static void getList(List<Entity> targetList, Predicate<Entity> isGood, SortPriority sortPriority, int maxCount) {
         targetList.clear();
 
@@ -49,17 +87,101 @@ public class TargetUtils {
             if (fp != null && isGood.test(fp)) targetList.add(fp);
         });
 
-        targetList.sort(sortPriority);
+        select(targetList, sortPriority, maxCount);
+    }
+
+    /**
+     * Same as {@link #getList(List, Predicate, SortPriority, int)} but only tests entities whose bounding box is within
+     * {@code range} blocks of the player on every axis, the predicate still needs to do the exact range check.
+     */
+    public static void getList(List<Entity> targetList, double range, Predicate<Entity> isGood, SortPriority sortPriority, int maxCount) {
+        targetList.clear();
+
+        updateCandidates(range);
+
+        double x = mc.player.getX();
+        double y = mc.player.getY();
+        double z = mc.player.getZ();
+
+        for (Entity entity : CANDIDATES) {
+            if (entity.isRemoved()) continue;
+
+            Box box = entity.getBoundingBox();
+            if (box.maxX < x - range || box.minX > x + range || box.maxY < y - range || box.minY > y + range || box.maxZ < z - range || box.minZ > z + range) continue;
+
+            if (isGood.test(entity)) targetList.add(entity);
+        }
+
+        FakePlayerManager.forEach(fp -> {
+            if (fp != null && isGood.test(fp)) targetList.add(fp);
+        });
+
+        select(targetList, sortPriority, maxCount);
+    }
+
+    private static void updateCandidates(double range) {
+        double x = mc.player.getX();
+        double y = mc.player.getY();
+        double z = mc.player.getZ();
+
+        if (range <= candidatesRange && x == candidatesX && y == candidatesY && z == candidatesZ) return;
+
+        CANDIDATES.clear();
+        EntityUtils.forEachIntersecting(new Box(x - range, y - range, z - range, x + range, y + range, z + range), CANDIDATES::add);
+
+        candidatesRange = range;
+        candidatesX = x;
+        candidatesY = y;
+        candidatesZ = z;
+    }
+
+    /**
+     * Keeps the {@code maxCount} best entities of the list in sorted order without sorting the whole list.
+     */
+    private static void select(List<Entity> list, SortPriority sortPriority, int maxCount) {
+        if (list.size() <= 1) return;
+
+        if (maxCount == 1) {
+            Entity best = list.getFirst();
+
+            for (int i = 1; i < list.size(); i++) {
+                Entity entity = list.get(i);
+                if (sortPriority.compare(entity, best) < 0) best = entity;
+            }
+
+            list.clear();
+            list.add(best);
+            return;
+        }
+
+        if (list.size() > maxCount && maxCount > 0) {
+            // Max heap of the best entities found so far, the worst one is on top and gets replaced
+            PriorityQueue<Entity> heap = new PriorityQueue<>(maxCount, sortPriority.reversed());
+
+            for (Entity entity : list) {
+                if (heap.size() < maxCount) heap.add(entity);
+                else if (sortPriority.compare(entity, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(entity);
+                }
+            }
+
+            list.clear();
+            list.addAll(heap);
+        }
+
+        list.sort(sortPriority);
+
         // fast list trimming
-        if (targetList.size() > maxCount) {
-            targetList.subList(maxCount, targetList.size()).clear();
+        if (list.size() > maxCount) {
+            list.subList(maxCount, list.size()).clear();
         }
     }
 
     @Nullable
     public static PlayerEntity getPlayerTarget(double range, SortPriority priority) {
         if (!Utils.canUpdate()) return null;
-        return (PlayerEntity) get(entity -> {
+        return (PlayerEntity) get(range, entity -> {
             if (!(entity instanceof PlayerEntity player) || entity == mc.player) return false;
             if (player.isDead() || player.getHealth() <= 0) return false;
             if (!PlayerUtils.isWithin(entity, range)) return false;
@@ -0,0 +1,106 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.entity.simulator;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.game.GameLeftEvent;
+import meteordevelopment.meteorclient.events.world.BlockUpdateEvent;
+import meteordevelopment.meteorclient.events.world.TickEvent;
+import meteordevelopment.meteorclient.utils.PreInit;
+import meteordevelopment.meteorclient.utils.misc.Pool;
+import meteordevelopment.orbit.EventHandler;
+import meteordevelopment.orbit.EventPriority;
+import net.minecraft.entity.Entity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Simulates the path of every fired projectile at most once per tick, no matter how many frames render it or how many
+ * modules look at it. A path is simulated again when the projectile's position or velocity changed or when a block
+ * along it was updated.
+ */
+public class ProjectileSimulations {
+    private static final ProjectileEntitySimulator simulator = new ProjectileEntitySimulator();
+
+    private static final Int2ObjectMap<SimulatedPath> paths = new Int2ObjectOpenHashMap<>();
+    private static final Pool<SimulatedPath> pathPool = new Pool<>(SimulatedPath::new);
+
+    private static int tick;
+
+    private ProjectileSimulations() {
+    }
+
+    @PreInit
+    public static void init() {
+        MeteorClient.EVENT_BUS.subscribe(ProjectileSimulations.class);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onTick(TickEvent.Pre event) {
+        tick++;
+
+        // Projectiles that were not asked for during the last tick are gone or nobody cares about them anymore
+        for (ObjectIterator<Int2ObjectMap.Entry<SimulatedPath>> it = Int2ObjectMaps.fastIterator(paths); it.hasNext(); ) {
+            SimulatedPath path = it.next().getValue();
+
+            if (path.usedTick < tick - 1) {
+                path.clear();
+                pathPool.free(path);
+                it.remove();
+            }
+        }
+    }
+
+    @EventHandler
+    private static void onBlockUpdate(BlockUpdateEvent event) {
+        for (SimulatedPath path : paths.values()) {
+            if (path.intersects(event.pos)) path.tick = -1;
+        }
+    }
+
+    @EventHandler
+    private static void onGameLeft(GameLeftEvent event) {
+        for (SimulatedPath path : paths.values()) {
+            path.clear();
+            pathPool.free(path);
+        }
+
+        paths.clear();
+    }
+
+    /**
+     * @param maxSteps how many ticks to simulate at most, zero for no limit
+     * @return the path of the fired projectile or null if it cannot be simulated. It is only valid until the next call.
+     */
+    public static @Nullable SimulatedPath get(Entity entity, int maxSteps) {
+        SimulatedPath path = paths.get(entity.getId());
+
+        if (path == null || !path.isValid(entity, maxSteps, tick)) {
+            if (!simulator.set(entity)) {
+                if (path != null) {
+                    paths.remove(entity.getId());
+                    path.clear();
+                    pathPool.free(path);
+                }
+
+                return null;
+            }
+
+            if (path == null) {
+                path = pathPool.get();
+                paths.put(entity.getId(), path);
+            }
+
+            path.simulate(simulator, entity, maxSteps, tick);
+        }
+
+        path.usedTick = tick;
+        return path;
+    }
+}
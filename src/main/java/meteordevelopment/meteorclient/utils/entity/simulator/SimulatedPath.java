@@ -0,0 +1,156 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.entity.simulator;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.hit.EntityHitResult;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3d;
+import org.joml.Vector3d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The simulated path of a fired projectile, see {@link ProjectileSimulations}. Points are stored as packed xyz
+ * doubles and the arrays are reused when the path is simulated again.
+ */
+public class SimulatedPath {
+    private double[] points = new double[3 * 64];
+    private int size;
+
+    public boolean blockHit;
+    public double hitX, hitY, hitZ;
+    public Direction hitSide;
+
+    public final List<Entity> collidingEntities = new ArrayList<>();
+
+    // Key
+    private double x, y, z, velocityX, velocityY, velocityZ;
+    private int maxSteps, steps;
+    private boolean truncated;
+    int tick = -1, usedTick;
+
+    private double minX, minY, minZ, maxX, maxY, maxZ;
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int i) {
+        return points[i * 3];
+    }
+
+    public double getY(int i) {
+        return points[i * 3 + 1];
+    }
+
+    public double getZ(int i) {
+        return points[i * 3 + 2];
+    }
+
+    void simulate(ProjectileEntitySimulator simulator, Entity entity, int maxSteps, int tick) {
+        clear();
+
+        x = entity.getX();
+        y = entity.getY();
+        z = entity.getZ();
+        Vec3d velocity = entity.getVelocity();
+        velocityX = velocity.x;
+        velocityY = velocity.y;
+        velocityZ = velocity.z;
+        this.maxSteps = maxSteps;
+        this.tick = tick;
+
+        add(simulator.pos);
+
+        int limit = maxSteps > 0 ? maxSteps : Integer.MAX_VALUE;
+        int i = 0;
+
+        for (; i < limit; i++) {
+            SimulationStep step = simulator.tick();
+
+            for (int j = 0; j < step.hitResults.length; j++) {
+                HitResult result = step.hitResults[j];
+
+                if (result.getType() == HitResult.Type.BLOCK) {
+                    blockHit = true;
+                    hitX = result.getPos().x;
+                    hitY = result.getPos().y;
+                    hitZ = result.getPos().z;
+                    hitSide = ((BlockHitResult) result).getSide();
+
+                    add(result.getPos().x, result.getPos().y, result.getPos().z);
+                }
+                else if (result.getType() == HitResult.Type.ENTITY) {
+                    collidingEntities.add(((EntityHitResult) result).getEntity());
+
+                    if (step.shouldStop && j == step.hitResults.length - 1) {
+                        add(result.getPos().x, result.getPos().y, result.getPos().z);
+                    }
+                }
+            }
+
+            if (step.shouldStop) break;
+            add(simulator.pos);
+        }
+
+        truncated = i == limit;
+        steps = truncated ? limit : i + 1;
+    }
+
+    boolean isValid(Entity entity, int maxSteps, int tick) {
+        if (this.tick != tick) return false;
+
+        // A path that stopped on its own also answers every limit it did not reach
+        if (maxSteps != this.maxSteps && (truncated || (maxSteps > 0 && steps > maxSteps))) return false;
+
+        Vec3d velocity = entity.getVelocity();
+        return entity.getX() == x && entity.getY() == y && entity.getZ() == z && velocity.x == velocityX && velocity.y == velocityY && velocity.z == velocityZ;
+    }
+
+    boolean intersects(BlockPos pos) {
+        return pos.getX() + 1 >= minX && pos.getX() <= maxX && pos.getY() + 1 >= minY && pos.getY() <= maxY && pos.getZ() + 1 >= minZ && pos.getZ() <= maxZ;
+    }
+
+    void clear() {
+        size = 0;
+        blockHit = false;
+        hitSide = null;
+        collidingEntities.clear();
+
+        minX = minY = minZ = Double.POSITIVE_INFINITY;
+        maxX = maxY = maxZ = Double.NEGATIVE_INFINITY;
+    }
+
+    private void add(Vector3d pos) {
+        add(pos.x, pos.y, pos.z);
+    }
+
+    private void add(double x, double y, double z) {
+        if (size * 3 == points.length) {
+            double[] newPoints = new double[points.length * 2];
+            System.arraycopy(points, 0, newPoints, 0, points.length);
+            points = newPoints;
+        }
+
+        points[size * 3] = x;
+        points[size * 3 + 1] = y;
+        points[size * 3 + 2] = z;
+        size++;
+
+        // Projectiles have a size and react to water, one block of margin covers both
+        minX = Math.min(minX, x - 1);
+        minY = Math.min(minY, y - 1);
+        minZ = Math.min(minZ, z - 1);
+        maxX = Math.max(maxX, x + 1);
+        maxY = Math.max(maxY, y + 1);
+        maxZ = Math.max(maxZ, z + 1);
+    }
+}
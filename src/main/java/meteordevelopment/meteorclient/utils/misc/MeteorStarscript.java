@@ -9,6 +9,7 @@ import baritone.api.BaritoneAPI;
 import baritone.api.pathing.goals.Goal;
 import baritone.api.process.IBaritoneProcess;
 import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.world.TickEvent;
 import meteordevelopment.meteorclient.mixin.ClientPlayerInteractionManagerAccessor;
 import meteordevelopment.meteorclient.mixin.MinecraftClientAccessor;
 import meteordevelopment.meteorclient.pathing.BaritoneUtils;
@@ -22,6 +23,7 @@ import meteordevelopment.meteorclient.utils.player.ChatUtils;
 import meteordevelopment.meteorclient.utils.player.PlayerUtils;
 import meteordevelopment.meteorclient.utils.world.Dimension;
 import meteordevelopment.meteorclient.utils.world.TickRate;
+import meteordevelopment.orbit.EventHandler;
 import net.minecraft.SharedConstants;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.network.PlayerListEntry;
@@ -60,9 +62,12 @@ import org.meteordev.starscript.value.ValueMap;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
@@ -73,9 +78,16 @@ public class MeteorStarscript {
     private static final BlockPos.Mutable BP = new BlockPos.Mutable();
     private static final StringBuilder SB = new StringBuilder();
 
+    // Standard library functions whose result only depends on their arguments
+    private static final Set<String> PURE_FUNCTIONS = Set.of("round", "roundToString", "pad", "floor", "ceil", "abs", "toUpper", "toLower", "contains", "replace");
+
+    private static long tick;
+    private static CachedScript recording;
+
     @PreInit(dependencies = PathManagers.class)
     public static void init() {
         StandardLib.init(ss);
+        MeteorClient.EVENT_BUS.subscribe(MeteorStarscript.class);
 
         // General
         ss.set("mc_version", SharedConstants.getGameVersion().name());
@@ -237,6 +249,156 @@ public class MeteorStarscript {
         return run(script, new StringBuilder());
     }
 
+    public static Section runSection(CachedScript script) {
+        try {
+            return script.run();
+        }
+        catch (StarscriptError error) {
+            printChatError(error);
+            return null;
+        }
+    }
+
+    public static String run(CachedScript script) {
+        Section section = runSection(script);
+        return section != null ? section.toString() : null;
+    }
+
+    // Caching
+
+    @EventHandler
+    private static void onTick(TickEvent.Pre event) {
+        tick++;
+    }
+
+    /**
+     * Wraps the variables of the map that are not cached yet. Maps are wrapped when their value is first computed in a
+     * tick, so only the variables that are actually read get cached.
+     */
+    private static void cacheMap(ValueMap map) {
+        boolean globals = map == ss.getGlobals();
+
+        for (String key : map.keys()) {
+            Supplier<Value> supplier = map.getRaw(key);
+            if (supplier == null || supplier instanceof CachedValue) continue;
+
+            map.set(key, new CachedValue(supplier, globals && PURE_FUNCTIONS.contains(key)));
+        }
+    }
+
+    private static boolean isSame(Value a, Value b) {
+        if (a == b) return true;
+
+        if (a.isNull()) return b.isNull();
+        if (a.isBool()) return b.isBool() && a.getBool() == b.getBool();
+        if (a.isNumber()) return b.isNumber() && a.getNumber() == b.getNumber();
+        if (a.isString()) return b.isString() && a.getString().equals(b.getString());
+        if (a.isMap()) return b.isMap() && a.getMap() == b.getMap();
+        if (a.isFunction()) return b.isFunction() && a.getFunction() == b.getFunction();
+
+        return false;
+    }
+
+    /**
+     * A variable whose value is computed at most once per tick, no matter how many scripts read it.
+     */
+    private static class CachedValue implements Supplier<Value> {
+        private final Supplier<Value> supplier;
+        private final boolean pure;
+
+        private Value value;
+        private long valueTick = -1;
+
+        public CachedValue(Supplier<Value> supplier, boolean pure) {
+            this.supplier = supplier;
+            this.pure = pure;
+        }
+
+        @Override
+        public Value get() {
+            if (value == null || valueTick != tick) {
+                value = wrap(supplier.get());
+                valueTick = tick;
+            }
+
+            if (recording != null) recording.read(this, value);
+            return value;
+        }
+
+        private Value wrap(Value value) {
+            if (value.isMap()) cacheMap(value.getMap());
+            else if (value.isFunction() && !pure) {
+                var function = value.getFunction();
+
+                // Functions can read anything, scripts calling them have to run every time
+                return Value.function((ss, argCount) -> {
+                    if (recording != null) recording.callsFunctions = true;
+                    return function.run(ss, argCount);
+                });
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * A compiled script that remembers the variables it read and their values. Running it again only evaluates the
+     * script when one of them changed, otherwise the previous output is returned.
+     */
+    public static class CachedScript {
+        public final Script script;
+
+        private final List<CachedValue> dependencies = new ArrayList<>();
+        private final List<Value> values = new ArrayList<>();
+        private boolean callsFunctions;
+
+        private Section section;
+
+        public CachedScript(Script script) {
+            this.script = script;
+        }
+
+        public Section run() {
+            if (section != null && !hasChanged()) return section;
+
+            section = null;
+            dependencies.clear();
+            values.clear();
+            callsFunctions = false;
+
+            // Addons can add variables at any time
+            cacheMap(ss.getGlobals());
+
+            CachedScript previous = recording;
+            recording = this;
+
+            try {
+                section = ss.run(script);
+            }
+            finally {
+                recording = previous;
+            }
+
+            return section;
+        }
+
+        private boolean hasChanged() {
+            if (callsFunctions) return true;
+
+            // In the order they were read, a changed map means the variables read from it afterwards are stale
+            for (int i = 0; i < dependencies.size(); i++) {
+                if (!isSame(values.get(i), dependencies.get(i).get())) return true;
+            }
+
+            return false;
+        }
+
+        private void read(CachedValue dependency, Value value) {
+            dependencies.add(dependency);
+            values.add(value);
+        }
+    }
+
     // Errors
 
     public static void printChatError(int i, Error error) {
@@ -16,6 +16,7 @@ import net.minecraft.util.Identifier;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Stream;
 
@@ -48,6 +49,7 @@ public class Capes {
         MeteorExecutor.execute(() -> {
             // Cape owners
             Stream<String> lines = Http.get(CAPE_OWNERS_URL)
+                .cache(Duration.ofMinutes(30))
                 .exceptionHandler(e -> MeteorClient.LOG.error("Could not load capes: {}",  e.getMessage()))
                 .sendLines();
             if (lines != null) {
@@ -62,7 +64,7 @@ public class Capes {
             } else return;
 
             // Capes
-            lines = Http.get(CAPES_URL).sendLines();
+            lines = Http.get(CAPES_URL).cache(Duration.ofMinutes(30)).sendLines();
             if (lines != null) lines.forEach(s -> {
                 String[] split = s.split(" ");
 
@@ -150,7 +152,7 @@ public class Capes {
                         }
                     }
 
-                    InputStream in = Http.get(url).sendInputStream();
+                    InputStream in = Http.get(url).cache(Duration.ofDays(7)).sendInputStream();
                     if (in == null) {
                         synchronized (TO_RETRY) {
                             TO_RETRY.add(this);
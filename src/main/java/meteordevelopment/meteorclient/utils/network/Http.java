@@ -18,8 +18,13 @@ import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -30,6 +35,8 @@ public class Http {
     public static final int FORBIDDEN = 403;
     public static final int NOT_FOUND = 404;
 
+    private static final int MAX_REQUESTS_PER_HOST = 6;
+
     private static final HttpClient CLIENT = HttpClient.newBuilder()
         .executor(Executors.newVirtualThreadPerTaskExecutor())
         .build();
@@ -38,6 +45,8 @@ public class Http {
         .registerTypeAdapter(Date.class, new JsonDateDeserializer())
         .create();
 
+    private static final Map<String, Semaphore> HOSTS = new ConcurrentHashMap<>();
+
     private enum Method {
         GET,
         POST
@@ -47,6 +56,7 @@ public class Http {
         private final HttpRequest.Builder builder;
         private Method method;
         private Consumer<Exception> exceptionHandler = Exception::printStackTrace;
+        private Duration cacheTtl;
 
         private Request(Method method, String url) {
             try {
@@ -101,6 +111,15 @@ public class Http {
             return this;
         }
 
+        /**
+         * Caches the response of this GET request, see {@link HttpCache}. A cached response younger than the time to
+         * live is used without asking the server, an older one is only downloaded again if it changed.
+         */
+        public Request cache(Duration ttl) {
+            cacheTtl = ttl;
+            return this;
+        }
+
         public Request ignoreExceptions() {
             exceptionHandler = e -> {};
             return this;
@@ -118,7 +137,8 @@ public class Http {
             HttpRequest request = builder.build();
 
             try {
-                return CLIENT.send(request, responseBodyHandler);
+                if (cacheTtl != null && method == Method.GET) return HttpCache.send(request, cacheTtl, responseBodyHandler);
+                return send(request, responseBodyHandler);
             } catch (IOException | InterruptedException e) {
                 exceptionHandler.accept(e);
                 return new FailedHttpResponse<>(request, e);
@@ -176,6 +196,25 @@ public class Http {
         }
     }
 
+    /**
+     * Sends the request once fewer than {@link #MAX_REQUESTS_PER_HOST} requests to the same host are waiting for their
+     * response, so bursts like loading every cape or friend head do not open a connection each.
+     * <p>
+     * The permit is released when {@link HttpClient#send} returns. Body handlers that read the whole body, like the byte
+     * array one {@link HttpCache} uses for every cached request, are limited until the body is read. Streaming ones like
+     * {@link HttpResponse.BodyHandlers#ofInputStream()} only until the headers arrive, their body is read after.
+     */
+    static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) throws IOException, InterruptedException {
+        Semaphore permits = HOSTS.computeIfAbsent(Objects.requireNonNullElse(request.uri().getHost(), ""), host -> new Semaphore(MAX_REQUESTS_PER_HOST));
+        permits.acquire();
+
+        try {
+            return CLIENT.send(request, responseBodyHandler);
+        } finally {
+            permits.release();
+        }
+    }
+
     public static Request get(String url) {
         return new Request(Method.GET, url);
     }
@@ -0,0 +1,308 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.network;
+
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.utils.PreInit;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLSession;
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+/**
+ * Cache for GET requests made with {@link Http.Request#cache(Duration)}, keyed by URL. Responses are kept in memory and
+ * on disk, so they survive restarts. A response younger than the request's time to live is returned without going to
+ * the network, an older one is revalidated with its {@code ETag} or {@code Last-Modified} header and only downloaded
+ * again if it changed. If the server cannot be reached or answers with an error an old response is returned instead of
+ * failing.
+ * <p>
+ * Concurrent requests for the same URL share one request to the server. Only successful responses are stored, and
+ * only requests that do not depend on their headers, like authentication, should be cached.
+ * <p>
+ * On startup responses that were not fetched for far longer than any request caches them for are deleted, and the
+ * oldest ones are deleted while the cache is bigger than {@link #MAX_DISK_SIZE}.
+ */
+public class HttpCache {
+    private static final File FOLDER = new File(MeteorClient.FOLDER, "http-cache");
+    private static final int VERSION = 1;
+    private static final int MAX_MEMORY_ENTRIES = 256;
+    private static final long MAX_DISK_SIZE = 64 * 1024 * 1024;
+    private static final long MAX_AGE = Duration.ofDays(30).toMillis();
+    private static final long MAX_TEMP_AGE = Duration.ofHours(1).toMillis();
+
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.of(Map.of(), (name, value) -> true);
+
+    private static final Map<String, Entry> MEMORY = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_MEMORY_ENTRIES;
+        }
+    });
+
+    private static final Map<String, CompletableFuture<Entry>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private HttpCache() {
+    }
+
+    @PreInit(dependencies = MeteorExecutor.class)
+    public static void init() {
+        MeteorExecutor.execute(HttpCache::prune);
+    }
+
+    static <T> HttpResponse<T> send(HttpRequest request, Duration ttl, HttpResponse.BodyHandler<T> responseBodyHandler) throws IOException, InterruptedException {
+        String key = request.uri().toString();
+
+        Entry entry = get(key);
+        if (entry == null || System.currentTimeMillis() - entry.fetched >= ttl.toMillis()) entry = fetch(key, request, entry);
+
+        return entry.toResponse(request, responseBodyHandler);
+    }
+
+    /**
+     * Sends the request unless the same URL is already being requested, in which case that response is waited for.
+     */
+    private static Entry fetch(String key, HttpRequest request, @Nullable Entry stale) throws IOException, InterruptedException {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> inFlight = IN_FLIGHT.putIfAbsent(key, future);
+
+        if (inFlight != null) {
+            try {
+                return inFlight.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException cause) throw cause;
+                if (e.getCause() instanceof InterruptedException cause) throw cause;
+                throw new IOException(e.getCause());
+            }
+        }
+
+        try {
+            Entry entry = revalidate(key, request, stale);
+            future.complete(entry);
+            return entry;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, future);
+        }
+    }
+
+    private static Entry revalidate(String key, HttpRequest request, @Nullable Entry stale) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true);
+
+        if (stale != null) {
+            if (stale.etag != null) builder.header("If-None-Match", stale.etag);
+            if (stale.lastModified != null) builder.header("If-Modified-Since", stale.lastModified);
+        }
+
+        HttpResponse<byte[]> res;
+
+        try {
+            res = Http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            if (stale == null) throw e;
+
+            MeteorClient.LOG.debug("Could not revalidate {}, using the cached response: {}", key, e.getMessage());
+            return stale;
+        }
+
+        long now = System.currentTimeMillis();
+
+        // A server error should not hide a response that was fine before
+        if (stale != null && res.statusCode() != Http.SUCCESS && res.statusCode() != 304) {
+            MeteorClient.LOG.debug("Could not revalidate {}, using the cached response: status {}", key, res.statusCode());
+            return stale;
+        }
+
+        if (res.statusCode() == 304 && stale != null) {
+            Entry entry = new Entry(stale.status, stale.body, stale.etag, stale.lastModified, now);
+            put(key, entry);
+            return entry;
+        }
+
+        Entry entry = new Entry(res.statusCode(), res.body(), res.headers().firstValue("ETag").orElse(null), res.headers().firstValue("Last-Modified").orElse(null), now);
+        if (entry.status == Http.SUCCESS) put(key, entry);
+
+        return entry;
+    }
+
+    // Storage
+
+    @Nullable
+    private static Entry get(String key) {
+        Entry entry = MEMORY.get(key);
+        if (entry != null) return entry;
+
+        File file = getFile(key);
+        if (!file.exists()) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != VERSION || !in.readUTF().equals(key)) return null;
+
+            long fetched = in.readLong();
+            String etag = readNullable(in);
+            String lastModified = readNullable(in);
+            byte[] body = in.readNBytes(in.readInt());
+
+            entry = new Entry(Http.SUCCESS, body, etag, lastModified, fetched);
+            MEMORY.put(key, entry);
+
+            return entry;
+        } catch (IOException e) {
+            MeteorClient.LOG.warn("Failed to read cached response for {}", key, e);
+            return null;
+        }
+    }
+
+    private static void put(String key, Entry entry) {
+        MEMORY.put(key, entry);
+
+        File file = getFile(key);
+        File temp = new File(FOLDER, file.getName() + ".tmp" + Thread.currentThread().threadId());
+
+        try {
+            FOLDER.mkdirs();
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeLong(entry.fetched);
+                writeNullable(out, entry.etag);
+                writeNullable(out, entry.lastModified);
+                out.writeInt(entry.body.length);
+                out.write(entry.body);
+            }
+
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            MeteorClient.LOG.warn("Failed to cache response for {}", key, e);
+            temp.delete();
+        }
+    }
+
+    private static void prune() {
+        File[] files = FOLDER.listFiles();
+        if (files == null) return;
+
+        long now = System.currentTimeMillis();
+        long size = 0;
+        int deleted = 0;
+
+        List<CachedFile> kept = new ArrayList<>(files.length);
+
+        for (File file : files) {
+            // Temporary files are only left behind by writes that failed half way
+            long maxAge = file.getName().contains(".tmp") ? MAX_TEMP_AGE : MAX_AGE;
+            long lastModified = file.lastModified();
+
+            if (now - lastModified > maxAge) {
+                if (file.delete()) deleted++;
+                continue;
+            }
+
+            CachedFile cachedFile = new CachedFile(file, lastModified, file.length());
+            size += cachedFile.length;
+            kept.add(cachedFile);
+        }
+
+        if (size > MAX_DISK_SIZE) {
+            kept.sort(Comparator.comparingLong(CachedFile::lastModified));
+
+            for (CachedFile cachedFile : kept) {
+                if (size <= MAX_DISK_SIZE) break;
+
+                if (cachedFile.file.delete()) {
+                    size -= cachedFile.length;
+                    deleted++;
+                }
+            }
+        }
+
+        if (deleted > 0) MeteorClient.LOG.debug("Deleted {} old cached responses", deleted);
+    }
+
+    private static File getFile(String key) {
+        return new File(FOLDER, UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString());
+    }
+
+    @Nullable
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullable(DataOutputStream out, @Nullable String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) out.writeUTF(string);
+    }
+
+    private record Entry(int status, byte[] body, @Nullable String etag, @Nullable String lastModified, long fetched) {
+        /**
+         * Runs the body through the body handler the request was sent with, as if it came from the server.
+         */
+        public <T> HttpResponse<T> toResponse(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+            HttpResponse.BodySubscriber<T> subscriber = responseBodyHandler.apply(new ResponseInfo(status, NO_HEADERS, HttpClient.Version.HTTP_1_1));
+
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+
+            if (body.length > 0) subscriber.onNext(List.of(ByteBuffer.wrap(body)));
+            subscriber.onComplete();
+
+            return new CachedHttpResponse<>(request, status, subscriber.getBody().toCompletableFuture().join());
+        }
+    }
+
+    private record CachedFile(File file, long lastModified, long length) {}
+
+    private record ResponseInfo(int statusCode, HttpHeaders headers, HttpClient.Version version) implements HttpResponse.ResponseInfo {}
+
+    private record CachedHttpResponse<T>(HttpRequest request, int statusCode, T body) implements HttpResponse<T> {
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return NO_HEADERS;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return request.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
@@ -17,7 +17,7 @@ public class MeteorExecutor {
     private MeteorExecutor() {
     }
 
-    @PreInit
+    @PreInit(threadSafe = true)
     public static void init() {
         AtomicInteger threadNumber = new AtomicInteger(1);
 
@@ -0,0 +1,423 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import meteordevelopment.meteorclient.MeteorClient;
+import net.minecraft.network.packet.Packet;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Captures the raw bytes of packets straight from the netty pipeline into compact binary files.
+ * <p>
+ * The pipeline handlers only copy the frame and put it into a lock-free ring buffer, a writer thread drains it into
+ * memory-mapped files that are rotated once they reach the configured size. Captures are read by {@link PacketCaptureReader}.
+ * <p>
+ * File layout, big endian: {@link #MAGIC}, {@link #VERSION} as a short, capture start as epoch millis. Followed by
+ * records which start with a type byte, {@link #RECORD_END} (also what the zeroed tail of a mapped file reads as),
+ * {@link #RECORD_NAME} (short index, short length, UTF-8 name) and {@link #RECORD_PACKET} (long nanos since the
+ * capture start, byte direction, int packet id, short name index, int length, payload).
+ */
+public class PacketCapture {
+    public static final int MAGIC = 0x4D50434B; // MPCK
+    public static final short VERSION = 1;
+    public static final String EXTENSION = ".mpcap";
+
+    public static final byte RECORD_END = 0;
+    public static final byte RECORD_NAME = 1;
+    public static final byte RECORD_PACKET = 2;
+
+    public static final byte S2C = 0;
+    public static final byte C2S = 1;
+
+    private static final int HEADER_SIZE = 4 + 2 + 8;
+    private static final int PACKET_HEADER_SIZE = 1 + 8 + 1 + 4 + 2 + 4;
+    private static final int RING_SIZE = 1 << 14;
+
+    private static volatile Session session;
+
+    private PacketCapture() {
+    }
+
+    /**
+     * Adds the capture handlers around the packet decoder and encoder. They do nothing while no capture is running.
+     */
+    public static void addHandlers(ChannelPipeline pipeline) {
+        if (pipeline.get("decoder") == null || pipeline.get("encoder") == null) return;
+
+        InboundHandler inbound = new InboundHandler();
+        pipeline.addBefore("decoder", "meteor_capture_in_bytes", inbound.bytes);
+        pipeline.addAfter("decoder", "meteor_capture_in_packets", inbound.packets);
+
+        OutboundHandler outbound = new OutboundHandler();
+        pipeline.addBefore("encoder", "meteor_capture_out_bytes", outbound.bytes);
+        pipeline.addAfter("encoder", "meteor_capture_out_packets", outbound.packets);
+    }
+
+    /**
+     * Starts capturing the selected packets into files named {@code <name>-<index>.mpcap} in the folder.
+     * @param onRotate called on the writer thread with the new file after it has been opened
+     */
+    public static synchronized void start(Path folder, String name, long maxFileBytes, Set<Class<? extends Packet<?>>> s2c, Set<Class<? extends Packet<?>>> c2s, Consumer<Path> onRotate) {
+        stop();
+
+        Session session = new Session(folder, name, maxFileBytes, onRotate);
+        session.s2c = s2c;
+        session.c2s = c2s;
+
+        session.thread.start();
+        PacketCapture.session = session;
+    }
+
+    /**
+     * Changes which packets are captured by the running capture.
+     */
+    public static void setFilter(Set<Class<? extends Packet<?>>> s2c, Set<Class<? extends Packet<?>>> c2s) {
+        Session session = PacketCapture.session;
+        if (session == null) return;
+
+        session.s2c = s2c;
+        session.c2s = c2s;
+    }
+
+    /**
+     * Stops the running capture and waits for the queued packets to be written.
+     * @return the amount of captured and dropped packets, or {@code null} if no capture was running
+     */
+    public static synchronized long[] stop() {
+        Session session = PacketCapture.session;
+        if (session == null) return null;
+
+        PacketCapture.session = null;
+        session.running = false;
+        LockSupport.unpark(session.thread);
+
+        try {
+            session.thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return new long[] { session.written, session.dropped.get() };
+    }
+
+    public static boolean isCapturing() {
+        return session != null;
+    }
+
+    private static void capture(byte direction, Class<? extends Packet<?>> packetClass, ByteBuf buf) {
+        Session session = PacketCapture.session;
+        if (session == null) return;
+
+        Set<Class<? extends Packet<?>>> filter = direction == S2C ? session.s2c : session.c2s;
+        if (!filter.contains(packetClass)) return;
+
+        int start = buf.readerIndex();
+        int end = buf.writerIndex();
+
+        // Packet id is a var int in front of the payload
+        int id = 0;
+        int i = start;
+
+        for (int shift = 0; i < end && shift < 35; shift += 7) {
+            byte b = buf.getByte(i++);
+            id |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+        }
+
+        byte[] payload = new byte[end - i];
+        buf.getBytes(i, payload);
+
+        if (!session.ring.offer(new Frame(System.nanoTime() - session.startNanos, direction, id, packetClass, payload))) {
+            session.dropped.incrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Packet<?>> classOf(Packet<?> packet) {
+        return (Class<? extends Packet<?>>) packet.getClass();
+    }
+
+    private record Frame(long time, byte direction, int id, Class<? extends Packet<?>> packetClass, byte[] payload) {}
+
+    // Netty handlers
+
+    private static class InboundHandler {
+        // Set by the bytes handler, the decoder then synchronously passes the decoded packet to the packets handler
+        private ByteBuf current;
+
+        private final ChannelInboundHandlerAdapter bytes = new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                if (session == null || !(msg instanceof ByteBuf buf)) {
+                    ctx.fireChannelRead(msg);
+                    return;
+                }
+
+                // Keep the bytes alive until the decoder is done since it releases the buffer
+                current = buf.retainedSlice();
+
+                try {
+                    ctx.fireChannelRead(msg);
+                } finally {
+                    current.release();
+                    current = null;
+                }
+            }
+        };
+
+        private final ChannelInboundHandlerAdapter packets = new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                if (current != null && current.isReadable() && msg instanceof Packet<?> packet) {
+                    capture(S2C, classOf(packet), current);
+                    current.readerIndex(current.writerIndex());
+                }
+
+                ctx.fireChannelRead(msg);
+            }
+        };
+    }
+
+    private static class OutboundHandler {
+        // Set by the packets handler, the encoder then synchronously writes the encoded bytes to the bytes handler
+        private Class<? extends Packet<?>> current;
+
+        private final ChannelOutboundHandlerAdapter packets = new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+                if (session == null || !(msg instanceof Packet<?> packet)) {
+                    ctx.write(msg, promise);
+                    return;
+                }
+
+                current = classOf(packet);
+
+                try {
+                    ctx.write(msg, promise);
+                } finally {
+                    current = null;
+                }
+            }
+        };
+
+        private final ChannelOutboundHandlerAdapter bytes = new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+                if (current != null && msg instanceof ByteBuf buf) {
+                    capture(C2S, current, buf);
+                    current = null;
+                }
+
+                ctx.write(msg, promise);
+            }
+        };
+    }
+
+    // Ring buffer
+
+    /**
+     * Bounded lock-free queue, any thread can offer but only the writer thread polls.
+     */
+    private static class Ring {
+        private final Frame[] frames = new Frame[RING_SIZE];
+        private final AtomicLongArray sequences = new AtomicLongArray(RING_SIZE);
+
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+
+        public Ring() {
+            for (int i = 0; i < RING_SIZE; i++) sequences.set(i, i);
+        }
+
+        public boolean offer(Frame frame) {
+            long pos = tail.get();
+
+            while (true) {
+                int i = (int) (pos & (RING_SIZE - 1));
+                long diff = sequences.get(i) - pos;
+
+                if (diff == 0) {
+                    if (tail.compareAndSet(pos, pos + 1)) {
+                        frames[i] = frame;
+                        sequences.set(i, pos + 1);
+                        return true;
+                    }
+                }
+                else if (diff < 0) return false;
+
+                pos = tail.get();
+            }
+        }
+
+        public Frame poll() {
+            long pos = head.get();
+            int i = (int) (pos & (RING_SIZE - 1));
+            if (sequences.get(i) != pos + 1) return null;
+
+            Frame frame = frames[i];
+            frames[i] = null;
+
+            sequences.set(i, pos + RING_SIZE);
+            head.set(pos + 1);
+
+            return frame;
+        }
+    }
+
+    // Writer
+
+    private static class Session {
+        private final Ring ring = new Ring();
+        private final AtomicLong dropped = new AtomicLong();
+        private final Reference2IntOpenHashMap<Class<?>> names = new Reference2IntOpenHashMap<>();
+        private final Reference2ObjectOpenHashMap<Class<?>, byte[]> nameBytes = new Reference2ObjectOpenHashMap<>();
+
+        private final Path folder;
+        private final String name;
+        private final long maxFileBytes;
+        private final Consumer<Path> onRotate;
+
+        private final long startMillis = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private final Thread thread;
+
+        private volatile Set<Class<? extends Packet<?>>> s2c, c2s;
+        private volatile boolean running = true;
+
+        private FileChannel channel;
+        private MappedByteBuffer buffer;
+        private int fileIndex;
+        private long written;
+
+        public Session(Path folder, String name, long maxFileBytes, Consumer<Path> onRotate) {
+            this.folder = folder;
+            this.name = name;
+            this.maxFileBytes = Math.min(maxFileBytes, Integer.MAX_VALUE);
+            this.onRotate = onRotate;
+
+            thread = new Thread(this::run, "Meteor-Packet-Capture");
+            thread.setDaemon(true);
+        }
+
+        private void run() {
+            try {
+                while (true) {
+                    Frame frame = ring.poll();
+
+                    if (frame == null) {
+                        if (!running) break;
+
+                        LockSupport.parkNanos(1_000_000);
+                        continue;
+                    }
+
+                    write(frame);
+                }
+            } catch (IOException e) {
+                MeteorClient.LOG.error("Error while writing packet capture", e);
+            } finally {
+                close();
+            }
+        }
+
+        private void write(Frame frame) throws IOException {
+            byte[] name = nameBytes.computeIfAbsent(frame.packetClass, packetClass -> {
+                String packetName = PacketUtils.getName(frame.packetClass);
+                if (packetName == null) packetName = frame.packetClass.getSimpleName();
+
+                return packetName.getBytes(StandardCharsets.UTF_8);
+            });
+
+            int nameSize = 1 + 2 + 2 + name.length;
+            int size = PACKET_HEADER_SIZE + frame.payload.length;
+
+            // Packets that would not even fit into an empty file
+            if (HEADER_SIZE + nameSize + size + 1 > maxFileBytes) {
+                dropped.incrementAndGet();
+                return;
+            }
+
+            // Keep a byte for the end record
+            if (buffer == null || buffer.remaining() < (names.containsKey(frame.packetClass) ? 0 : nameSize) + size + 1) rotate();
+
+            int nameIndex = names.getOrDefault(frame.packetClass, -1);
+
+            if (nameIndex == -1) {
+                nameIndex = names.size();
+                names.put(frame.packetClass, nameIndex);
+
+                buffer.put(RECORD_NAME);
+                buffer.putShort((short) nameIndex);
+                buffer.putShort((short) name.length);
+                buffer.put(name);
+            }
+
+            buffer.put(RECORD_PACKET);
+            buffer.putLong(frame.time);
+            buffer.put(frame.direction);
+            buffer.putInt(frame.id);
+            buffer.putShort((short) nameIndex);
+            buffer.putInt(frame.payload.length);
+            buffer.put(frame.payload);
+
+            written++;
+        }
+
+        private void rotate() throws IOException {
+            close();
+
+            Path path = folder.resolve(name + "-" + fileIndex++ + EXTENSION);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, maxFileBytes);
+
+            buffer.putInt(MAGIC);
+            buffer.putShort(VERSION);
+            buffer.putLong(startMillis);
+
+            // Names are written again in every file so each file can be read on its own
+            names.clear();
+
+            onRotate.accept(path);
+        }
+
+        private void close() {
+            if (channel == null) return;
+
+            try {
+                int size = buffer.position() + 1;
+                buffer.put(RECORD_END);
+                buffer.force();
+                buffer = null;
+
+                // Fails on some systems while the file is still mapped, the zeroed rest then just reads as the end
+                try {
+                    channel.truncate(size);
+                } catch (IOException ignored) {}
+
+                channel.close();
+            } catch (IOException e) {
+                MeteorClient.LOG.error("Error while closing packet capture", e);
+            }
+
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.network;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Reads the binary files written by {@link PacketCapture}.
+ */
+public class PacketCaptureReader {
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private PacketCaptureReader() {
+    }
+
+    /**
+     * @return all capture files in the folder, oldest first
+     */
+    public static List<Path> list(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) return List.of();
+
+        try (var stream = Files.list(folder)) {
+            return stream
+                .filter(path -> path.getFileName().toString().endsWith(PacketCapture.EXTENSION))
+                .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                .toList();
+        }
+    }
+
+    public static void read(Path path, Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < 14 || buffer.getInt() != PacketCapture.MAGIC) throw new IOException("Not a packet capture file");
+
+            short version = buffer.getShort();
+            if (version != PacketCapture.VERSION) throw new IOException("Unsupported packet capture version " + version);
+
+            long startMillis = buffer.getLong();
+            Int2ObjectOpenHashMap<String> names = new Int2ObjectOpenHashMap<>();
+
+            try {
+                while (buffer.hasRemaining()) {
+                    byte type = buffer.get();
+
+                    if (type == PacketCapture.RECORD_NAME) {
+                        int index = buffer.getShort();
+                        byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                        buffer.get(name);
+
+                        names.put(index, new String(name, StandardCharsets.UTF_8));
+                    }
+                    else if (type == PacketCapture.RECORD_PACKET) {
+                        long time = buffer.getLong();
+                        byte direction = buffer.get();
+                        int id = buffer.getInt();
+                        String name = names.getOrDefault(buffer.getShort(), "Unknown");
+                        int length = buffer.getInt();
+
+                        ByteBuffer payload = buffer.slice(buffer.position(), length);
+                        buffer.position(buffer.position() + length);
+
+                        visitor.visit(startMillis + time / 1_000_000, direction, id, name, payload);
+                    }
+                    else break;
+                }
+            } catch (BufferUnderflowException | IndexOutOfBoundsException ignored) {
+                // Cut off by a crash, everything before is still fine
+            }
+        }
+    }
+
+    /**
+     * Writes a text version of the capture next to it.
+     * @return the text file
+     */
+    public static Path convert(Path path, boolean payload) throws IOException {
+        String fileName = path.getFileName().toString();
+        Path out = path.resolveSibling(fileName.substring(0, fileName.length() - PacketCapture.EXTENSION.length()) + ".txt");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            StringBuilder sb = new StringBuilder(128);
+            IOException[] exception = new IOException[1];
+
+            read(path, (time, direction, id, name, data) -> {
+                if (exception[0] != null) return;
+
+                sb.setLength(0);
+                sb.append('[').append(LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()).format(TIME_FORMATTER)).append("] ");
+                sb.append(direction == PacketCapture.S2C ? "<- S2C " : "-> C2S ").append(name);
+                sb.append(" (id 0x").append(Integer.toHexString(id)).append(", ").append(data.remaining()).append(" bytes)");
+
+                if (payload && data.hasRemaining()) {
+                    byte[] bytes = new byte[data.remaining()];
+                    data.get(bytes);
+                    sb.append("\n  Data: ").append(HEX.formatHex(bytes));
+                }
+
+                try {
+                    writer.write(sb.toString());
+                    writer.newLine();
+                } catch (IOException e) {
+                    exception[0] = e;
+                }
+            });
+
+            if (exception[0] != null) throw exception[0];
+        }
+
+        return out;
+    }
+
+    /**
+     * @return per packet type statistics sorted by count, largest first
+     */
+    public static List<Stats> stats(Path path) throws IOException {
+        Map<String, Stats> stats = new Object2ObjectOpenHashMap<>();
+
+        read(path, (time, direction, id, name, data) -> {
+            Stats s = stats.computeIfAbsent((direction == PacketCapture.S2C ? "S2C " : "C2S ") + name, k -> new Stats(name, direction, id));
+
+            s.count++;
+            s.bytes += data.remaining();
+            s.maxBytes = Math.max(s.maxBytes, data.remaining());
+        });
+
+        List<Stats> list = new ArrayList<>(stats.values());
+        list.sort(Comparator.comparingLong((Stats s) -> s.count).reversed());
+
+        return list;
+    }
+
+    public static class Stats {
+        public final String name;
+        public final byte direction;
+        public final int id;
+
+        public long count, bytes;
+        public int maxBytes;
+
+        public Stats(String name, byte direction, int id) {
+            this.name = name;
+            this.direction = direction;
+            this.id = id;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * @param time epoch millis when the packet was captured
+         * @param payload packet bytes without the packet id, only valid during the call
+         */
+        void visit(long time, byte direction, int id, String name, ByteBuffer payload);
+    }
+}
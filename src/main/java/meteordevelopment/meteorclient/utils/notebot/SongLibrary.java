@@ -0,0 +1,308 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.notebot;
+
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.systems.modules.Modules;
+import meteordevelopment.meteorclient.systems.modules.misc.Notebot;
+import meteordevelopment.meteorclient.utils.Utils;
+import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
+import meteordevelopment.meteorclient.utils.notebot.decoder.SongDecoders;
+import meteordevelopment.meteorclient.utils.notebot.song.Song;
+import net.minecraft.block.enums.NoteBlockInstrument;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import org.apache.commons.io.FilenameUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Index of the songs in the notebot folder, so the song list can be searched without touching the disk. The index is
+ * saved next to the songs and a refresh only decodes songs whose size or modification time changed since. Songs are
+ * decoded like {@link SongDecoders#parse(java.io.File)} does, so the index is thrown away when the Notebot settings
+ * that change how songs are loaded are different.
+ */
+public class SongLibrary {
+    public static final Path FOLDER = MeteorClient.FOLDER.toPath().resolve("notebot");
+    private static final Path INDEX_FILE = FOLDER.resolve("library.nbt");
+    private static final int VERSION = 2;
+
+    private static volatile List<Entry> entries = List.of();
+    private static volatile String entriesSettings = "";
+    private static volatile Thread indexingThread;
+
+    private static CompletableFuture<List<Entry>> refresh;
+    private static boolean loadedIndex;
+
+    private SongLibrary() {
+    }
+
+    /**
+     * @return the songs found by the last refresh, sorted by file name
+     */
+    public static List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Scans the notebot folder on a background thread, only one refresh runs at a time. The first call reads the saved
+     * index right away, so the songs from the last scan are listed while scanning.
+     */
+    public static synchronized CompletableFuture<List<Entry>> refresh() {
+        if (!loadedIndex) {
+            loadedIndex = true;
+            readIndex();
+        }
+
+        if (refresh == null || refresh.isDone()) {
+            refresh = CompletableFuture.supplyAsync(SongLibrary::scan, MeteorExecutor.executor);
+        }
+
+        return refresh;
+    }
+
+    public static synchronized boolean isRefreshing() {
+        return refresh != null && !refresh.isDone();
+    }
+
+    public static List<Entry> search(String filter) {
+        List<Entry> entries = SongLibrary.entries;
+        if (filter.isEmpty()) return entries;
+
+        List<Entry> results = new ArrayList<>();
+
+        for (Entry entry : entries) {
+            if (entry.matches(filter)) results.add(entry);
+        }
+
+        return results;
+    }
+
+    @Nullable
+    public static Path getRandomSong() {
+        List<Entry> entries = SongLibrary.entries;
+        if (!entries.isEmpty()) return entries.get(ThreadLocalRandom.current().nextInt(entries.size())).path;
+
+        // Nothing scanned yet, picking one only needs the file names
+        if (!Files.isDirectory(FOLDER)) return null;
+
+        try (var stream = Files.list(FOLDER)) {
+            List<Path> songs = stream.filter(SongDecoders::hasDecoder).toList();
+            return songs.isEmpty() ? null : songs.get(ThreadLocalRandom.current().nextInt(songs.size()));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the current thread is decoding songs for the index
+     */
+    public static boolean isIndexing() {
+        return Thread.currentThread() == indexingThread;
+    }
+
+    private static List<Entry> scan() {
+        indexingThread = Thread.currentThread();
+
+        try {
+            // Entries decoded with different settings are decoded again
+            String settings = getSettings();
+            Map<String, Entry> known = new HashMap<>();
+
+            if (settings.equals(entriesSettings)) {
+                for (Entry entry : entries) known.put(entry.name, entry);
+            }
+
+            if (!Files.isDirectory(FOLDER)) {
+                entries = List.of();
+                return entries;
+            }
+
+            List<Entry> list = new ArrayList<>();
+            boolean changed = false;
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(FOLDER)) {
+                for (Path path : stream) {
+                    if (!SongDecoders.hasDecoder(path)) continue;
+
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (!attributes.isRegularFile()) continue;
+
+                    String name = path.getFileName().toString();
+                    long lastModified = attributes.lastModifiedTime().toMillis();
+
+                    Entry entry = known.remove(name);
+
+                    if (entry == null || entry.lastModified != lastModified || entry.size != attributes.size()) {
+                        entry = index(path, lastModified, attributes.size());
+                        changed = true;
+                    }
+
+                    list.add(entry);
+                }
+            }
+
+            // Songs that were deleted
+            if (!known.isEmpty()) changed = true;
+
+            if (!settings.equals(entriesSettings)) changed = true;
+
+            list.sort(Comparator.comparing(entry -> entry.name, String.CASE_INSENSITIVE_ORDER));
+            entries = Collections.unmodifiableList(list);
+            entriesSettings = settings;
+
+            if (changed) writeIndex(list, settings);
+        } catch (IOException e) {
+            MeteorClient.LOG.error("Failed to scan the notebot folder", e);
+        } finally {
+            indexingThread = null;
+        }
+
+        return entries;
+    }
+
+    private static Entry index(Path path, long lastModified, long size) {
+        String name = path.getFileName().toString();
+
+        try {
+            Song song = SongDecoders.parse(path.toFile());
+
+            return new Entry(name, lastModified, size, song.getTitle(), song.getAuthor(), song.getLastTick(), song.getRequirements().size());
+        } catch (Exception e) {
+            // Still listed so loading it shows the error, but it is not decoded again until the file changes
+            return new Entry(name, lastModified, size, "", "", -1, 0);
+        }
+    }
+
+    private static void readIndex() {
+        if (!Files.isRegularFile(INDEX_FILE)) return;
+
+        try {
+            NbtCompound tag = NbtIo.read(INDEX_FILE);
+            if (tag == null || tag.getInt("version", 0) != VERSION) return;
+
+            String settings = tag.getString("settings", "");
+            if (!settings.equals(getSettings())) return;
+
+            List<Entry> list = new ArrayList<>();
+            for (NbtElement element : tag.getListOrEmpty("songs")) list.add(new Entry((NbtCompound) element));
+
+            entries = Collections.unmodifiableList(list);
+            entriesSettings = settings;
+        } catch (Exception e) {
+            MeteorClient.LOG.error("Failed to read the notebot song library", e);
+        }
+    }
+
+    private static void writeIndex(List<Entry> entries, String settings) {
+        NbtCompound tag = new NbtCompound();
+        tag.putInt("version", VERSION);
+        tag.putString("settings", settings);
+
+        NbtList list = new NbtList();
+        for (Entry entry : entries) list.add(entry.toTag());
+        tag.put("songs", list);
+
+        try {
+            NbtIo.write(tag, INDEX_FILE);
+        } catch (IOException e) {
+            MeteorClient.LOG.error("Failed to write the notebot song library", e);
+        }
+    }
+
+    /**
+     * @return the Notebot settings that {@link SongDecoders} uses when loading songs
+     */
+    private static String getSettings() {
+        Notebot notebot = Modules.get().get(Notebot.class);
+        StringBuilder settings = new StringBuilder().append(notebot.mode.get()).append(',').append(notebot.roundOutOfRange.get());
+
+        if (notebot.mode.get() == NotebotUtils.NotebotMode.ExactInstruments) {
+            for (NoteBlockInstrument instrument : NoteBlockInstrument.values()) {
+                if (NotebotUtils.OptionalInstrument.fromMinecraftInstrument(instrument) != null) settings.append(',').append(notebot.getMappedInstrument(instrument));
+            }
+        }
+
+        return settings.toString();
+    }
+
+    public static class Entry {
+        public final Path path;
+        public final String name;
+        public final long lastModified, size;
+
+        public final String title, author;
+        /** Length in ticks, -1 if the song could not be decoded */
+        public final int length;
+        /** Number of differently tuned noteblocks the song needs */
+        public final int requirements;
+
+        private final String baseName;
+
+        public Entry(String name, long lastModified, long size, String title, String author, int length, int requirements) {
+            this.path = FOLDER.resolve(name);
+            this.name = name;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.title = title;
+            this.author = author;
+            this.length = length;
+            this.requirements = requirements;
+            this.baseName = FilenameUtils.getBaseName(name);
+        }
+
+        public Entry(NbtCompound tag) {
+            this(
+                tag.getString("name", ""),
+                tag.getLong("lastModified", 0),
+                tag.getLong("size", 0),
+                tag.getString("title", ""),
+                tag.getString("author", ""),
+                tag.getInt("length", -1),
+                tag.getInt("requirements", 0)
+            );
+        }
+
+        public NbtCompound toTag() {
+            NbtCompound tag = new NbtCompound();
+
+            tag.putString("name", name);
+            tag.putLong("lastModified", lastModified);
+            tag.putLong("size", size);
+            tag.putString("title", title);
+            tag.putString("author", author);
+            tag.putInt("length", length);
+            tag.putInt("requirements", requirements);
+
+            return tag;
+        }
+
+        public String getBaseName() {
+            return baseName;
+        }
+
+        public boolean isValid() {
+            return length >= 0;
+        }
+
+        public boolean matches(String filter) {
+            if (Utils.searchTextDefault(name, filter, false)) return true;
+
+            String lowerFilter = filter.toLowerCase(Locale.ROOT);
+            return title.toLowerCase(Locale.ROOT).contains(lowerFilter) || author.toLowerCase(Locale.ROOT).contains(lowerFilter);
+        }
+    }
+}
@@ -5,9 +5,6 @@
 
 package meteordevelopment.meteorclient.utils.notebot.decoder;
 
-import com.google.common.collect.Multimap;
-import com.google.common.collect.MultimapBuilder;
-import meteordevelopment.meteorclient.utils.notebot.song.Note;
 import meteordevelopment.meteorclient.utils.notebot.song.Song;
 import net.minecraft.block.enums.NoteBlockInstrument;
 import org.jetbrains.annotations.NotNull;
@@ -33,7 +30,9 @@ public class NBSSongDecoder extends SongDecoder {
     @Override
     @NotNull
     public Song parse(File songFile) throws Exception {
-        return parse(new FileInputStream(songFile));
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(songFile))) {
+            return parse(inputStream);
+        }
     }
 
     /**
@@ -44,8 +43,6 @@ public class NBSSongDecoder extends SongDecoder {
      */
     @NotNull
     private Song parse(InputStream inputStream) throws Exception {
-        Multimap<Integer, Note> notesMap = MultimapBuilder.linkedHashKeys().arrayListValues().build();
-
         DataInputStream dataInputStream = new DataInputStream(inputStream);
         short length = readShort(dataInputStream);
         int nbsversion = 0;
@@ -59,6 +56,7 @@ public class NBSSongDecoder extends SongDecoder {
         readShort(dataInputStream); // Song Height
         String title = readString(dataInputStream);
         String author = readString(dataInputStream);
+        Song song = new Song(title, author);
         readString(dataInputStream); // original author
         readString(dataInputStream); // description
         float speed = readShort(dataInputStream) / 100f;
@@ -103,19 +101,11 @@ public class NBSSongDecoder extends SongDecoder {
                 // Probably a custom instrument. Ignore this note
                 if (inst == null) continue;
 
-                Note note = new Note(inst /* instrument */, key - NOTE_OFFSET /* note */);
-                setNote((int) Math.round(tick), note, notesMap);
+                song.addNote((int) Math.round(tick), inst, key - NOTE_OFFSET);
             }
         }
 
-        return new Song(notesMap, title, author);
-    }
-
-    /**
-     * Sets a note at a tick in a song
-     */
-    private static void setNote(int ticks, Note note, Multimap<Integer, Note> notesMap) {
-        notesMap.put(ticks, note);
+        return song;
     }
 
     private static short readShort(DataInputStream dataInputStream) throws IOException {
@@ -7,6 +7,7 @@ package meteordevelopment.meteorclient.utils.notebot.decoder;
 
 import meteordevelopment.meteorclient.systems.modules.Modules;
 import meteordevelopment.meteorclient.systems.modules.misc.Notebot;
+import meteordevelopment.meteorclient.utils.notebot.SongLibrary;
 import meteordevelopment.meteorclient.utils.notebot.song.Song;
 
 import java.io.File;
@@ -21,4 +22,11 @@ public abstract class SongDecoder {
      * @return A {@link Song} object
      */
     public abstract Song parse(File file) throws Exception;
+
+    /**
+     * Warns about problems in the song unless it is only being added to the {@link SongLibrary}.
+     */
+    protected void warning(String message, Object... args) {
+        if (!SongLibrary.isIndexing()) notebot.warning(message, args);
+    }
 }
@@ -8,7 +8,7 @@ package meteordevelopment.meteorclient.utils.notebot.decoder;
 import meteordevelopment.meteorclient.systems.modules.Modules;
 import meteordevelopment.meteorclient.systems.modules.misc.Notebot;
 import meteordevelopment.meteorclient.utils.notebot.NotebotUtils;
-import meteordevelopment.meteorclient.utils.notebot.song.Note;
+import meteordevelopment.meteorclient.utils.notebot.SongLibrary;
 import meteordevelopment.meteorclient.utils.notebot.song.Song;
 import net.minecraft.block.enums.NoteBlockInstrument;
 import org.apache.commons.io.FilenameUtils;
@@ -71,20 +71,14 @@ public class SongDecoders {
     private static void fixSong(Song song) {
         Notebot notebot = Modules.get().get(Notebot.class);
 
-        var iterator = song.getNotesMap().entries().iterator();
-        while (iterator.hasNext()) {
-            var entry = iterator.next();
-            int tick = entry.getKey();
-            Note note = entry.getValue();
-
+        song.filterNotes((tick, note) -> {
             int n = note.getNoteLevel();
             if (n < 0 || n > 24) {
                 if (notebot.roundOutOfRange.get()) {
                     note.setNoteLevel(n < 0 ? 0 : 24);
                 } else {
-                    notebot.warning("Note at tick %d out of range.", tick);
-                    iterator.remove();
-                    continue;
+                    if (!SongLibrary.isIndexing()) notebot.warning("Note at tick %d out of range.", tick);
+                    return false;
                 }
             }
 
@@ -96,6 +90,8 @@ public class SongDecoders {
             } else {
                 note.setInstrument(null);
             }
-        }
+
+            return true;
+        });
     }
 }
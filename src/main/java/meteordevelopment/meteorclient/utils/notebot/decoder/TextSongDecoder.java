@@ -5,61 +5,58 @@
 
 package meteordevelopment.meteorclient.utils.notebot.decoder;
 
-import com.google.common.collect.Multimap;
-import com.google.common.collect.MultimapBuilder;
-import meteordevelopment.meteorclient.utils.notebot.song.Note;
 import meteordevelopment.meteorclient.utils.notebot.song.Song;
 import net.minecraft.block.enums.NoteBlockInstrument;
 import org.apache.commons.io.FilenameUtils;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.nio.file.Files;
-import java.util.List;
 
 public class TextSongDecoder extends SongDecoder {
+    private static final NoteBlockInstrument[] INSTRUMENTS = NoteBlockInstrument.values();
 
     @Override
     public Song parse(File file) throws Exception {
-        List<String> data = Files.readAllLines(file.toPath());
+        Song song = new Song(FilenameUtils.getBaseName(file.getName()), "Unknown");
 
-        Multimap<Integer, Note> notesMap = MultimapBuilder.linkedHashKeys().arrayListValues().build();
-        String title = FilenameUtils.getBaseName(file.getName());
-        String author = "Unknown";
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath())) {
+            int lineNumber = 0;
 
-        for (int lineNumber = 0; lineNumber < data.size(); lineNumber++) {
-            String line = data.get(lineNumber);
-            if (line.startsWith("// Name: ")) {
-                title = line.substring(9);
-                continue;
-            }
-            if (line.startsWith("// Author: ")) {
-                author = line.substring(11);
-                continue;
-            }
-            if (line.isEmpty()) continue;
+            for (String line; (line = reader.readLine()) != null; lineNumber++) {
+                if (line.startsWith("// Name: ")) {
+                    song.setTitle(line.substring(9));
+                    continue;
+                }
+                if (line.startsWith("// Author: ")) {
+                    song.setAuthor(line.substring(11));
+                    continue;
+                }
+                if (line.isEmpty()) continue;
 
-            String[] parts = data.get(lineNumber).split(":");
-            if (parts.length < 2) {
-                notebot.warning("Malformed line %d", lineNumber);
-                continue;
-            }
-            int key;
-            int val;
-            int type = 0;
-            try {
-                key = Integer.parseInt(parts[0]);
-                val = Integer.parseInt(parts[1]);
-                if (parts.length > 2) {
-                    type = Integer.parseInt(parts[2]);
+                String[] parts = line.split(":");
+                if (parts.length < 2) {
+                    warning("Malformed line %d", lineNumber);
+                    continue;
+                }
+                int key;
+                int val;
+                int type = 0;
+                try {
+                    key = Integer.parseInt(parts[0]);
+                    val = Integer.parseInt(parts[1]);
+                    if (parts.length > 2) {
+                        type = Integer.parseInt(parts[2]);
+                    }
+                } catch (NumberFormatException e) {
+                    warning("Invalid character at line %d", lineNumber);
+                    continue;
                 }
-            } catch (NumberFormatException e) {
-                notebot.warning("Invalid character at line %d", lineNumber);
-                continue;
-            }
 
-            Note note = new Note(NoteBlockInstrument.values()[type], val);
-            notesMap.put(key, note);
+                song.addNote(key, INSTRUMENTS[type], val);
+            }
         }
-        return new Song(notesMap, title, author);
+
+        return song;
     }
 }
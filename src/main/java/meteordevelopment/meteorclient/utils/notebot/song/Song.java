@@ -5,49 +5,156 @@
 
 package meteordevelopment.meteorclient.utils.notebot.song;
 
-import com.google.common.collect.Multimap;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.block.enums.NoteBlockInstrument;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
+/**
+ * Notes are added by the decoders while the song is loading and packed into a tick sorted array once it finished
+ * loading. Every note is then stored as its tick and the index of its {@link Note} in a table of the distinct notes of
+ * the song, notes that are played on the same tick are next to each other so playing the song is a cursor walking
+ * through the arrays.
+ */
 public class Song {
-    private final Multimap<Integer, Note> notesMap;
-    private int lastTick;
-    private final String title;
-    private final String author;
+    private static final NoteBlockInstrument[] INSTRUMENTS = NoteBlockInstrument.values();
+    private static final byte NO_INSTRUMENT = -1;
+    private static final byte REMOVED = -2;
+
+    private String title;
+    private String author;
 
+    // Only used while loading, one entry per note in the order they were added
+    private IntArrayList loadingTicks = new IntArrayList();
+    private IntArrayList loadingLevels = new IntArrayList();
+    private ByteArrayList loadingInstruments = new ByteArrayList();
+
+    private int[] ticks;
+    private short[] noteIds;
+    private Note[] notes;
+
+    private int lastTick;
     private final Set<Note> requirements = new HashSet<>();
 
     private boolean finishedLoading = false;
 
-    public Song(Multimap<Integer, Note> notesMap,
-                String title, String author) {
-        this.notesMap = notesMap;
+    public Song(String title, String author) {
         this.title = title;
         this.author = author;
     }
 
+    public void addNote(int tick, @Nullable NoteBlockInstrument instrument, int noteLevel) {
+        checkLoading();
+
+        loadingTicks.add(tick);
+        loadingLevels.add(noteLevel);
+        loadingInstruments.add(instrument == null ? NO_INSTRUMENT : (byte) instrument.ordinal());
+    }
+
+    /**
+     * Calls the filter for every note added so far, changes to the passed note are kept.
+     */
+    public void filterNotes(NoteFilter filter) {
+        checkLoading();
+
+        Note note = new Note(null, 0);
+
+        for (int i = 0; i < loadingTicks.size(); i++) {
+            byte instrument = loadingInstruments.getByte(i);
+            if (instrument == REMOVED) continue;
+
+            note.setInstrument(instrument == NO_INSTRUMENT ? null : INSTRUMENTS[instrument]);
+            note.setNoteLevel(loadingLevels.getInt(i));
+
+            if (filter.test(loadingTicks.getInt(i), note)) {
+                loadingLevels.set(i, note.getNoteLevel());
+                loadingInstruments.set(i, note.getInstrument() == null ? NO_INSTRUMENT : (byte) note.getInstrument().ordinal());
+            }
+            else loadingInstruments.set(i, REMOVED);
+        }
+    }
+
     public void finishLoading() {
         if (finishedLoading) throw new IllegalStateException("Song has already finished loading!");
 
-        this.lastTick = Collections.max(notesMap.keySet());
-        this.notesMap.values().stream().distinct().forEach(requirements::add);
+        // Notes in the order they are played in, decoders usually add them sorted already
+        IntArrayList kept = new IntArrayList(loadingTicks.size());
+        boolean sorted = true;
+
+        for (int i = 0; i < loadingTicks.size(); i++) {
+            if (loadingInstruments.getByte(i) == REMOVED) continue;
+
+            if (!kept.isEmpty() && loadingTicks.getInt(kept.topInt()) > loadingTicks.getInt(i)) sorted = false;
+            kept.add(i);
+        }
+
+        if (kept.isEmpty()) throw new IllegalStateException("Song has no notes!");
+
+        int[] order = kept.toIntArray();
+        if (!sorted) IntArrays.mergeSort(order, (a, b) -> Integer.compare(loadingTicks.getInt(a), loadingTicks.getInt(b)));
+
+        ticks = new int[order.length];
+        noteIds = new short[order.length];
+
+        Object2IntOpenHashMap<Note> ids = new Object2IntOpenHashMap<>();
+        List<Note> distinct = new ArrayList<>();
+
+        for (int i = 0; i < order.length; i++) {
+            int index = order[i];
+            byte instrument = loadingInstruments.getByte(index);
+            Note note = new Note(instrument == NO_INSTRUMENT ? null : INSTRUMENTS[instrument], loadingLevels.getInt(index));
+
+            int id = ids.getOrDefault(note, -1);
+            if (id == -1) {
+                id = distinct.size();
+                if (id > 0xFFFF) throw new IllegalStateException("Song has too many different notes!");
+
+                ids.put(note, id);
+                distinct.add(note);
+            }
+
+            ticks[i] = loadingTicks.getInt(index);
+            noteIds[i] = (short) id;
+        }
+
+        notes = distinct.toArray(new Note[0]);
+        lastTick = ticks[ticks.length - 1];
+        requirements.addAll(distinct);
+
+        loadingTicks = null;
+        loadingLevels = null;
+        loadingInstruments = null;
 
         finishedLoading = true;
     }
 
-    public Multimap<Integer, Note> getNotesMap() {
-        return notesMap;
+    public int getNoteCount() {
+        checkLoaded();
+        return ticks.length;
+    }
+
+    public int getTick(int index) {
+        return ticks[index];
+    }
+
+    /**
+     * Notes are shared between all indices that play the same note, they must not be modified.
+     */
+    public Note getNote(int index) {
+        return notes[noteIds[index] & 0xFFFF];
     }
 
     public Set<Note> getRequirements() {
-        if (!finishedLoading) throw new IllegalStateException("Song is still loading!");
+        checkLoaded();
         return requirements;
     }
 
     public int getLastTick() {
-        if (!finishedLoading) throw new IllegalStateException("Song is still loading!");
+        checkLoaded();
         return lastTick;
     }
 
@@ -55,7 +162,33 @@ public class Song {
         return title;
     }
 
+    public void setTitle(String title) {
+        checkLoading();
+        this.title = title;
+    }
+
     public String getAuthor() {
         return author;
     }
+
+    public void setAuthor(String author) {
+        checkLoading();
+        this.author = author;
+    }
+
+    private void checkLoading() {
+        if (finishedLoading) throw new IllegalStateException("Song has already finished loading!");
+    }
+
+    private void checkLoaded() {
+        if (!finishedLoading) throw new IllegalStateException("Song is still loading!");
+    }
+
+    @FunctionalInterface
+    public interface NoteFilter {
+        /**
+         * @return false to remove the note from the song
+         */
+        boolean test(int tick, Note note);
+    }
 }
@@ -8,6 +8,7 @@ package meteordevelopment.meteorclient.utils.player;
 import meteordevelopment.meteorclient.mixininterface.IClientPlayerInteractionManager;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.screen.ScreenHandler;
@@ -86,12 +87,15 @@ public class InvUtils {
     }
 
     public static FindItemResult findInHotbar(Item... items) {
-        return findInHotbar(itemStack -> {
-            for (Item item : items) {
-                if (itemStack.getItem() == item) return true;
-            }
-            return false;
-        });
+        if (testInOffHand(items)) {
+            return new FindItemResult(SlotUtils.OFFHAND, mc.player.getOffHandStack().getCount());
+        }
+
+        if (testInMainHand(items)) {
+            return new FindItemResult(mc.player.getInventory().getSelectedSlot(), mc.player.getMainHandStack().getCount());
+        }
+
+        return find(items, 0, 8);
     }
 
     public static FindItemResult findInHotbar(Predicate<ItemStack> isGood) {
@@ -107,12 +111,45 @@ public class InvUtils {
     }
 
     public static FindItemResult find(Item... items) {
-        return find(itemStack -> {
-            for (Item item : items) {
-                if (itemStack.getItem() == item) return true;
+        if (mc.player == null) return new FindItemResult(0, 0);
+        return find(items, 0, mc.player.getInventory().size());
+    }
+
+    private static FindItemResult find(Item[] items, int start, int end) {
+        if (mc.player == null) return new FindItemResult(0, 0);
+
+        PlayerInventory inventory = mc.player.getInventory();
+        if (!InventoryIndex.update(inventory)) return find(itemStack -> isOneOf(itemStack, items), start, end);
+
+        long slots = 0;
+        for (Item item : items) slots |= InventoryIndex.getSlots(item);
+
+        if (start > 0) slots &= -1L << start;
+        if (end < Long.SIZE - 1) slots &= (1L << (end + 1)) - 1;
+
+        int slot = -1, count = 0;
+
+        while (slots != 0) {
+            int i = Long.numberOfTrailingZeros(slots);
+            slots &= slots - 1;
+
+            // The stack might have been used up since the index was built
+            ItemStack stack = inventory.getStack(i);
+
+            if (isOneOf(stack, items)) {
+                if (slot == -1) slot = i;
+                count += stack.getCount();
             }
-            return false;
-        });
+        }
+
+        return new FindItemResult(slot, count);
+    }
+
+    private static boolean isOneOf(ItemStack itemStack, Item[] items) {
+        for (Item item : items) {
+            if (itemStack.getItem() == item) return true;
+        }
+        return false;
     }
 
     public static FindItemResult find(Predicate<ItemStack> isGood) {
@@ -125,8 +162,12 @@ public class InvUtils {
 
         int slot = -1, count = 0;
 
+        // Most predicates look for an item, they do not have to be tested on every empty slot
+        boolean skipEmpty = !isGood.test(ItemStack.EMPTY);
+
         for (int i = start; i <= end; i++) {
             ItemStack stack = mc.player.getInventory().getStack(i);
+            if (skipEmpty && stack.isEmpty()) continue;
 
             if (isGood.test(stack)) {
                 if (slot == -1) slot = i;
@@ -0,0 +1,88 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.player;
+
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.game.GameLeftEvent;
+import meteordevelopment.meteorclient.events.packets.ContainerSlotUpdateEvent;
+import meteordevelopment.meteorclient.events.packets.InventoryEvent;
+import meteordevelopment.meteorclient.utils.PreInit;
+import meteordevelopment.orbit.EventHandler;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
+
+/**
+ * The slots every item is in, as a bit set per item, so {@link InvUtils} can find items without testing every slot.
+ * The index is rebuilt on the first lookup after a slot of the player's inventory was set or removed, or after the
+ * server sent slot or inventory contents, which also corrects changes that bypassed
+ * {@link PlayerInventory#setStack(int, net.minecraft.item.ItemStack)}.
+ * <p>
+ * Stacks that only change their count in place do not update the index, lookups have to check the stacks in the
+ * slots they get.
+ */
+public class InventoryIndex {
+    private static final Reference2LongOpenHashMap<Item> slots = new Reference2LongOpenHashMap<>();
+
+    private static PlayerInventory inventory;
+    private static boolean dirty = true;
+
+    private InventoryIndex() {
+    }
+
+    @PreInit
+    public static void init() {
+        MeteorClient.EVENT_BUS.subscribe(InventoryIndex.class);
+    }
+
+    @EventHandler
+    private static void onContainerSlotUpdate(ContainerSlotUpdateEvent event) {
+        dirty = true;
+    }
+
+    @EventHandler
+    private static void onInventory(InventoryEvent event) {
+        dirty = true;
+    }
+
+    @EventHandler
+    private static void onGameLeft(GameLeftEvent event) {
+        slots.clear();
+        inventory = null;
+        dirty = true;
+    }
+
+    public static void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * @return if the inventory fits in the index, otherwise it has to be searched slot by slot
+     */
+    static boolean update(PlayerInventory inventory) {
+        if (inventory.size() > Long.SIZE) return false;
+        if (!dirty && inventory == InventoryIndex.inventory) return true;
+
+        slots.clear();
+
+        for (int i = 0; i < inventory.size(); i++) {
+            Item item = inventory.getStack(i).getItem();
+            slots.put(item, slots.getLong(item) | (1L << i));
+        }
+
+        InventoryIndex.inventory = inventory;
+        dirty = false;
+
+        return true;
+    }
+
+    /**
+     * @return the slots the item was in when the index was last updated, empty slots are indexed under air
+     */
+    static long getSlots(Item item) {
+        return slots.getLong(item);
+    }
+}
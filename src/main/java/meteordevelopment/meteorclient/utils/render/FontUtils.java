@@ -9,28 +9,47 @@ import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.renderer.Fonts;
 import meteordevelopment.meteorclient.renderer.text.*;
 import meteordevelopment.meteorclient.utils.files.ByteBufferUtils;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
 import net.minecraft.util.Util;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.lwjgl.BufferUtils;
-import org.lwjgl.stb.STBTTFontinfo;
-import org.lwjgl.stb.STBTruetype;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Set;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @NullMarked
 public final class FontUtils {
+    private static final Path CACHE_FILE = MeteorClient.FOLDER.toPath().resolve("fonts.nbt");
+    private static final int CACHE_VERSION = 2;
+
+    // Tables stbtt_InitFont needs, outlines come from either glyf and loca or CFF
+    private static final int[] REQUIRED_TABLES = { tag("cmap"), tag("head"), tag("hhea"), tag("hmtx") };
+    private static final int GLYF_TABLE = tag("glyf");
+    private static final int LOCA_TABLE = tag("loca");
+    private static final int CFF_TABLE = tag("CFF ");
+    private static final int NAME_TABLE = tag("name");
+
     private FontUtils() {}
 
     public static @Nullable FontInfo getSysFontInfo(File file) {
-        return getFontInfo(file);
+        return getFontInfo(file.toPath());
     }
 
     public static @Nullable FontInfo getBuiltinFontInfo(String builtin) {
@@ -38,15 +57,14 @@ public final class FontUtils {
     }
 
     /**
-     * System font path: avoid heap byte[] by reading the file into a direct buffer.
+     * System font path: only the table directory and the name table are touched, so the file is mapped instead of
+     * being read into memory.
      */
-    private static @Nullable FontInfo getFontInfo(@Nullable File file) {
-        if (file == null || !file.isFile()) return null;
-
-        try {
-            return getFontInfo(ByteBufferUtils.readFully(file.toPath(), BufferUtils::createByteBuffer));
+    private static @Nullable FontInfo getFontInfo(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return getFontInfo(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
         } catch (Exception e) {
-            MeteorClient.LOG.warn("Failed to read font file: {}", file, e);
+            MeteorClient.LOG.warn("Failed to read font file: {}", path, e);
             return null;
         }
     }
@@ -67,11 +85,12 @@ public final class FontUtils {
     }
 
     /**
-     * Core logic: interpret font data from a ByteBuffer.
+     * Core logic: reads the family and subfamily names straight from the font's name table, the same strings
+     * {@code stbtt_GetFontNameString} returns for the Microsoft platform, Unicode BMP encoding and English language.
      * NOTE: This preserves your original 5-byte header check exactly.
      */
     private static @Nullable FontInfo getFontInfo(ByteBuffer buffer) {
-        if (buffer.remaining() < 5) return null;
+        if (buffer.remaining() < 12) return null;
 
         // Preserve existing check: 00 01 00 00 00
         if (
@@ -82,17 +101,65 @@ public final class FontUtils {
                 buffer.get(4) != 0
         ) return null;
 
-        STBTTFontinfo fontInfo = STBTTFontinfo.create();
-        if (!STBTruetype.stbtt_InitFont(fontInfo, buffer)) return null;
+        try {
+            int numTables = buffer.getShort(4) & 0xFFFF;
+            int nameTable = -1;
+            int foundRequired = 0;
+            boolean glyf = false, loca = false, cff = false;
+
+            for (int i = 0; i < numTables; i++) {
+                int record = 12 + i * 16;
+                int tag = buffer.getInt(record);
+
+                if (tag == NAME_TABLE) nameTable = buffer.getInt(record + 8);
+                else if (tag == GLYF_TABLE) glyf = true;
+                else if (tag == LOCA_TABLE) loca = true;
+                else if (tag == CFF_TABLE) cff = true;
+
+                for (int j = 0; j < REQUIRED_TABLES.length; j++) {
+                    if (tag == REQUIRED_TABLES[j]) foundRequired |= 1 << j;
+                }
+            }
+
+            if (nameTable < 0 || foundRequired != (1 << REQUIRED_TABLES.length) - 1) return null;
+            if (glyf ? !loca : !cff) return null;
+
+            int count = buffer.getShort(nameTable + 2) & 0xFFFF;
+            int strings = nameTable + (buffer.getShort(nameTable + 4) & 0xFFFF);
+
+            String name = null, type = null;
+
+            for (int i = 0; i < count; i++) {
+                int record = nameTable + 6 + i * 12;
+
+                int platformId = buffer.getShort(record) & 0xFFFF;
+                int encodingId = buffer.getShort(record + 2) & 0xFFFF;
+                int languageId = buffer.getShort(record + 4) & 0xFFFF;
+                if (platformId != 3 || encodingId != 1 || languageId != 0x409) continue;
+
+                int nameId = buffer.getShort(record + 6) & 0xFFFF;
+                if (nameId != 1 && nameId != 2) continue;
+
+                int length = buffer.getShort(record + 8) & 0xFFFF;
+                int offset = buffer.getShort(record + 10) & 0xFFFF;
+                String string = StandardCharsets.UTF_16BE.decode(buffer.slice(strings + offset, length)).toString();
+
+                // Like stbtt_GetFontNameString the first matching record is used
+                if (nameId == 1 && name == null) name = string;
+                else if (nameId == 2 && type == null) type = string;
+            }
+
+            if (name == null || type == null) return null;
 
-        ByteBuffer nameBuffer = STBTruetype.stbtt_GetFontNameString(fontInfo, STBTruetype.STBTT_PLATFORM_ID_MICROSOFT, STBTruetype.STBTT_MS_EID_UNICODE_BMP, STBTruetype.STBTT_MS_LANG_ENGLISH, 1);
-        ByteBuffer typeBuffer = STBTruetype.stbtt_GetFontNameString(fontInfo, STBTruetype.STBTT_PLATFORM_ID_MICROSOFT, STBTruetype.STBTT_MS_EID_UNICODE_BMP, STBTruetype.STBTT_MS_LANG_ENGLISH, 2);
-        if (typeBuffer == null || nameBuffer == null) return null;
+            return new FontInfo(name, FontInfo.Type.fromString(type));
+        } catch (IndexOutOfBoundsException e) {
+            // Truncated or corrupt font
+            return null;
+        }
+    }
 
-        return new FontInfo(
-            StandardCharsets.UTF_16.decode(nameBuffer).toString(),
-            FontInfo.Type.fromString(StandardCharsets.UTF_16.decode(typeBuffer).toString())
-        );
+    private static int tag(String tag) {
+        return tag.charAt(0) << 24 | tag.charAt(1) << 16 | tag.charAt(2) << 8 | tag.charAt(3);
     }
 
     public static Set<String> getSearchPaths() {
@@ -136,19 +203,41 @@ public final class FontUtils {
         }
     }
 
-    public static void loadSystem(List<FontFamily> fontList, File dir) {
-        if (!dir.exists() || !dir.isDirectory()) return;
-
-        File[] files = dir.listFiles((file) -> (file.isFile() && file.getName().endsWith(".ttf") || file.isDirectory()));
-        if (files == null) return;
+    /**
+     * Finds fonts in all search paths. Font files are only parsed when they are not in the cache file or changed
+     * since it was written, directories are scanned and new files parsed in parallel.
+     */
+    public static void loadSystem(List<FontFamily> fontList, Collection<String> searchPaths) {
+        Map<Path, BasicFileAttributes> files = new ConcurrentHashMap<>();
+        searchPaths.parallelStream().forEach(path -> findFonts(Path.of(path), files));
+
+        Map<String, CachedFont> cache = readCache();
+        int cached = cache.size();
+
+        List<CachedFont> fonts = files.entrySet().parallelStream()
+            .map(entry -> {
+                String path = entry.getKey().toString();
+                long size = entry.getValue().size();
+                long lastModified = entry.getValue().lastModifiedTime().toMillis();
+
+                CachedFont font = cache.get(path);
+                if (font != null && font.size == size && font.lastModified == lastModified) return font;
+
+                return new CachedFont(path, size, lastModified, getFontInfo(entry.getKey()));
+            })
+            .sorted(Comparator.comparing(CachedFont::path))
+            .toList();
+
+        // Only rewrite the cache when a font was added, changed or removed
+        int reused = 0;
+        for (CachedFont font : fonts) {
+            if (cache.get(font.path) == font) reused++;
+        }
 
-        for (File file : files) {
-            if (file.isDirectory()) {
-                loadSystem(fontList, file);
-                continue;
-            }
+        if (reused != cached || reused != fonts.size()) writeCache(fonts);
 
-            FontInfo fontInfo = FontUtils.getSysFontInfo(file);
+        for (CachedFont font : fonts) {
+            FontInfo fontInfo = font.info;
             if (fontInfo == null) continue;
 
             boolean isBuiltin = false;
@@ -160,13 +249,67 @@ public final class FontUtils {
             }
             if (isBuiltin) continue;
 
-            FontFace fontFace = new SystemFontFace(fontInfo, file.toPath());
+            FontFace fontFace = new SystemFontFace(fontInfo, Path.of(font.path));
             if (!addFont(fontList, fontFace)) {
                 MeteorClient.LOG.warn("Failed to load system font {}", fontFace);
             }
         }
     }
 
+    private static void findFonts(Path dir, Map<Path, BasicFileAttributes> files) {
+        if (!Files.isDirectory(dir)) return;
+
+        List<Path> dirs = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+                if (attributes.isDirectory()) dirs.add(path);
+                else if (attributes.isRegularFile() && path.getFileName().toString().endsWith(".ttf")) files.put(path.toAbsolutePath(), attributes);
+            }
+        } catch (IOException e) {
+            MeteorClient.LOG.warn("Failed to list font directory: {}", dir, e);
+            return;
+        }
+
+        dirs.parallelStream().forEach(subDir -> findFonts(subDir, files));
+    }
+
+    private static Map<String, CachedFont> readCache() {
+        Map<String, CachedFont> cache = new HashMap<>();
+        if (!Files.isRegularFile(CACHE_FILE)) return cache;
+
+        try {
+            NbtCompound tag = NbtIo.read(CACHE_FILE);
+            if (tag == null || tag.getInt("version", 0) != CACHE_VERSION) return cache;
+
+            for (NbtElement element : tag.getListOrEmpty("fonts")) {
+                CachedFont font = CachedFont.fromTag((NbtCompound) element);
+                cache.put(font.path, font);
+            }
+        } catch (Exception e) {
+            MeteorClient.LOG.error("Failed to read the font cache", e);
+        }
+
+        return cache;
+    }
+
+    private static void writeCache(List<CachedFont> fonts) {
+        NbtCompound tag = new NbtCompound();
+        tag.putInt("version", CACHE_VERSION);
+
+        NbtList list = new NbtList();
+        for (CachedFont font : fonts) list.add(font.toTag());
+        tag.put("fonts", list);
+
+        try {
+            NbtIo.write(tag, CACHE_FILE);
+        } catch (IOException e) {
+            MeteorClient.LOG.error("Failed to write the font cache", e);
+        }
+    }
+
     private static boolean addFont(List<FontFamily> fontList, @Nullable FontFace font) {
         if (font == null) return false;
 
@@ -187,4 +330,30 @@ public final class FontUtils {
         return FontUtils.class.getResourceAsStream("/assets/" + MeteorClient.MOD_ID + "/fonts/" + name + ".ttf");
     }
 
+    /**
+     * @param info {@code null} if the file is not a usable font, so it is not parsed again until it changes
+     */
+    private record CachedFont(String path, long size, long lastModified, @Nullable FontInfo info) {
+        public static CachedFont fromTag(NbtCompound tag) {
+            String family = tag.getString("family", "");
+            FontInfo info = family.isEmpty() ? null : new FontInfo(family, FontInfo.Type.fromString(tag.getString("type", "")));
+
+            return new CachedFont(tag.getString("path", ""), tag.getLong("size", -1), tag.getLong("lastModified", -1), info);
+        }
+
+        public NbtCompound toTag() {
+            NbtCompound tag = new NbtCompound();
+
+            tag.putString("path", path);
+            tag.putLong("size", size);
+            tag.putLong("lastModified", lastModified);
+
+            if (info != null) {
+                tag.putString("family", info.family());
+                tag.putString("type", info.type().toString());
+            }
+
+            return tag;
+        }
+    }
 }
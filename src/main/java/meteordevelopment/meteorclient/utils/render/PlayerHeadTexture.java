@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.time.Duration;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
 
@@ -59,7 +60,8 @@ public class PlayerHeadTexture extends Texture {
 
     public static byte[] downloadHead(String url) throws IOException {
         BufferedImage skin;
-        try (InputStream in = Http.get(url).sendInputStream()) {
+        // Skin urls contain the hash of the skin, so they never change
+        try (InputStream in = Http.get(url).cache(Duration.ofDays(7)).sendInputStream()) {
             skin = ImageIO.read(in);
         }
 
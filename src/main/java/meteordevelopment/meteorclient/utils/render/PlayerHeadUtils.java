@@ -1,12 +1,14 @@
 package meteordevelopment.meteorclient.utils.render;
 
 import com.google.gson.Gson;
+import com.mojang.util.UndashedUuid;
 import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.systems.accounts.TexturesJson;
 import meteordevelopment.meteorclient.systems.accounts.UuidToProfileResponse;
 import meteordevelopment.meteorclient.utils.PostInit;
 import meteordevelopment.meteorclient.utils.network.Http;
 
+import java.time.Duration;
 import java.util.Base64;
 import java.util.UUID;
 
@@ -36,7 +38,8 @@ public class PlayerHeadUtils {
     }
 
     public static String getSkinUrl(UUID id) {
-        UuidToProfileResponse res2 = Http.get("https://sessionserver.mojang.com/session/minecraft/profile/" + id)
+        UuidToProfileResponse res2 = Http.get("https://sessionserver.mojang.com/session/minecraft/profile/" + UndashedUuid.toString(id))
+            .cache(Duration.ofHours(1))
             .exceptionHandler(e -> MeteorClient.LOG.error("Could not contact mojang session servers.", e))
             .sendJson(UuidToProfileResponse.class);
         if (res2 == null) return null;
@@ -19,6 +19,7 @@ import net.minecraft.client.gui.DrawContext;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
+import org.joml.FrustumIntersection;
 import org.joml.Matrix3x2fStack;
 import org.joml.Matrix4f;
 import org.joml.Vector4f;
@@ -31,6 +32,11 @@ public class RenderUtils {
     public static Vec3d center;
     public static final Matrix4f projection = new Matrix4f();
 
+    // View frustum of the last rendered frame, relative to the camera
+    private static final FrustumIntersection frustum = new FrustumIntersection();
+    private static double frustumX, frustumY, frustumZ;
+    public static int frame;
+
     private static final Pool<RenderBlock> renderBlockPool = new Pool<>(RenderBlock::new);
     private static final List<RenderBlock> renderBlocks = new ObjectArrayList<>();
 
@@ -83,6 +89,27 @@ public class RenderUtils {
         center = new Vec3d(camera.x + center4.x, camera.y + center4.y, camera.z + center4.z);
     }
 
+    public static void updateFrustum(Matrix4f projection, Matrix4f view) {
+        frustum.set(new Matrix4f(projection).mul(view));
+
+        Vec3d camera = mc.gameRenderer.getCamera().getCameraPos();
+        frustumX = camera.x;
+        frustumY = camera.y;
+        frustumZ = camera.z;
+
+        frame++;
+    }
+
+    /**
+     * @return if the box intersects the view frustum of the last rendered frame
+     */
+    public static boolean isInFrustum(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        return frustum.testAab(
+            (float) (minX - frustumX), (float) (minY - frustumY), (float) (minZ - frustumZ),
+            (float) (maxX - frustumX), (float) (maxY - frustumY), (float) (maxZ - frustumZ)
+        );
+    }
+
     public static void renderTickingBlock(BlockPos blockPos, Color sideColor, Color lineColor, ShapeMode shapeMode, int excludeDir, int duration, boolean fade, boolean shrink) {
         // Ensure there aren't multiple fading blocks in one pos
         renderBlocks.removeIf(next -> {
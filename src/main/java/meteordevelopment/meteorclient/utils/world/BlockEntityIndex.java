@@ -0,0 +1,283 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.world;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.game.GameLeftEvent;
+import meteordevelopment.meteorclient.events.world.ChunkDataEvent;
+import meteordevelopment.meteorclient.events.world.TickEvent;
+import meteordevelopment.meteorclient.utils.PreInit;
+import meteordevelopment.meteorclient.utils.render.RenderUtils;
+import meteordevelopment.orbit.EventHandler;
+import meteordevelopment.orbit.EventPriority;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+
+/**
+ * Block entities of all loaded chunks, grouped by chunk section with the block entity types every section contains.
+ * Lookups for a few types skip the sections that contain none of them and lookups for rendering only visit the
+ * sections that are in view, which are found once per frame for everyone.
+ * <p>
+ * Chunks are indexed when they are received and kept up to date by {@link WorldChunk#setBlockEntity(BlockEntity)} and
+ * {@link WorldChunk#removeBlockEntity(BlockPos)}. Once per tick chunks that were unloaded are dropped and chunks whose
+ * block entity count does not match the index anymore are indexed again.
+ */
+public class BlockEntityIndex {
+    private static final Long2ObjectMap<IndexedChunk> chunks = new Long2ObjectOpenHashMap<>();
+
+    private static final List<Section> visibleSections = new ReferenceArrayList<>();
+    private static int visibleFrame = -1;
+
+    private BlockEntityIndex() {
+    }
+
+    @PreInit
+    public static void init() {
+        MeteorClient.EVENT_BUS.subscribe(BlockEntityIndex.class);
+    }
+
+    // Lookups
+
+    /**
+     * Calls the action with every block entity of one of the types, or every block entity if the types are null.
+     */
+    public static void forEach(@Nullable Collection<BlockEntityType<?>> types, Consumer<BlockEntity> action) {
+        for (IndexedChunk chunk : chunks.values()) chunk.forEach(types, action);
+    }
+
+    /**
+     * Calls the action with every block entity of one of the types in the chunk, the chunk has to be loaded.
+     */
+    public static void forEach(WorldChunk worldChunk, @Nullable Collection<BlockEntityType<?>> types, Consumer<BlockEntity> action) {
+        IndexedChunk chunk = chunks.get(worldChunk.getPos().toLong());
+        if (chunk == null || chunk.chunk != worldChunk) chunk = index(worldChunk);
+
+        chunk.forEach(types, action);
+    }
+
+    /**
+     * Calls the action with every block entity of one of the types in a section that intersects the view frustum of the
+     * last rendered frame and is within render distance.
+     */
+    public static void forEachVisible(@Nullable Collection<BlockEntityType<?>> types, Consumer<BlockEntity> action) {
+        if (visibleFrame != RenderUtils.frame) updateVisibleSections();
+
+        for (Section section : visibleSections) section.forEach(types, action);
+    }
+
+    public static Iterable<BlockEntity> all() {
+        return () -> new Iterator<>() {
+            private final Iterator<IndexedChunk> chunkIterator = chunks.values().iterator();
+            private Iterator<Section> sectionIterator;
+            private Iterator<BlockEntity> blockEntityIterator;
+
+            @Override
+            public boolean hasNext() {
+                while (blockEntityIterator == null || !blockEntityIterator.hasNext()) {
+                    while (sectionIterator == null || !sectionIterator.hasNext()) {
+                        if (!chunkIterator.hasNext()) return false;
+                        sectionIterator = chunkIterator.next().sections.values().iterator();
+                    }
+
+                    blockEntityIterator = sectionIterator.next().blockEntities.values().iterator();
+                }
+
+                return true;
+            }
+
+            @Override
+            public BlockEntity next() {
+                return blockEntityIterator.next();
+            }
+        };
+    }
+
+    private static void updateVisibleSections() {
+        visibleSections.clear();
+        visibleFrame = RenderUtils.frame;
+
+        if (mc.player == null) return;
+
+        int range = (mc.options.getClampedViewDistance() + 1) * 16;
+        double cameraX = mc.gameRenderer.getCamera().getCameraPos().x;
+        double cameraZ = mc.gameRenderer.getCamera().getCameraPos().z;
+
+        for (IndexedChunk chunk : chunks.values()) {
+            int x = chunk.chunk.getPos().getStartX();
+            int z = chunk.chunk.getPos().getStartZ();
+
+            if (Math.abs(x + 8 - cameraX) > range || Math.abs(z + 8 - cameraZ) > range) continue;
+
+            for (Section section : chunk.sections.values()) {
+                int y = ChunkSectionPos.getBlockCoord(section.y);
+                if (RenderUtils.isInFrustum(x, y, z, x + 16, y + 16, z + 16)) visibleSections.add(section);
+            }
+        }
+    }
+
+    // Updating
+
+    public static void add(WorldChunk worldChunk, BlockEntity blockEntity) {
+        IndexedChunk chunk = chunks.get(worldChunk.getPos().toLong());
+        if (chunk != null && chunk.chunk == worldChunk) chunk.add(blockEntity);
+    }
+
+    public static void remove(WorldChunk worldChunk, BlockPos pos) {
+        IndexedChunk chunk = chunks.get(worldChunk.getPos().toLong());
+        if (chunk != null && chunk.chunk == worldChunk) chunk.remove(pos);
+    }
+
+    private static IndexedChunk index(WorldChunk worldChunk) {
+        IndexedChunk chunk = new IndexedChunk(worldChunk);
+        for (BlockEntity blockEntity : worldChunk.getBlockEntities().values()) chunk.add(blockEntity);
+
+        chunks.put(worldChunk.getPos().toLong(), chunk);
+        visibleFrame = -1;
+
+        return chunk;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onChunkData(ChunkDataEvent event) {
+        if (mc.isOnThread()) index(event.chunk());
+        else mc.execute(() -> index(event.chunk()));
+    }
+
+    @EventHandler
+    private static void onTick(TickEvent.Pre event) {
+        if (mc.world == null) return;
+
+        List<WorldChunk> outdated = null;
+
+        for (ObjectIterator<IndexedChunk> it = chunks.values().iterator(); it.hasNext(); ) {
+            IndexedChunk chunk = it.next();
+            ChunkPos pos = chunk.chunk.getPos();
+
+            if (mc.world.getChunkManager().getWorldChunk(pos.x, pos.z) != chunk.chunk) {
+                it.remove();
+                visibleFrame = -1;
+            }
+            else if (chunk.size != chunk.chunk.getBlockEntities().size()) {
+                if (outdated == null) outdated = new ReferenceArrayList<>();
+                outdated.add(chunk.chunk);
+            }
+        }
+
+        if (outdated != null) {
+            for (WorldChunk chunk : outdated) index(chunk);
+        }
+    }
+
+    @EventHandler
+    private static void onGameLeft(GameLeftEvent event) {
+        chunks.clear();
+        visibleSections.clear();
+        visibleFrame = -1;
+    }
+
+    private static class IndexedChunk {
+        public final WorldChunk chunk;
+        public final Int2ObjectMap<Section> sections = new Int2ObjectOpenHashMap<>();
+        public int size;
+
+        public IndexedChunk(WorldChunk chunk) {
+            this.chunk = chunk;
+        }
+
+        public void add(BlockEntity blockEntity) {
+            int y = ChunkSectionPos.getSectionCoord(blockEntity.getPos().getY());
+
+            Section section = sections.get(y);
+            if (section == null) {
+                section = new Section(y);
+                sections.put(y, section);
+                visibleFrame = -1;
+            }
+
+            BlockEntity previous = section.blockEntities.put(blockEntity.getPos().asLong(), blockEntity);
+            if (previous != null) section.removeType(previous.getType());
+            else size++;
+
+            section.types.addTo(blockEntity.getType(), 1);
+        }
+
+        public void remove(BlockPos pos) {
+            int y = ChunkSectionPos.getSectionCoord(pos.getY());
+
+            Section section = sections.get(y);
+            if (section == null) return;
+
+            BlockEntity blockEntity = section.blockEntities.remove(pos.asLong());
+            if (blockEntity == null) return;
+
+            section.removeType(blockEntity.getType());
+            size--;
+
+            if (section.blockEntities.isEmpty()) {
+                sections.remove(y);
+                visibleFrame = -1;
+            }
+        }
+
+        public void forEach(@Nullable Collection<BlockEntityType<?>> types, Consumer<BlockEntity> action) {
+            for (Section section : sections.values()) section.forEach(types, action);
+        }
+    }
+
+    private static class Section {
+        public final int y;
+        public final Long2ObjectMap<BlockEntity> blockEntities = new Long2ObjectOpenHashMap<>();
+        public final Reference2IntOpenHashMap<BlockEntityType<?>> types = new Reference2IntOpenHashMap<>();
+
+        public Section(int y) {
+            this.y = y;
+        }
+
+        public void removeType(BlockEntityType<?> type) {
+            if (types.addTo(type, -1) <= 1) types.removeInt(type);
+        }
+
+        public boolean containsAny(Collection<BlockEntityType<?>> types) {
+            for (BlockEntityType<?> type : this.types.keySet()) {
+                if (types.contains(type)) return true;
+            }
+
+            return false;
+        }
+
+        public void forEach(@Nullable Collection<BlockEntityType<?>> types, Consumer<BlockEntity> action) {
+            if (types == null) {
+                blockEntities.values().forEach(action);
+                return;
+            }
+
+            if (!containsAny(types)) return;
+
+            for (BlockEntity blockEntity : blockEntities.values()) {
+                if (types.contains(blockEntity.getType())) action.accept(blockEntity);
+            }
+        }
+    }
+}
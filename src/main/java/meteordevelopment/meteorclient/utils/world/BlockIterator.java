@@ -14,13 +14,25 @@ import meteordevelopment.meteorclient.utils.misc.Pool;
 import meteordevelopment.orbit.EventHandler;
 import meteordevelopment.orbit.EventPriority;
 import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.ChunkStatus;
 
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
 
+/**
+ * Iterates all blocks around the player once per tick and hands them to every registered callback.
+ * <p>
+ * Blocks are visited section by section straight from the chunk's {@link ChunkSection}s. A section is only
+ * visited for the callbacks whose radius intersects it and whose block state filter can match something in the
+ * section's palette, so sections without any candidate states are skipped entirely.
+ */
 public class BlockIterator {
     private static final Pool<Callback> callbackPool = new Pool<>(Callback::new);
     private static final List<Callback> callbacks = new ReferenceArrayList<>();
@@ -30,6 +42,9 @@ public class BlockIterator {
     private static final BlockPos.Mutable blockPos = new BlockPos.Mutable();
     private static int hRadius, vRadius;
 
+    // Callbacks that need to visit the current section, sorted by horizontal radius, largest first
+    private static Callback[] sectionCallbacks = new Callback[8];
+
     private static boolean disableCurrent;
 
     private BlockIterator() {
@@ -44,55 +59,139 @@ public class BlockIterator {
     private static void onTick(TickEvent.Pre event) {
         if (!Utils.canUpdate()) return;
 
+        if (!callbacks.isEmpty()) iterate();
+
+        hRadius = 0;
+        vRadius = 0;
+
+        callbackPool.freeAll(callbacks);
+        callbacks.clear();
+
+        for (Runnable callback : afterCallbacks) callback.run();
+        afterCallbacks.clear();
+    }
+
+    private static void iterate() {
         int px = mc.player.getBlockX();
         int py = mc.player.getBlockY();
         int pz = mc.player.getBlockZ();
 
-        for (int x = px - hRadius; x <= px + hRadius; x++) {
-            for (int z = pz - hRadius; z <= pz + hRadius; z++) {
-                for (int y = Math.max(mc.world.getBottomY(), py - vRadius); y <= py + vRadius; y++) {
-                    if (y > mc.world.getHeight()) break;
+        int minY = Math.max(mc.world.getBottomY(), py - vRadius);
+        int maxY = Math.min(mc.world.getTopYInclusive(), py + vRadius);
+        if (minY > maxY) return;
 
-                    blockPos.set(x, y, z);
-                    BlockState blockState = mc.world.getBlockState(blockPos);
+        if (sectionCallbacks.length < callbacks.size()) sectionCallbacks = new Callback[callbacks.size()];
 
-                    int dx = Math.abs(x - px);
-                    int dy = Math.abs(y - py);
-                    int dz = Math.abs(z - pz);
-
-                    callbacks.removeIf(callback -> {
-                        if (dx <= callback.hRadius && dy <= callback.vRadius && dz <= callback.hRadius) {
-                            disableCurrent = false;
-                            callback.function.accept(blockPos, blockState);
-                            return disableCurrent;
-                        }
-                        return false;
-                    });
+        for (int cx = (px - hRadius) >> 4; cx <= (px + hRadius) >> 4; cx++) {
+            for (int cz = (pz - hRadius) >> 4; cz <= (pz + hRadius) >> 4; cz++) {
+                Chunk chunk = mc.world.getChunk(cx, cz, ChunkStatus.FULL, false);
+                if (chunk == null) continue;
+
+                ChunkSection[] sections = chunk.getSectionArray();
+
+                for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                    int sectionY = sy << 4;
+
+                    ChunkSection section = sections[chunk.getSectionIndex(sectionY)];
+                    int count = collectSectionCallbacks(section, cx << 4, sectionY, cz << 4, px, py, pz);
+
+                    if (count > 0) iterateSection(section, cx << 4, sectionY, cz << 4, Math.max(minY, sectionY), Math.min(maxY, sectionY + 15), px, py, pz, count);
                 }
             }
         }
+    }
 
-        hRadius = 0;
-        vRadius = 0;
+    private static int collectSectionCallbacks(ChunkSection section, int x, int y, int z, int px, int py, int pz) {
+        int dx = distance(px, x, x + 15);
+        int dy = distance(py, y, y + 15);
+        int dz = distance(pz, z, z + 15);
 
-        callbackPool.freeAll(callbacks);
-        callbacks.clear();
+        int count = 0;
 
-        for (Runnable callback : afterCallbacks) callback.run();
-        afterCallbacks.clear();
+        for (Callback callback : callbacks) {
+            if (callback.disabled) continue;
+            if (dx > callback.hRadius || dz > callback.hRadius || dy > callback.vRadius) continue;
+
+            if (callback.filter != null) {
+                // Empty sections can still hold cave or void air, their palette has the states that are really there
+                if (section == null) {
+                    if (!callback.filter.test(Blocks.AIR.getDefaultState())) continue;
+                }
+                else if (!section.hasAny(callback.filter)) continue;
+            }
+
+            sectionCallbacks[count++] = callback;
+        }
+
+        return count;
+    }
+
+    private static void iterateSection(ChunkSection section, int sx, int sy, int sz, int minY, int maxY, int px, int py, int pz, int count) {
+        boolean empty = section == null;
+
+        for (int x = sx; x < sx + 16; x++) {
+            int dx = Math.abs(x - px);
+            if (dx > hRadius) continue;
+
+            for (int z = sz; z < sz + 16; z++) {
+                int dz = Math.abs(z - pz);
+                if (dz > hRadius) continue;
+
+                int dh = Math.max(dx, dz);
+
+                for (int y = minY; y <= maxY; y++) {
+                    int dy = Math.abs(y - py);
+
+                    BlockState blockState = empty ? Blocks.AIR.getDefaultState() : section.getBlockState(x & 15, y & 15, z & 15);
+                    blockPos.set(x, y, z);
+
+                    for (int i = 0; i < count; i++) {
+                        Callback callback = sectionCallbacks[i];
+                        if (dh > callback.hRadius) break;
+
+                        if (callback.disabled || dy > callback.vRadius) continue;
+                        if (callback.filter != null && !callback.filter.test(blockState)) continue;
+
+                        disableCurrent = false;
+                        callback.function.accept(blockPos, blockState);
+                        if (disableCurrent) callback.disabled = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int distance(int value, int min, int max) {
+        if (value < min) return min - value;
+        if (value > max) return value - max;
+        return 0;
     }
 
     public static void register(int horizontalRadius, int verticalRadius, BiConsumer<BlockPos, BlockState> function) {
+        register(horizontalRadius, verticalRadius, null, function);
+    }
+
+    /**
+     * Registers a callback for the next tick which only receives blocks matching the filter. The filter is also
+     * tested against chunk section palettes so whole sections are skipped when they cannot contain a match.
+     */
+    public static void register(int horizontalRadius, int verticalRadius, Predicate<BlockState> filter, BiConsumer<BlockPos, BlockState> function) {
         hRadius = Math.max(hRadius, horizontalRadius);
         vRadius = Math.max(vRadius, verticalRadius);
 
         Callback callback = callbackPool.get();
 
         callback.function = function;
+        callback.filter = filter;
         callback.hRadius = horizontalRadius;
         callback.vRadius = verticalRadius;
+        callback.disabled = false;
+
+        // Kept sorted by radius, largest first, so the per block loop can stop at the first callback that is out of range
+        int index = callbacks.size();
+        while (index > 0 && callbacks.get(index - 1).hRadius < horizontalRadius) index--;
 
-        callbacks.add(callback);
+        callbacks.add(index, callback);
     }
 
     public static void disableCurrent() {
@@ -105,6 +204,8 @@ public class BlockIterator {
 
     private static class Callback {
         public BiConsumer<BlockPos, BlockState> function;
+        public Predicate<BlockState> filter;
         public int hRadius, vRadius;
+        public boolean disabled;
     }
 }
@@ -0,0 +1,286 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.utils.world;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.game.GameLeftEvent;
+import meteordevelopment.meteorclient.events.world.BlockUpdateEvent;
+import meteordevelopment.meteorclient.events.world.ChunkDataEvent;
+import meteordevelopment.meteorclient.events.world.TickEvent;
+import meteordevelopment.meteorclient.mixin.AbstractBlockAccessor;
+import meteordevelopment.meteorclient.utils.PreInit;
+import meteordevelopment.orbit.EventHandler;
+import meteordevelopment.orbit.EventPriority;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+
+/**
+ * 1x1 and 2x1 holes of all loaded chunks, grouped by chunk section. A hole is a block without collision that has
+ * bedrock or obsidian below it and on all sides, or on all sides but one that leads to a second such block.
+ * <p>
+ * Chunks are indexed when they are received, together with the edges of their neighbours, and blocks around every
+ * block update are checked again, so lookups never scan the world. Only sections that contain bedrock or obsidian can
+ * contain holes and are looked at. Everything that depends on the module, like how much room there is above a hole,
+ * is left to the modules to check for the holes they get.
+ */
+public class HoleIndex {
+    private static final Direction[] WALLS = { Direction.DOWN, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST };
+
+    private static final byte OPEN = 0, BEDROCK = 1, OBSIDIAN = 2, SOLID = 3;
+
+    private static final Long2ObjectMap<IndexedChunk> chunks = new Long2ObjectOpenHashMap<>();
+
+    private static final BlockPos.Mutable pos = new BlockPos.Mutable();
+    private static final BlockPos.Mutable neighbour = new BlockPos.Mutable();
+
+    private HoleIndex() {
+    }
+
+    @PreInit
+    public static void init() {
+        MeteorClient.EVENT_BUS.subscribe(HoleIndex.class);
+    }
+
+    // Lookups
+
+    /**
+     * Calls the action with every hole whose position is within the radii around the center. Double holes are found
+     * once from each of their two blocks.
+     */
+    public static void forEach(BlockPos center, int horizontalRadius, int verticalRadius, Consumer<Hole> action) {
+        int minX = center.getX() - horizontalRadius, maxX = center.getX() + horizontalRadius;
+        int minY = center.getY() - verticalRadius, maxY = center.getY() + verticalRadius;
+        int minZ = center.getZ() - horizontalRadius, maxZ = center.getZ() + horizontalRadius;
+
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                IndexedChunk chunk = chunks.get(ChunkPos.toLong(cx, cz));
+                if (chunk == null) continue;
+
+                for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                    Long2ObjectMap<Hole> section = chunk.sections.get(sy);
+                    if (section == null) continue;
+
+                    for (Hole hole : section.values()) {
+                        BlockPos p = hole.pos;
+
+                        if (p.getX() < minX || p.getX() > maxX || p.getY() < minY || p.getY() > maxY || p.getZ() < minZ || p.getZ() > maxZ) continue;
+                        action.accept(hole);
+                    }
+                }
+            }
+        }
+    }
+
+    public static @Nullable Hole get(BlockPos blockPos) {
+        IndexedChunk chunk = chunks.get(ChunkPos.toLong(blockPos.getX() >> 4, blockPos.getZ() >> 4));
+        if (chunk == null) return null;
+
+        Long2ObjectMap<Hole> section = chunk.sections.get(blockPos.getY() >> 4);
+        return section != null ? section.get(blockPos.asLong()) : null;
+    }
+
+    // Updating
+
+    private static void index(WorldChunk worldChunk) {
+        chunks.put(worldChunk.getPos().toLong(), new IndexedChunk(worldChunk));
+
+        // Holes next to this chunk in already loaded chunks could have been missing a wall until now
+        int x = worldChunk.getPos().getStartX();
+        int z = worldChunk.getPos().getStartZ();
+
+        update(x - 2, mc.world.getBottomY(), z - 2, x + 17, mc.world.getTopYInclusive(), z + 17);
+    }
+
+    /**
+     * Finds the holes in the box again, the box is clamped to the height of the world.
+     */
+    private static void update(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        minY = Math.max(minY, mc.world.getBottomY());
+        maxY = Math.min(maxY, mc.world.getTopYInclusive());
+
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                IndexedChunk chunk = chunks.get(ChunkPos.toLong(cx, cz));
+                if (chunk == null) continue;
+
+                int x1 = Math.max(minX, cx << 4), x2 = Math.min(maxX, (cx << 4) + 15);
+                int z1 = Math.max(minZ, cz << 4), z2 = Math.min(maxZ, (cz << 4) + 15);
+
+                for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                    int y1 = Math.max(minY, sy << 4), y2 = Math.min(maxY, (sy << 4) + 15);
+
+                    // Every hole has a wall on its east or west side inside its own section
+                    ChunkSection section = chunk.chunk.getSectionArray()[chunk.chunk.getSectionIndex(y1)];
+                    if (section == null || section.isEmpty() || !section.hasAny(HoleIndex::isWall)) {
+                        chunk.clear(sy, x1, y1, z1, x2, y2, z2);
+                        continue;
+                    }
+
+                    for (int x = x1; x <= x2; x++) {
+                        for (int z = z1; z <= z2; z++) {
+                            for (int y = y1; y <= y2; y++) {
+                                chunk.set(pos.set(x, y, z), find(pos));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static @Nullable Hole find(BlockPos blockPos) {
+        if (isCollidable(mc.world.getBlockState(blockPos))) return null;
+
+        int bedrock = 0, obsidian = 0;
+        Direction open = null;
+
+        for (Direction direction : WALLS) {
+            byte type = getType(neighbour.set(blockPos, direction));
+
+            if (type == BEDROCK) bedrock++;
+            else if (type == OBSIDIAN) obsidian++;
+            else if (type == OPEN && direction != Direction.DOWN && open == null) {
+                open = direction;
+
+                for (Direction dir : WALLS) {
+                    if (dir == direction.getOpposite()) continue;
+
+                    type = getType(neighbour.set(blockPos, direction).move(dir));
+
+                    if (type == BEDROCK) bedrock++;
+                    else if (type == OBSIDIAN) obsidian++;
+                    else return null;
+                }
+            }
+            else return null;
+        }
+
+        Type type = obsidian == 0 ? Type.Bedrock : (bedrock == 0 ? Type.Obsidian : Type.Mixed);
+        return new Hole(blockPos.toImmutable(), type, open);
+    }
+
+    private static byte getType(BlockPos blockPos) {
+        return getType(mc.world.getBlockState(blockPos));
+    }
+
+    private static byte getType(BlockState state) {
+        Block block = state.getBlock();
+        boolean collidable = isCollidable(state);
+        boolean breakable = block.getHardness() >= 0;
+
+        if (collidable && !breakable) return BEDROCK;
+        if (block.getBlastResistance() >= 600 && breakable) return OBSIDIAN;
+        return collidable ? SOLID : OPEN;
+    }
+
+    private static boolean isWall(BlockState state) {
+        byte type = getType(state);
+        return type == BEDROCK || type == OBSIDIAN;
+    }
+
+    private static boolean isCollidable(BlockState state) {
+        return ((AbstractBlockAccessor) state.getBlock()).meteor$isCollidable();
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onChunkData(ChunkDataEvent event) {
+        if (mc.isOnThread()) index(event.chunk());
+        else mc.execute(() -> index(event.chunk()));
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST + 1)
+    private static void onBlockUpdate(BlockUpdateEvent event) {
+        if (event.oldState != null && getType(event.oldState) == getType(event.newState)) return;
+
+        // The block can be a hole itself, a wall of a hole next to it or the floor of a hole above it
+        BlockPos p = event.pos;
+        update(p.getX() - 2, p.getY(), p.getZ() - 2, p.getX() + 2, p.getY() + 1, p.getZ() + 2);
+    }
+
+    @EventHandler
+    private static void onTick(TickEvent.Pre event) {
+        if (mc.world == null) return;
+
+        for (ObjectIterator<IndexedChunk> it = chunks.values().iterator(); it.hasNext(); ) {
+            WorldChunk chunk = it.next().chunk;
+            if (mc.world.getChunkManager().getWorldChunk(chunk.getPos().x, chunk.getPos().z) != chunk) it.remove();
+        }
+    }
+
+    @EventHandler
+    private static void onGameLeft(GameLeftEvent event) {
+        chunks.clear();
+    }
+
+    public enum Type {
+        Bedrock,
+        Obsidian,
+        Mixed
+    }
+
+    /**
+     * @param direction the side of a double hole that leads to its second block, null for single holes
+     */
+    public record Hole(BlockPos pos, Type type, @Nullable Direction direction) {
+        public boolean isDouble() {
+            return direction != null;
+        }
+    }
+
+    private static class IndexedChunk {
+        public final WorldChunk chunk;
+        public final Int2ObjectMap<Long2ObjectMap<Hole>> sections = new Int2ObjectOpenHashMap<>();
+
+        public IndexedChunk(WorldChunk chunk) {
+            this.chunk = chunk;
+        }
+
+        public void set(BlockPos blockPos, @Nullable Hole hole) {
+            int y = blockPos.getY() >> 4;
+            Long2ObjectMap<Hole> section = sections.get(y);
+
+            if (hole == null) {
+                if (section != null && section.remove(blockPos.asLong()) != null && section.isEmpty()) sections.remove(y);
+                return;
+            }
+
+            if (section == null) {
+                section = new Long2ObjectOpenHashMap<>();
+                sections.put(y, section);
+            }
+
+            section.put(blockPos.asLong(), hole);
+        }
+
+        public void clear(int y, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            Long2ObjectMap<Hole> section = sections.get(y);
+            if (section == null) return;
+
+            section.values().removeIf(hole -> {
+                BlockPos p = hole.pos;
+                return p.getX() >= minX && p.getX() <= maxX && p.getY() >= minY && p.getY() <= maxY && p.getZ() >= minZ && p.getZ() <= maxZ;
+            });
+
+            if (section.isEmpty()) sections.remove(y);
+        }
+    }
+}
@@ -8,6 +8,7 @@ package meteordevelopment.meteorclient.utils.world;
 import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.events.game.GameJoinedEvent;
 import meteordevelopment.meteorclient.events.packets.PacketEvent;
+import meteordevelopment.meteorclient.events.packets.PacketHandler;
 import meteordevelopment.meteorclient.utils.Utils;
 import meteordevelopment.orbit.EventHandler;
 import net.minecraft.network.packet.s2c.play.WorldTimeUpdateS2CPacket;
@@ -30,15 +31,13 @@ public class TickRate {
         MeteorClient.EVENT_BUS.subscribe(this);
     }
 
-    @EventHandler
+    @PacketHandler(WorldTimeUpdateS2CPacket.class)
     private void onReceivePacket(PacketEvent.Receive event) {
-        if (event.packet instanceof WorldTimeUpdateS2CPacket) {
-            long now = System.currentTimeMillis();
-            float timeElapsed = (now - timeLastTimeUpdate) / 1000.0F;
-            tickRates[nextIndex] = MathHelper.clamp(20.0f / timeElapsed, 0.0f, 20.0f);
-            nextIndex = (nextIndex + 1) % tickRates.length;
-            timeLastTimeUpdate = now;
-        }
+        long now = System.currentTimeMillis();
+        float timeElapsed = (now - timeLastTimeUpdate) / 1000.0F;
+        tickRates[nextIndex] = MathHelper.clamp(20.0f / timeElapsed, 0.0f, 20.0f);
+        nextIndex = (nextIndex + 1) % tickRates.length;
+        timeLastTimeUpdate = now;
     }
 
     @EventHandler
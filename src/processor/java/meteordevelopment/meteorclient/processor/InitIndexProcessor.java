@@ -0,0 +1,121 @@
+/*
+ * This file is part of the Meteor Client distribution (https://github.com/MeteorDevelopment/meteor-client).
+ * Copyright (c) Meteor Development.
+ */
+
+package meteordevelopment.meteorclient.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes every {@code @PreInit} and {@code @PostInit} method of a compilation to {@link #INDEX}, so they can be run
+ * without scanning the classpath. Addons get their index by adding Meteor as an annotation processor.
+ * <p>
+ * Every line is one task: the annotation's simple name, the binary name of the class, the method name, whether it is
+ * thread safe and the binary names of its dependencies, all separated by spaces.
+ */
+@SupportedAnnotationTypes({InitIndexProcessor.PRE_INIT, InitIndexProcessor.POST_INIT})
+public class InitIndexProcessor extends AbstractProcessor {
+    public static final String INDEX = "META-INF/meteor-init.index";
+
+    static final String PRE_INIT = "meteordevelopment.meteorclient.utils.PreInit";
+    static final String POST_INIT = "meteordevelopment.meteorclient.utils.PostInit";
+
+    private final List<String> tasks = new ArrayList<>();
+    private final List<Element> origins = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.METHOD) continue;
+                ExecutableElement method = (ExecutableElement) element;
+
+                if (!method.getModifiers().contains(Modifier.STATIC) || !method.getParameters().isEmpty()) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@%s tasks have to be static methods without parameters".formatted(annotation.getSimpleName()), method);
+                    continue;
+                }
+
+                addTask(annotation, method);
+            }
+        }
+
+        if (round.processingOver() && !tasks.isEmpty()) writeIndex();
+
+        return false;
+    }
+
+    private void addTask(TypeElement annotation, ExecutableElement method) {
+        TypeElement owner = (TypeElement) method.getEnclosingElement();
+
+        StringBuilder task = new StringBuilder()
+            .append(annotation.getSimpleName()).append(' ')
+            .append(binaryName(owner)).append(' ')
+            .append(method.getSimpleName());
+
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().asElement().equals(annotation)) continue;
+
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+            boolean threadSafe = false;
+            List<String> dependencies = new ArrayList<>();
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+                String name = entry.getKey().getSimpleName().toString();
+                Object value = entry.getValue().getValue();
+
+                if (name.equals("threadSafe")) threadSafe = (Boolean) value;
+                else if (name.equals("dependencies") && value instanceof List<?> list) {
+                    for (Object dependency : list) {
+                        if (((AnnotationValue) dependency).getValue() instanceof TypeMirror type && type.getKind() == TypeKind.DECLARED) {
+                            dependencies.add(binaryName((TypeElement) ((DeclaredType) type).asElement()));
+                        }
+                    }
+                }
+            }
+
+            task.append(' ').append(threadSafe);
+            for (String dependency : dependencies) task.append(' ').append(dependency);
+        }
+
+        tasks.add(task.toString());
+        origins.add(owner);
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX, origins.toArray(Element[]::new));
+
+            try (Writer writer = file.openWriter()) {
+                for (String task : tasks) writer.write(task + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + INDEX + ": " + e.getMessage());
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+}